@@ -0,0 +1,35 @@
+package com.ktb.chatapp.config;
+
+import com.ktb.chatapp.websocket.socketio.ai.FakeChatModel;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * fake-ai 프로필: OpenAI 대신 합성 토큰을 내보내는 ChatModel을 사용한다.
+ * OpenAI ChatModel 자동 설정은 application-fake-ai.properties에서 꺼진다.
+ */
+@Configuration
+@Profile("fake-ai")
+public class FakeAiConfig {
+
+    @Bean
+    public ChatModel fakeChatModel(
+            @Value("${chatapp.ai.fake.tokens-per-second:50}") int tokensPerSecond,
+            @Value("${chatapp.ai.fake.response-tokens:200}") int responseTokens,
+            @Value("${chatapp.ai.fake.first-token-delay-ms:300}") long firstTokenDelayMillis,
+            @Value("${chatapp.ai.fake.code-block:true}") boolean codeBlock,
+            @Value("${chatapp.ai.fake.failure-rate:0.0}") double failureRate,
+            @Value("${chatapp.ai.fake.seed:42}") long seed) {
+        return FakeChatModel.builder()
+                .tokensPerSecond(tokensPerSecond)
+                .responseTokens(responseTokens)
+                .firstTokenDelayMillis(firstTokenDelayMillis)
+                .codeBlock(codeBlock)
+                .failureRate(failureRate)
+                .seed(seed)
+                .build();
+    }
+}
@@ -9,6 +9,7 @@ import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
@@ -78,6 +79,13 @@ public class RedisConfig {
         return template;
     }
 
+    @Bean(name = "cacheStringRedisTemplate")
+    public StringRedisTemplate cacheStringRedisTemplate(
+            @Qualifier("cacheRedisConnectionFactory") RedisConnectionFactory factory
+    ) {
+        return new StringRedisTemplate(factory);
+    }
+
     @Bean(name = "redisTemplate")
     public RedisTemplate<String, Object> redisTemplate(
             @Qualifier("cacheRedisConnectionFactory") RedisConnectionFactory factory
@@ -3,13 +3,14 @@ package com.ktb.chatapp.config;
 import com.corundumstudio.socketio.AuthTokenListener;
 import com.corundumstudio.socketio.SocketConfig;
 import com.corundumstudio.socketio.SocketIOServer;
-import com.corundumstudio.socketio.annotation.SpringAnnotationScanner;
 import com.corundumstudio.socketio.namespace.Namespace;
 import com.corundumstudio.socketio.protocol.JacksonJsonSupport;
 import com.corundumstudio.socketio.store.RedissonStoreFactory;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.ktb.chatapp.websocket.socketio.ChatDataStore;
+import com.ktb.chatapp.websocket.socketio.DispatchingAnnotationScanner;
 import com.ktb.chatapp.websocket.socketio.RedisChatDataStore;
+import com.ktb.chatapp.websocket.socketio.SocketEventDispatcher;
 import lombok.extern.slf4j.Slf4j;
 import org.redisson.Redisson;
 import org.redisson.api.RedissonClient;
@@ -93,13 +94,14 @@ public class SocketIOConfig {
         return server;
     }
 
-    // 이벤트 리스너 자동 등록
+    // 이벤트 리스너 자동 등록 (핸들러는 Netty 워커가 아닌 클라이언트별 디스패치 레인에서 실행)
     @Bean
     @Role(ROLE_INFRASTRUCTURE)
     public BeanPostProcessor springAnnotationScanner(
-            @Lazy SocketIOServer server
+            @Lazy SocketIOServer server,
+            @Lazy SocketEventDispatcher dispatcher
     ) {
-        return new SpringAnnotationScanner(server);
+        return new DispatchingAnnotationScanner(server, dispatcher);
     }
 
     @Bean
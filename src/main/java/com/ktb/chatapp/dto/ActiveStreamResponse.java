@@ -19,6 +19,8 @@ public class ActiveStreamResponse {
     private String type;
     private String aiType;
     private String content;
+    // content에 반영된 마지막 청크 순번. 이후에는 sequence가 더 큰 delta만 이어 붙인다
+    private long sequence;
     private String timestamp;  // ISO_INSTANT 형식 문자열 예) 2025-11-07T13:45:30Z
     private boolean isStreaming;
 }
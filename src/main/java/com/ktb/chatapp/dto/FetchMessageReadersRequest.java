@@ -0,0 +1,8 @@
+package com.ktb.chatapp.dto;
+
+import lombok.Data;
+
+@Data
+public class FetchMessageReadersRequest {
+    private String messageId;
+}
@@ -6,5 +6,7 @@ import java.util.List;
 
 @Data
 public class MarkAsReadRequest {
+    // 보내면 메시지로 방을 찾지 않는다 (이전 클라이언트는 생략)
+    private String roomId;
     private List<String> messageIds;
 }
@@ -12,4 +12,8 @@ import lombok.NoArgsConstructor;
 public class MessageReactionResponse {
     private String messageId;
     private Map<String, Set<String>> reactions;
+    // 리액션별 사용자 수
+    private Map<String, Integer> counts;
+    // 리액션이 바뀔 때마다 오르는 버전, 클라이언트는 받은 것보다 낮은 버전의 업데이트를 버린다
+    private long version;
 }
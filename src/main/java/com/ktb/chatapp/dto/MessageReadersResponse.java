@@ -0,0 +1,16 @@
+package com.ktb.chatapp.dto;
+
+import com.ktb.chatapp.model.Message;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MessageReadersResponse {
+    private String messageId;
+    private List<Message.MessageReader> readers;
+}
@@ -3,6 +3,7 @@ package com.ktb.chatapp.dto;
 import com.ktb.chatapp.model.AiType;
 import com.ktb.chatapp.model.Message;
 import com.ktb.chatapp.model.MessageType;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import java.util.List;
 import java.util.Map;
@@ -40,8 +41,26 @@ public class MessageResponse {
 
     private long timestamp;
 
+    // 목록 응답(요약)에서는 비워 두고 아래 요약 필드만 보낸다
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     private Map<String, Set<String>> reactions;
 
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     private List<Message.MessageReader> readers;
 
+    // 리액션별 사용자 수
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Map<String, Integer> reactionCounts;
+
+    // 요청한 사용자가 누른 리액션
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Set<String> myReactions;
+
+    // 읽은 사용자 수 (전체 목록은 fetchMessageReaders로 요청)
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Integer readCount;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Boolean readByMe;
+
 }
\ No newline at end of file
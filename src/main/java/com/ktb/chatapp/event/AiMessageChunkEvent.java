@@ -5,21 +5,31 @@ import org.springframework.context.ApplicationEvent;
 
 /**
  * AI 메시지 청크 이벤트
+ *
+ * delta는 이번 청크의 내용, sequence는 1부터 증가하는 청크 순번이다.
+ * fullContent는 스냅샷 청크이거나 기존 클라이언트 호환 전송이 필요할 때만 채워진다.
  */
 @Getter
 public class AiMessageChunkEvent extends ApplicationEvent {
     
     private final String roomId;
     private final String messageId;
+    private final long sequence;
+    private final String delta;
     private final String fullContent;
+    private final boolean snapshot;
     private final boolean isCodeBlock;
     
     public AiMessageChunkEvent(Object source, String roomId, String messageId,
-                               String fullContent, boolean isCodeBlock) {
+                               long sequence, String delta, String fullContent,
+                               boolean snapshot, boolean isCodeBlock) {
         super(source);
         this.roomId = roomId;
         this.messageId = messageId;
+        this.sequence = sequence;
+        this.delta = delta;
         this.fullContent = fullContent;
+        this.snapshot = snapshot;
         this.isCodeBlock = isCodeBlock;
     }
 }
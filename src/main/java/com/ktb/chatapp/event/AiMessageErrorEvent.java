@@ -14,13 +14,21 @@ public class AiMessageErrorEvent extends ApplicationEvent {
     private final String messageId;
     private final String errorMessage;
     private final AiType aiType;
+    // 클라이언트가 구분해서 처리할 오류 코드 (예: AI_STREAM_BUSY), 일반 오류는 null
+    private final String errorCode;
     
     public AiMessageErrorEvent(Object source, String roomId, String messageId,
                                String errorMessage, AiType aiType) {
+        this(source, roomId, messageId, errorMessage, aiType, null);
+    }
+    
+    public AiMessageErrorEvent(Object source, String roomId, String messageId,
+                               String errorMessage, AiType aiType, String errorCode) {
         super(source);
         this.roomId = roomId;
         this.messageId = messageId;
         this.errorMessage = errorMessage;
         this.aiType = aiType;
+        this.errorCode = errorCode;
     }
 }
@@ -11,6 +11,8 @@ import org.springframework.context.ApplicationEvent;
 public class AiMessageSavedEvent extends ApplicationEvent {
     
     private final String roomId;
+    // 스트리밍 중 사용한 임시 messageId (저장된 메시지 id는 savedMessageId)
+    private final String messageId;
     private final String content;
     private final AiType aiType;
     private final long startTime;
@@ -19,6 +21,7 @@ public class AiMessageSavedEvent extends ApplicationEvent {
     public AiMessageSavedEvent(Object source, AiMessageCompleteEvent event, String savedMessageId) {
         super(source);
         this.roomId = event.getRoomId();
+        this.messageId = event.getMessageId();
         this.content = event.getContent();
         this.aiType = event.getAiType();
         this.startTime = event.getStartTime();
@@ -41,6 +41,12 @@ import java.util.*;
                 def = "{'room': 1, 'isDeleted': 1, 'timestamp': -1}"
         ),
 
+        // 메시지 기록 keyset 페이지네이션 (timestamp 동률은 _id로 정렬)
+        @CompoundIndex(
+                name = "room_isDeleted_timestamp_id_idx",
+                def = "{'room': 1, 'isDeleted': 1, 'timestamp': -1, '_id': -1}"
+        ),
+
         // 특정 유저 메시지 조회 최적화
         @CompoundIndex(
                 name = "sender_timestamp_idx",
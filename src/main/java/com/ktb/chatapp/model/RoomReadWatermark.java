@@ -0,0 +1,43 @@
+package com.ktb.chatapp.model;
+
+import java.time.Instant;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+
+/**
+ * 방별 사용자의 읽음 위치 (watermark).
+ * lastReadAt 이하 timestamp의 메시지는 모두 읽은 것으로 본다.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "room_read_watermarks")
+public class RoomReadWatermark {
+
+    // roomId:userId
+    @Id
+    private String id;
+
+    @Indexed
+    @Field("room")
+    private String roomId;
+
+    @Field("user")
+    private String userId;
+
+    // 마지막으로 읽은 메시지의 timestamp (epoch millis)
+    private long lastReadAt;
+
+    private Instant updatedAt;
+
+    public static String idOf(String roomId, String userId) {
+        return roomId + ":" + userId;
+    }
+}
@@ -2,8 +2,14 @@ package com.ktb.chatapp.repository;
 
 import com.ktb.chatapp.model.Message;
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import org.bson.types.ObjectId;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.repository.Aggregation;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
@@ -18,9 +24,52 @@ public interface MessageRepository extends MongoRepository<Message, String> {
             Pageable pageable
     );
 
+    /**
+     * 방의 최신 메시지 (timestamp, _id 내림차순). count 쿼리 없이 limit 만큼만 읽는다.
+     * 크기 제한이 없는 readers는 읽지 않는다.
+     */
+    @Query(value = "{ 'room': ?0, 'isDeleted': false }",
+            fields = "{ 'readers': 0 }",
+            sort = "{ 'timestamp': -1, '_id': -1 }")
+    List<Message> findLatestByRoomId(String roomId, Limit limit);
+
+    /**
+     * 커서 (timestamp, _id) 보다 이전 메시지 (timestamp, _id 내림차순). readers는 읽지 않는다.
+     */
+    @Query(value = "{ 'room': ?0, 'isDeleted': false, '$or': [ "
+            + "{ 'timestamp': { '$lt': ?1 } }, "
+            + "{ 'timestamp': ?1, '_id': { '$lt': ?2 } } ] }",
+            fields = "{ 'readers': 0 }",
+            sort = "{ 'timestamp': -1, '_id': -1 }")
+    List<Message> findByRoomIdBeforeCursor(String roomId, LocalDateTime timestamp, ObjectId id, Limit limit);
+
+    /**
+     * 읽음 처리용으로 방과 timestamp만 읽는다 (readers 등 나머지 필드 제외).
+     */
+    @Query(value = "{ '_id': { '$in': ?0 } }", fields = "{ 'room': 1, 'timestamp': 1 }")
+    List<Message> findReadPositionsByIdIn(Collection<String> ids);
+
+    /**
+     * 방을 알고 있을 때의 읽음 위치 조회. 다른 방 메시지는 결과에서 빠진다.
+     */
+    @Query(value = "{ '_id': { '$in': ?1 }, 'room': ?0 }", fields = "{ 'room': 1, 'timestamp': 1 }")
+    List<Message> findReadPositionsByRoomIdAndIdIn(String roomId, Collection<String> ids);
+
     /**
      * 특정 시간 이후의 메시지 수 카운트 (삭제되지 않은 메시지만)
      */
     @Query(value = "{ 'room': ?0, 'isDeleted': false, 'timestamp': { $gte: ?1 } }", count = true)
     long countRecentMessagesByRoomId(String roomId, LocalDateTime since);
-}
\ No newline at end of file
+
+    /**
+     * 여러 방의 최근 메시지 수를 한 번의 aggregation으로 집계 (메시지가 없는 방은 결과에 없음)
+     */
+    @Aggregation(pipeline = {
+            "{ $match: { 'room': { $in: ?0 }, 'isDeleted': false, 'timestamp': { $gte: ?1 } } }",
+            "{ $group: { _id: '$room', count: { $sum: 1 } } }"
+    })
+    List<RoomMessageCount> countRecentMessagesByRoomIds(Collection<String> roomIds, LocalDateTime since);
+
+    record RoomMessageCount(@Id String roomId, long count) {
+    }
+}
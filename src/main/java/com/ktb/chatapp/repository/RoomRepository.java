@@ -27,6 +27,13 @@ public interface RoomRepository extends MongoRepository<Room, String> {
     @Query(value = "{}", fields = "{ '_id': 1 }")
     Optional<Room> findOneForHealthCheck();
 
+    // 참가자 확인용으로 참가자 목록만 읽는다
+    @Query(value = "{ '_id': ?0 }", fields = "{ 'participantIds': 1 }")
+    Optional<Room> findParticipantIdsById(String roomId);
+
+    @Query(value = "{ '_id': ?0, 'participantIds': ?1 }", exists = true)
+    boolean isParticipant(String roomId, String userId);
+
     @Query("{'_id': ?0}")
     @Update("{'$addToSet': {'participantIds': ?1}}")
     void addParticipant(String roomId, String userId);
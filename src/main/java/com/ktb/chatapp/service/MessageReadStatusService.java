@@ -1,108 +1,350 @@
 package com.ktb.chatapp.service;
 
+import com.ktb.chatapp.model.Message;
+import com.ktb.chatapp.model.RoomReadWatermark;
+import com.ktb.chatapp.repository.MessageRepository;
+import com.ktb.chatapp.repository.RoomReadWatermarkRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import lombok.extern.slf4j.Slf4j;
-import org.bson.Document;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.BulkOperations;
 import org.springframework.data.mongodb.core.MongoTemplate;
-import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
-import org.springframework.data.redis.core.RedisTemplate;
-import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Service;
 
-import java.time.LocalDateTime;
-import java.util.*;
-import java.util.stream.Collectors;
-
+/**
+ * 방별 읽음 위치(watermark) 기반 읽음 상태.
+ *
+ * 메시지마다 읽은 사용자를 기록하지 않고, (방, 사용자)마다 "마지막으로 읽은 메시지의 timestamp"
+ * 하나만 RedisB Hash에 둔다. 값은 커지는 방향으로만 바뀌고, 바뀐 (방, 사용자)는 처음 바뀐 시각을 점수로
+ * pending ZSET에 모은다. flush는 pending이 빌 때까지 batch 단위로 꺼내(ZPOPMIN) watermark를 파이프라인
+ * 한 번으로 읽고, room_read_watermarks 컬렉션에 unordered bulkWrite 한 번으로 반영한다.
+ *
+ * 메시지별 읽은 사용자와 안 읽은 메시지 수는 필요할 때 watermark로 계산한다.
+ * Hash가 만료됐으면 MongoDB에 저장된 watermark로 다시 채운다 (seed 표시 필드로 구분).
+ */
 @Slf4j
 @Service
 public class MessageReadStatusService {
 
+    private static final String ROOM_KEY_PREFIX = "readstatus:room:";
+    private static final String PENDING_KEY = "readstatus:watermark:pending";
+    // 사용자 ID는 '$'로 시작하지 않으므로 watermark 필드와 겹치지 않는다
+    private static final String SEEDED_FIELD = "$seeded";
+    private static final String MEMBER_SEPARATOR = "|";
+
+    // KEYS: 방 Hash, pending ZSET / ARGV: userId, watermark, ttlSec, pending 멤버, 현재 시각(ms)
+    private static final RedisScript<Long> ADVANCE_SCRIPT = new DefaultRedisScript<>("""
+            local current = tonumber(redis.call('HGET', KEYS[1], ARGV[1]) or '0')
+            if current >= tonumber(ARGV[2]) then
+                return 0
+            end
+            redis.call('HSET', KEYS[1], ARGV[1], ARGV[2])
+            redis.call('EXPIRE', KEYS[1], tonumber(ARGV[3]))
+            redis.call('ZADD', KEYS[2], 'NX', ARGV[5], ARGV[4])
+            return 1
+            """, Long.class);
+
+    // KEYS: 방 Hash / ARGV: ttlSec, userId, watermark, userId, watermark, ...
+    private static final RedisScript<Long> SEED_SCRIPT = new DefaultRedisScript<>("""
+            for i = 2, #ARGV, 2 do
+                local current = tonumber(redis.call('HGET', KEYS[1], ARGV[i]) or '0')
+                if current < tonumber(ARGV[i + 1]) then
+                    redis.call('HSET', KEYS[1], ARGV[i], ARGV[i + 1])
+                end
+            end
+            redis.call('HSET', KEYS[1], '$seeded', '1')
+            redis.call('EXPIRE', KEYS[1], tonumber(ARGV[1]))
+            return 1
+            """, Long.class);
+
     private final MongoTemplate mongoTemplate;
-    private final RedisTemplate<String, Object> redis;
+    private final StringRedisTemplate redis;
+    private final MessageRepository messageRepository;
+    private final RoomReadWatermarkRepository watermarkRepository;
+    private final Duration roomTtl;
+    private final long flushIntervalMillis;
+    private final int flushBatchSize;
 
-    private static final String READ_KEY_PREFIX = "readstatus:message:";
-    private static final String PENDING_KEY = "readstatus:pending";
+    private final Counter advancedCounter;
+    private final Counter flushedCounter;
+    private final Counter failedCounter;
+    private final DistributionSummary batchSizeSummary;
+    private final Timer flushLagTimer;
+    private final Timer flushTimer;
+
+    private ScheduledExecutorService scheduler;
 
     public MessageReadStatusService(
             MongoTemplate mongoTemplate,
-            @Qualifier("cacheRedisTemplate") RedisTemplate<String, Object> redis
+            @Qualifier("cacheStringRedisTemplate") StringRedisTemplate redis,
+            MessageRepository messageRepository,
+            RoomReadWatermarkRepository watermarkRepository,
+            MeterRegistry registry,
+            @Value("${chatapp.read-status.room-ttl-ms:604800000}") long roomTtlMillis,
+            @Value("${chatapp.read-status.flush-interval-ms:5000}") long flushIntervalMillis,
+            @Value("${chatapp.read-status.flush-batch-size:1000}") int flushBatchSize
     ) {
         this.mongoTemplate = mongoTemplate;
         this.redis = redis;
+        this.messageRepository = messageRepository;
+        this.watermarkRepository = watermarkRepository;
+        this.roomTtl = Duration.ofMillis(roomTtlMillis);
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.flushBatchSize = Math.max(1, flushBatchSize);
+
+        this.advancedCounter = registry.counter("read.watermark.advanced");
+        this.flushedCounter = registry.counter("read.watermark.flushed");
+        this.failedCounter = registry.counter("read.watermark.flush.failed");
+        this.batchSizeSummary = DistributionSummary.builder("read.watermark.flush.batch.size")
+                .description("Watermarks per bulkWrite")
+                .register(registry);
+        this.flushLagTimer = registry.timer("read.watermark.flush.lag");
+        this.flushTimer = registry.timer("read.watermark.flush.time");
+    }
+
+    @PostConstruct
+    public void start() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "read-watermark-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::flushSafely,
+                flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+        flushSafely();
     }
 
     /**
-     * 클라이언트에서 메시지를 읽으면 Redis에만 기록해둔다.
-     * MongoDB는 즉시 업데이트하지 않고 배치로 처리한다.
+     * 읽은 메시지 목록으로 방별 watermark를 올린다 (방마다 가장 최신 메시지 기준).
      */
-    public void updateReadStatus(List<String> messageIds, String userId) {
+    public void markRead(List<Message> messages, String userId) {
+        if (messages == null || messages.isEmpty()) return;
 
-        if (messageIds == null || messageIds.isEmpty()) return;
+        Map<String, Long> latestByRoom = new HashMap<>();
+        for (Message message : messages) {
+            if (message.getRoomId() == null || message.getTimestamp() == null) continue;
+            latestByRoom.merge(message.getRoomId(), message.toTimestampMillis(), Math::max);
+        }
+        latestByRoom.forEach((roomId, readUpTo) -> markRead(roomId, userId, readUpTo));
+    }
 
+    /**
+     * 방의 watermark를 readUpTo(epoch millis)까지 올린다. 이미 더 앞서 있으면 아무것도 하지 않는다.
+     */
+    public void markRead(String roomId, String userId, long readUpTo) {
         try {
-            for (String messageId : messageIds) {
-
-                String key = READ_KEY_PREFIX + messageId;
+            Long advanced = redis.execute(ADVANCE_SCRIPT,
+                    List.of(roomKey(roomId), PENDING_KEY),
+                    userId,
+                    String.valueOf(readUpTo),
+                    String.valueOf(roomTtl.toSeconds()),
+                    roomId + MEMBER_SEPARATOR + userId,
+                    String.valueOf(System.currentTimeMillis()));
+            if (advanced != null && advanced == 1L) {
+                advancedCounter.increment();
+            }
+        } catch (Exception e) {
+            log.error("Failed to advance read watermark - roomId: {}, userId: {}", roomId, userId, e);
+        }
+    }
 
-                // Redis Set에 사용자 읽음 기록 추가
-                redis.opsForSet().add(key, userId);
+    /**
+     * 메시지별 읽은 사용자 (watermark가 메시지 timestamp 이상인 사용자).
+     * readAt은 그 사용자가 읽은 마지막 메시지의 시각이다.
+     */
+    public Map<String, List<Message.MessageReader>> readers(String roomId, List<Message> messages) {
+        Map<String, List<Message.MessageReader>> readers = new HashMap<>();
+        if (messages.isEmpty()) return readers;
 
-                // 이 메시지가 flush 대상임을 표시
-                redis.opsForSet().add(PENDING_KEY, messageId);
-            }
+        Map<String, Long> watermarks = watermarks(roomId);
+        for (Message message : messages) {
+            if (message.getTimestamp() == null) continue;
 
-        } catch (Exception e) {
-            log.error("Redis logging for read-status failed", e);
+            long timestamp = message.toTimestampMillis();
+            List<Message.MessageReader> messageReaders = new ArrayList<>();
+            watermarks.forEach((userId, readUpTo) -> {
+                if (readUpTo >= timestamp) {
+                    messageReaders.add(new Message.MessageReader(userId, toLocalDateTime(readUpTo)));
+                }
+            });
+            readers.put(message.getId(), messageReaders);
         }
+        return readers;
     }
 
     /**
-     * 5초마다 실행하여 Redis에 기록된 읽음 정보를 MongoDB에 일괄 반영한다.
+     * 사용자가 아직 읽지 않은 방의 메시지 수.
      */
-    @Scheduled(fixedDelay = 5000)
-    public void flushPendingStatuses() {
-        try {
-            Set<Object> pending = redis.opsForSet().members(PENDING_KEY);
+    public long unreadCount(String roomId, String userId) {
+        long readUpTo = watermarks(roomId).getOrDefault(userId, 0L);
+        return messageRepository.countRecentMessagesByRoomId(roomId, toLocalDateTime(readUpTo + 1));
+    }
 
-            if (pending == null || pending.isEmpty()) return;
+    /**
+     * 방의 사용자별 watermark. Redis에 seed되지 않은 방이면 MongoDB 값으로 채운다.
+     */
+    public Map<String, Long> watermarks(String roomId) {
+        try {
+            Map<Object, Object> hash = redis.opsForHash().entries(roomKey(roomId));
+            if (!hash.containsKey(SEEDED_FIELD)) {
+                seed(roomId);
+                hash = redis.opsForHash().entries(roomKey(roomId));
+            }
 
-            for (Object midObj : pending) {
+            Map<String, Long> watermarks = new HashMap<>();
+            hash.forEach((field, value) -> {
+                if (!SEEDED_FIELD.equals(field)) {
+                    watermarks.put(field.toString(), Long.parseLong(value.toString()));
+                }
+            });
+            return watermarks;
+        } catch (Exception e) {
+            log.warn("Read watermark cache unavailable, fallback to Mongo - roomId: {}", roomId, e);
+            Map<String, Long> watermarks = new HashMap<>();
+            watermarkRepository.findByRoomId(roomId)
+                    .forEach(w -> watermarks.put(w.getUserId(), w.getLastReadAt()));
+            return watermarks;
+        }
+    }
 
-                String messageId = midObj.toString();
-                String readKey = READ_KEY_PREFIX + messageId;
+    // Redis와 MongoDB 값 중 큰 쪽을 남기므로 seed 중에 들어온 갱신을 되돌리지 않는다
+    private void seed(String roomId) {
+        List<String> args = new ArrayList<>();
+        args.add(String.valueOf(roomTtl.toSeconds()));
+        for (RoomReadWatermark watermark : watermarkRepository.findByRoomId(roomId)) {
+            args.add(watermark.getUserId());
+            args.add(String.valueOf(watermark.getLastReadAt()));
+        }
+        redis.execute(SEED_SCRIPT, List.of(roomKey(roomId)), args.toArray());
+    }
 
-                // Redis Set에서 메시지를 읽은 userId 목록 가져오기
-                Set<Object> userIds = redis.opsForSet().members(readKey);
-                if (userIds == null || userIds.isEmpty()) continue;
+    /**
+     * pending이 빌 때까지 batch 단위로 반영한다. 반영한 수를 돌려준다.
+     */
+    public int flush() {
+        int total = 0;
+        int flushed;
+        do {
+            flushed = flushBatch();
+            total += flushed;
+        } while (flushed == flushBatchSize);
+        return total;
+    }
 
-                List<String> users = userIds.stream()
-                        .map(Object::toString)
-                        .toList();
+    /**
+     * pending에서 가장 오래된 batch 하나를 꺼내 반영한다. 꺼낸 수를 돌려준다.
+     */
+    int flushBatch() {
+        // 읽기 전에 꺼내야 그 사이 올라간 watermark가 다시 pending에 남는다
+        Set<ZSetOperations.TypedTuple<String>> popped = redis.opsForZSet().popMin(PENDING_KEY, flushBatchSize);
+        if (popped == null || popped.isEmpty()) return 0;
 
-                Query query = new Query(
-                        Criteria.where("_id").is(messageId)
-                );
+        long startedAt = System.nanoTime();
+        List<String> members = new ArrayList<>(popped.size());
+        double oldest = Double.MAX_VALUE;
+        for (ZSetOperations.TypedTuple<String> tuple : popped) {
+            members.add(tuple.getValue());
+            if (tuple.getScore() != null) {
+                oldest = Math.min(oldest, tuple.getScore());
+            }
+        }
+        if (oldest != Double.MAX_VALUE) {
+            flushLagTimer.record(Math.max(0, System.currentTimeMillis() - (long) oldest), TimeUnit.MILLISECONDS);
+        }
 
-                // readers 배열에 추가할 Document 목록
-                List<Document> readerDocs = users.stream()
-                        .map(uid -> new Document("userId", uid)
-                                .append("readAt", LocalDateTime.now()))
-                        .collect(Collectors.toList());
+        try {
+            List<Object> values = redis.executePipelined((RedisCallback<Object>) connection -> {
+                for (String member : members) {
+                    int separator = member.indexOf(MEMBER_SEPARATOR);
+                    String roomId = separator < 0 ? member : member.substring(0, separator);
+                    String userId = separator < 0 ? "" : member.substring(separator + 1);
+                    connection.hashCommands().hGet(
+                            roomKey(roomId).getBytes(StandardCharsets.UTF_8),
+                            userId.getBytes(StandardCharsets.UTF_8));
+                }
+                return null;
+            });
 
-                // MongoDB update (배열에 addToSet)
-                Update update = new Update().addToSet("readers").each(readerDocs);
+            Instant now = Instant.now();
+            BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, RoomReadWatermark.class);
+            int count = 0;
+            for (int i = 0; i < members.size(); i++) {
+                String member = members.get(i);
+                int separator = member.indexOf(MEMBER_SEPARATOR);
+                Object value = values.get(i);
+                if (separator < 0 || value == null) continue;
 
-                mongoTemplate.updateMulti(query, update, "messages");
+                String roomId = member.substring(0, separator);
+                String userId = member.substring(separator + 1);
+                bulk.upsert(
+                        new Query(Criteria.where("_id").is(RoomReadWatermark.idOf(roomId, userId))),
+                        new Update()
+                                .max("lastReadAt", Long.parseLong(value.toString()))
+                                .set("room", roomId)
+                                .set("user", userId)
+                                .set("updatedAt", now));
+                count++;
+            }
 
-                // Redis 정리
-                redis.delete(readKey);
-                redis.opsForSet().remove(PENDING_KEY, messageId);
+            if (count > 0) {
+                bulk.execute();
+                flushedCounter.increment(count);
             }
+            batchSizeSummary.record(count);
+            return popped.size();
+        } catch (RuntimeException e) {
+            // 처음 바뀐 시각을 그대로 돌려놓아 lag가 실제 지연을 반영하게 한다
+            redis.opsForZSet().add(PENDING_KEY, popped);
+            throw e;
+        } finally {
+            flushTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+        }
+    }
 
+    private void flushSafely() {
+        try {
+            flush();
         } catch (Exception e) {
-            log.error("Error during read-status MongoDB flush", e);
+            failedCounter.increment();
+            log.error("Failed to flush read watermarks", e);
         }
     }
-}
\ No newline at end of file
+
+    private static LocalDateTime toLocalDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+
+    private static String roomKey(String roomId) {
+        return ROOM_KEY_PREFIX + roomId;
+    }
+}
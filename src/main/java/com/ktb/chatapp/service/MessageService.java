@@ -1,42 +1,34 @@
 package com.ktb.chatapp.service;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.ktb.chatapp.dto.FileResponse;
 import com.ktb.chatapp.dto.MessageContent;
 import com.ktb.chatapp.dto.MessageResponse;
 import com.ktb.chatapp.dto.UserResponse;
+import com.ktb.chatapp.model.AiType;
 import com.ktb.chatapp.model.Message;
 import com.ktb.chatapp.model.MessageType;
-import com.ktb.chatapp.repository.MessageRepository;
+import com.ktb.chatapp.service.message.MessageBatchWriter;
+import com.ktb.chatapp.service.message.RecentMessageCache;
+import com.ktb.chatapp.service.room.RoomActivityCounter;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
-import org.springframework.beans.factory.annotation.Qualifier;
-import org.springframework.data.redis.core.RedisTemplate;
+import org.bson.types.ObjectId;
 import org.springframework.stereotype.Service;
 
-import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 @Slf4j
 @Service
+@RequiredArgsConstructor
 public class MessageService {
 
-    private final MessageRepository messageRepository;
-    private final ObjectMapper objectMapper;
-    private final RedisTemplate<String, Object> redis;
-
-    private static final int LATEST_LIMIT = 30;
-
-    public MessageService(
-            MessageRepository messageRepository,
-            ObjectMapper objectMapper,
-            @Qualifier("cacheRedisTemplate") RedisTemplate<String, Object> redis
-    ) {
-        this.messageRepository = messageRepository;
-        this.objectMapper = objectMapper;
-        this.redis = redis;
-    }
+    private final MessageBatchWriter messageBatchWriter;
+    private final RecentMessageCache recentMessageCache;
+    private final RoomActivityCounter roomActivityCounter;
 
     /**
      * 텍스트 메시지 저장
@@ -46,13 +38,30 @@ public class MessageService {
             String userId,
             MessageContent messageContent,
             Map<String, Object> senderSnapshot
+    ) {
+        Message message = buildTextMessage(roomId, userId, messageContent, senderSnapshot);
+        if (message == null) return null;
+
+        Message saved = messageBatchWriter.write(message);
+
+        afterWrite(roomId, saved);
+        return saved;
+    }
+
+    private Message buildTextMessage(
+            String roomId,
+            String userId,
+            MessageContent messageContent,
+            Map<String, Object> senderSnapshot
     ) {
         if (messageContent == null || messageContent.isEmpty()) return null;
 
         Map<String, Object> metadata = new HashMap<>();
         if (senderSnapshot != null) metadata.put("sender", senderSnapshot);
 
-        Message message = Message.builder()
+        // _id를 미리 할당해 저장 완료 전에도 브로드캐스트할 수 있게 한다
+        return Message.builder()
+                .id(new ObjectId().toHexString())
                 .roomId(roomId)
                 .senderId(userId)
                 .type(MessageType.text)
@@ -61,11 +70,6 @@ public class MessageService {
                 .mentions(messageContent.aiMentions())
                 .metadata(metadata)
                 .build();
-
-        Message saved = messageRepository.save(message);
-
-        updateLatestCache(roomId, saved);
-        return saved;
     }
 
     /**
@@ -77,6 +81,21 @@ public class MessageService {
             MessageContent content,
             Map<String, Object> fileData,
             Map<String, Object> senderSnapshot
+    ) {
+        Message message = buildFileMessage(roomId, userId, content, fileData, senderSnapshot);
+
+        Message saved = messageBatchWriter.write(message);
+
+        afterWrite(roomId, saved);
+        return saved;
+    }
+
+    private Message buildFileMessage(
+            String roomId,
+            String userId,
+            MessageContent content,
+            Map<String, Object> fileData,
+            Map<String, Object> senderSnapshot
     ) {
         if (fileData == null || fileData.get("url") == null)
             throw new IllegalArgumentException("파일 URL이 존재하지 않습니다.");
@@ -89,7 +108,9 @@ public class MessageService {
 
         if (senderSnapshot != null) metadata.put("sender", senderSnapshot);
 
-        Message message = Message.builder()
+        // _id를 미리 할당해 저장 완료 전에도 브로드캐스트할 수 있게 한다
+        return Message.builder()
+                .id(new ObjectId().toHexString())
                 .roomId(roomId)
                 .senderId(userId)
                 .type(MessageType.file)
@@ -98,42 +119,57 @@ public class MessageService {
                 .mentions(content != null ? content.aiMentions() : null)
                 .metadata(metadata)
                 .build();
-
-        Message saved = messageRepository.save(message);
-
-        updateLatestCache(roomId, saved);
-        return saved;
     }
 
     /**
-     * 최신 메시지 캐싱 (RedisB)
+     * 시스템 메시지 저장 (입장/퇴장 안내)
      */
-    private void updateLatestCache(String roomId, Message newMessage) {
-        String key = "cache:messages:room:" + roomId + ":latest";
-
-        try {
-            List<Message> latest = (List<Message>) redis.opsForValue().get(key);
+    public Message saveSystemMessage(String roomId, String content) {
+        Message message = Message.builder()
+                .id(new ObjectId().toHexString())
+                .roomId(roomId)
+                .type(MessageType.system)
+                .content(content)
+                .timestamp(LocalDateTime.now())
+                .metadata(new HashMap<>())
+                .build();
 
-            if (latest == null) {
-                List<Message> list = new ArrayList<>();
-                list.add(newMessage);
-                redis.opsForValue().set(key, list, Duration.ofSeconds(30));
-                return;
-            }
+        Message saved = messageBatchWriter.write(message);
 
-            latest.add(0, newMessage);
+        afterWrite(roomId, saved);
+        return saved;
+    }
 
-            if (latest.size() > LATEST_LIMIT) {
-                latest = latest.subList(0, LATEST_LIMIT);
-            }
+    /**
+     * AI 응답 메시지 저장 (스트리밍 완료 후)
+     */
+    public Message saveAiMessage(
+            String roomId,
+            AiType aiType,
+            String content,
+            LocalDateTime timestamp,
+            Map<String, Object> metadata
+    ) {
+        Message message = Message.builder()
+                .id(new ObjectId().toHexString())
+                .roomId(roomId)
+                .type(MessageType.ai)
+                .aiType(aiType)
+                .content(content)
+                .timestamp(timestamp)
+                .metadata(metadata)
+                .build();
 
-            redis.opsForValue().set(key, latest, Duration.ofSeconds(30));
+        Message saved = messageBatchWriter.write(message);
 
-        } catch (Exception e) {
-            log.warn("Failed to update latest Redis cache", e);
-        }
+        afterWrite(roomId, saved);
+        return saved;
     }
 
+    private void afterWrite(String roomId, Message saved) {
+        recentMessageCache.push(roomId, saved);
+        roomActivityCounter.increment(roomId);
+    }
 
     /**
      * Message → DTO 변환
@@ -179,4 +215,33 @@ public class MessageService {
             default -> throw new IllegalArgumentException("Unsupported message type: " + messageType);
         };
     }
+
+    /**
+     * 메시지를 저장 큐에 넣고 저장 완료를 기다리지 않고 반환한다.
+     * 저장이 끝나면 후처리(최근 메시지 캐시, 활동 카운트)를 completionExecutor에서 실행한 뒤 future를 완료한다.
+     * 저장은 enqueue 순서대로 완료되므로, 순서를 지키는 executor(방 메일박스)를 넘기면 후처리도 같은 순서로 실행된다.
+     * 내용이 비어 있는 텍스트 메시지는 null로 완료된다.
+     */
+    public CompletableFuture<Message> saveMessageAsync(
+            String messageType,
+            String roomId,
+            String userId,
+            MessageContent messageContent,
+            Map<String, Object> fileData,
+            Map<String, Object> senderSnapshot,
+            Executor completionExecutor
+    ) {
+        Message message = switch (messageType) {
+            case "text" -> buildTextMessage(roomId, userId, messageContent, senderSnapshot);
+            case "file" -> buildFileMessage(roomId, userId, messageContent, fileData, senderSnapshot);
+            default -> throw new IllegalArgumentException("Unsupported message type: " + messageType);
+        };
+        if (message == null) return CompletableFuture.completedFuture(null);
+
+        return messageBatchWriter.writeAsync(message)
+                .thenApplyAsync(saved -> {
+                    afterWrite(roomId, saved);
+                    return saved;
+                }, completionExecutor);
+    }
 }
\ No newline at end of file
@@ -1,7 +1,6 @@
 package com.ktb.chatapp.service;
 
-import com.ktb.chatapp.model.RateLimit;
-import com.ktb.chatapp.service.ratelimit.RateLimitStore;
+import com.ktb.chatapp.service.ratelimit.RateLimiter;
 import jakarta.annotation.PostConstruct;
 import java.time.Duration;
 import java.time.Instant;
@@ -18,7 +17,7 @@ import static java.net.InetAddress.*;
 @RequiredArgsConstructor
 public class RateLimitService {
 
-    private final RateLimitStore rateLimitStore;
+    private final RateLimiter rateLimiter;
     @Value("${HOSTNAME:''}")
     private String hostName;
 
@@ -43,41 +42,10 @@ public class RateLimitService {
     public RateLimitCheckResult checkRateLimit(String _clientId, int maxRequests, Duration window) {
         String actualClientId = hostName + ":" + _clientId;
         long windowSeconds = Math.max(1L, window.getSeconds());
-        Instant now = Instant.now();
-        long nowEpochSeconds = now.getEpochSecond();
-        Instant expiresAt = now.plus(window);
+        long nowEpochSeconds = Instant.now().getEpochSecond();
 
         try {
-            RateLimit rateLimit = rateLimitStore.findByClientId(actualClientId).orElse(null);
-            int currentCount = rateLimit != null ? rateLimit.getCount() : 0;
-
-            if (rateLimit != null && currentCount >= maxRequests) {
-                long retryAfterSeconds = Math.max(1L,
-                        rateLimit.getExpiresAt().getEpochSecond() - nowEpochSeconds);
-                long resetEpochSeconds = rateLimit.getExpiresAt().getEpochSecond();
-                return RateLimitCheckResult.rejected(
-                        maxRequests, windowSeconds, resetEpochSeconds, retryAfterSeconds);
-            }
-
-            // Create or update rate limit
-            if (rateLimit == null) {
-                rateLimit = RateLimit.builder()
-                        .clientId(actualClientId)
-                        .count(1)
-                        .expiresAt(expiresAt)
-                        .build();
-            } else {
-                rateLimit.setCount(currentCount + 1);
-            }
-            rateLimitStore.save(rateLimit);
-
-            int newCount = currentCount + 1;
-            int remaining = Math.max(0, maxRequests - newCount);
-            long ttlSeconds = Math.max(1L, rateLimit.getExpiresAt().getEpochSecond() - nowEpochSeconds);
-            long resetEpochSeconds = rateLimit.getExpiresAt().getEpochSecond();
-
-            return RateLimitCheckResult.allowed(
-                    maxRequests, remaining, windowSeconds, resetEpochSeconds, ttlSeconds);
+            return rateLimiter.tryAcquire(actualClientId, maxRequests, window);
         } catch (Exception e) {
             log.error("Rate limit check failed for client: {}", actualClientId, e);
             long resetEpochSeconds = nowEpochSeconds + windowSeconds;
@@ -8,6 +8,9 @@ import com.ktb.chatapp.model.User;
 import com.ktb.chatapp.repository.MessageRepository;
 import com.ktb.chatapp.repository.RoomRepository;
 import com.ktb.chatapp.repository.UserRepository;
+import com.ktb.chatapp.service.room.RoomActivityCounter;
+import com.ktb.chatapp.service.room.RoomListCache;
+import com.ktb.chatapp.service.room.RoomMembershipService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.ApplicationEventPublisher;
@@ -31,6 +34,9 @@ public class RoomService {
     private final MessageRepository messageRepository;
     private final PasswordEncoder passwordEncoder;
     private final ApplicationEventPublisher eventPublisher;
+    private final RoomListCache roomListCache;
+    private final RoomActivityCounter roomActivityCounter;
+    private final RoomMembershipService roomMembershipService;
 
     public RoomsResponse getAllRoomsWithPagination(com.ktb.chatapp.dto.PageRequest request,
                                                    String userEmail) {
@@ -49,6 +55,14 @@ public class RoomService {
                 sortField = "participantIds"; // MongoDB 필드명
             }
 
+            // 방 생성/입장 이벤트로 무효화되는 목록 캐시 (키는 조회 전에 만든다)
+            String cacheKey = roomListCache.key(request.getPage(), request.getPageSize(),
+                    request.getSortField(), request.getSortOrder(), request.getSearch());
+            Optional<RoomsResponse> cached = roomListCache.get(cacheKey, userEmail);
+            if (cached.isPresent()) {
+                return cached.get();
+            }
+
             // Spring Pageable 생성
             PageRequest pageable = PageRequest.of(
                     request.getPage(),
@@ -66,10 +80,8 @@ public class RoomService {
                 roomPage = roomRepository.findAll(pageable);
             }
 
-            // Room → RoomResponse 변환
-            List<RoomResponse> responses = roomPage.getContent().stream()
-                    .map(room -> buildRoomResponse(room, userEmail))
-                    .collect(Collectors.toList());
+            // Room → RoomResponse 변환 (페이지 단위로 사용자/메시지 수를 한 번에 조회)
+            List<RoomResponse> responses = buildRoomResponses(roomPage.getContent(), userEmail);
 
             // 메타데이터 생성
             PageMetadata meta = PageMetadata.builder()
@@ -85,11 +97,13 @@ public class RoomService {
                             .build())
                     .build();
 
-            return RoomsResponse.builder()
+            RoomsResponse response = RoomsResponse.builder()
                     .success(true)
                     .data(responses)
                     .metadata(meta)
                     .build();
+            roomListCache.put(cacheKey, response);
+            return response;
 
         } catch (Exception e) {
             log.error("방 목록 조회 중 오류 발생", e);
@@ -159,6 +173,7 @@ public class RoomService {
         }
 
         Room saved = roomRepository.save(room);
+        roomMembershipService.addMember(saved.getId(), creator.getId());
 
         // 이벤트 발행
         try {
@@ -198,11 +213,15 @@ public class RoomService {
             }
         }
 
-        if (!room.getParticipantIds().contains(user.getId())) {
-            room.getParticipantIds().add(user.getId());
-            room = roomRepository.save(room);
+        // 이미 참가자면 바뀐 것이 없으므로 저장도 이벤트도 없다
+        if (room.getParticipantIds().contains(user.getId())) {
+            return room;
         }
 
+        room.getParticipantIds().add(user.getId());
+        room = roomRepository.save(room);
+        roomMembershipService.addMember(roomId, user.getId());
+
         // 이벤트 발행
         try {
             RoomResponse response = buildRoomResponse(room, userEmail);
@@ -216,19 +235,47 @@ public class RoomService {
 
     private RoomResponse buildRoomResponse(Room room, String userEmail) {
         if (room == null) return null;
+        return buildRoomResponses(List.of(room), userEmail).get(0);
+    }
 
-        User creator = userRepository.findById(room.getCreator()).orElse(null);
+    /**
+     * 방 목록의 RoomResponse를 방 개수와 무관하게 사용자 조회 1회, 메시지 수 조회 1회로 만든다.
+     */
+    private List<RoomResponse> buildRoomResponses(List<Room> rooms, String userEmail) {
+        if (rooms.isEmpty()) return List.of();
+
+        Set<String> userIds = new HashSet<>();
+        for (Room room : rooms) {
+            if (room.getCreator() != null) userIds.add(room.getCreator());
+            userIds.addAll(room.getParticipantIds());
+        }
+        Map<String, User> usersById = userRepository.findByIdIn(userIds).stream()
+                .collect(Collectors.toMap(User::getId, user -> user, (a, b) -> a));
+
+        // 최근 메시지 수는 Redis 분 단위 카운터에서 읽고, 실패 시에만 MongoDB 집계
+        List<String> roomIds = rooms.stream().map(Room::getId).toList();
+        Map<String, Long> recentCounts = roomActivityCounter.recentCounts(roomIds)
+                .orElseGet(() -> messageRepository.countRecentMessagesByRoomIds(
+                                roomIds, LocalDateTime.now().minusMinutes(RoomActivityCounter.WINDOW_MINUTES)).stream()
+                        .collect(Collectors.toMap(
+                                MessageRepository.RoomMessageCount::roomId,
+                                MessageRepository.RoomMessageCount::count)));
+
+        return rooms.stream()
+                .map(room -> toRoomResponse(room, userEmail, usersById,
+                        recentCounts.getOrDefault(room.getId(), 0L)))
+                .collect(Collectors.toList());
+    }
+
+    private RoomResponse toRoomResponse(Room room, String userEmail,
+                                        Map<String, User> usersById, long recentCount) {
+        User creator = room.getCreator() != null ? usersById.get(room.getCreator()) : null;
 
         List<User> participants = room.getParticipantIds().stream()
-                .map(userRepository::findById)
-                .filter(Optional::isPresent)
-                .map(Optional::get)
+                .map(usersById::get)
+                .filter(Objects::nonNull)
                 .toList();
 
-        long recentCount = messageRepository.countRecentMessagesByRoomId(
-                room.getId(), LocalDateTime.now().minusMinutes(10)
-        );
-
         return RoomResponse.builder()
                 .id(room.getId())
                 .name(room.getName())
@@ -244,4 +291,4 @@ public class RoomService {
                 .recentMessageCount((int) recentCount)
                 .build();
     }
-}
\ No newline at end of file
+}
@@ -1,6 +1,7 @@
 package com.ktb.chatapp.service;
 
 import com.ktb.chatapp.model.Session;
+import com.ktb.chatapp.service.session.SessionActivityTracker;
 import com.ktb.chatapp.service.session.SessionStore;
 import java.time.Instant;
 import java.util.UUID;
@@ -17,6 +18,7 @@ import static com.ktb.chatapp.model.Session.SESSION_TTL;
 public class SessionService {
 
     private final SessionStore sessionStore;
+    private final SessionActivityTracker activityTracker;
     public static final long SESSION_TTL_SEC = DurationStyle.detectAndParse(SESSION_TTL).getSeconds();
     private static final long SESSION_TIMEOUT = SESSION_TTL_SEC * 1000;
 
@@ -24,6 +26,12 @@ public class SessionService {
         return UUID.randomUUID().toString().replace("-", "");
     }
 
+    private Instant expiresAt(long lastActivity) {
+        return Instant.ofEpochMilli(lastActivity)
+                .plusSeconds(SESSION_TTL_SEC)
+                .plusMillis(activityTracker.maxLagMillis());
+    }
+
     private SessionData toSessionData(Session session) {
         return SessionData.builder()
                 .userId(session.getUserId())
@@ -48,7 +56,7 @@ public class SessionService {
                     .createdAt(now)
                     .lastActivity(now)
                     .metadata(metadata)
-                    .expiresAt(Instant.now().plusSeconds(SESSION_TTL_SEC))
+                    .expiresAt(expiresAt(now))
                     .build();
 
             session = sessionStore.save(session);
@@ -87,17 +95,19 @@ public class SessionService {
             }
 
             // Check if session has timed out
+            // 저장된 lastActivity는 활동 추적기의 최대 지연만큼 늦을 수 있으므로 그만큼 허용한다
             long now = Instant.now().toEpochMilli();
-            if (now - session.getLastActivity() > SESSION_TIMEOUT) {
+            long lastActivity = Math.max(session.getLastActivity(), activityTracker.lastSeen(userId));
+            if (now - lastActivity > SESSION_TIMEOUT + activityTracker.maxLagMillis()) {
                 log.warn("Session timed out for userId: {}, sessionId: {}", userId, sessionId);
                 removeSession(userId, sessionId);
                 return SessionValidationResult.invalid("SESSION_EXPIRED", "세션이 만료되었습니다.");
             }
 
-            // Update last activity
+            // Update last activity (저장소 반영은 SessionActivityTracker가 모아서 처리)
+            activityTracker.touch(userId, session.getLastActivity(), now);
             session.setLastActivity(now);
-            session.setExpiresAt(Instant.now().plusSeconds(SESSION_TTL_SEC));
-            session = sessionStore.save(session);
+            session.setExpiresAt(expiresAt(now));
 
             SessionData sessionData = toSessionData(session);
             return SessionValidationResult.valid(sessionData);
@@ -115,16 +125,9 @@ public class SessionService {
                 return;
             }
 
-            Session session = sessionStore.findByUserId(userId).orElse(null);
-            if (session == null) {
-                log.debug("No session found to update last activity for user: {}", userId);
-                return;
-            }
+            // 세션이 없는 사용자는 flush 시 갱신 대상에서 제외된다
+            activityTracker.touch(userId, Instant.now().toEpochMilli());
 
-            session.setLastActivity(Instant.now().toEpochMilli());
-            session.setExpiresAt(Instant.now().plusSeconds(SESSION_TTL_SEC));
-            sessionStore.save(session);
-            
         } catch (Exception e) {
             log.error("Failed to update session activity for user: {}", userId, e);
         }
@@ -132,6 +135,7 @@ public class SessionService {
 
     public void removeSession(String userId, String sessionId) {
         try {
+            activityTracker.forget(userId);
             if (sessionId != null) {
                 sessionStore.delete(userId, sessionId);
             } else {
@@ -145,6 +149,7 @@ public class SessionService {
 
     public void removeAllUserSessions(String userId) {
         try {
+            activityTracker.forget(userId);
             sessionStore.deleteAll(userId);
         } catch (Exception e) {
             log.error("Remove all sessions error for userId: {}", userId, e);
@@ -164,6 +169,7 @@ public class SessionService {
                 return null;
             }
 
+            session.setLastActivity(Math.max(session.getLastActivity(), activityTracker.lastSeen(userId)));
             return toSessionData(session);
         } catch (Exception e) {
             log.error("Get active session error for userId: {}", userId, e);
@@ -0,0 +1,230 @@
+package com.ktb.chatapp.service.message;
+
+import com.ktb.chatapp.model.Message;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * 채팅 메시지 group-commit 저장기.
+ *
+ * 여러 방에서 들어온 메시지를 하나의 큐에 모아 크기/시간 기준 micro-batch로 묶고,
+ * 단일 insertMany(ordered)로 MongoDB에 반영한다.
+ * 큐는 FIFO이고 flush 스레드는 하나이므로 방별 저장 순서는 enqueue 순서와 같다.
+ *
+ * - ACK_BEFORE_BROADCAST: 호출자는 자신이 포함된 배치가 커밋될 때까지 대기한다.
+ * - BROADCAST_THEN_PERSIST: 호출자는 즉시 반환되고 저장은 백그라운드에서 수행된다.
+ */
+@Slf4j
+@Component
+public class MessageBatchWriter {
+
+    private final MongoTemplate mongoTemplate;
+    private final DurabilityMode durabilityMode;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final BlockingQueue<PendingWrite> queue;
+
+    private final Counter persistedCounter;
+    private final Counter failedCounter;
+    private final Counter overflowCounter;
+    private final DistributionSummary batchSizeSummary;
+    private final Timer flushTimer;
+
+    private volatile boolean running;
+    private volatile Thread flusher;
+
+    public MessageBatchWriter(
+            MongoTemplate mongoTemplate,
+            MeterRegistry registry,
+            @Value("${chatapp.message.write-behind.durability:ack-before-broadcast}") String durability,
+            @Value("${chatapp.message.write-behind.batch-size:200}") int batchSize,
+            @Value("${chatapp.message.write-behind.flush-interval-ms:10}") long flushIntervalMs,
+            @Value("${chatapp.message.write-behind.queue-capacity:10000}") int queueCapacity
+    ) {
+        this.mongoTemplate = mongoTemplate;
+        this.durabilityMode = DurabilityMode.from(durability);
+        this.batchSize = Math.max(1, batchSize);
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, flushIntervalMs));
+        this.queue = new ArrayBlockingQueue<>(Math.max(this.batchSize, queueCapacity));
+
+        this.persistedCounter = registry.counter("chat.messages.writebehind.persisted");
+        this.failedCounter = registry.counter("chat.messages.writebehind.failed");
+        this.overflowCounter = registry.counter("chat.messages.writebehind.overflow");
+        this.batchSizeSummary = DistributionSummary.builder("chat.messages.writebehind.batch.size")
+                .description("Messages per insertMany flush")
+                .register(registry);
+        this.flushTimer = registry.timer("chat.messages.writebehind.flush.time");
+        Gauge.builder("chat.messages.writebehind.queue.depth", queue, BlockingQueue::size)
+                .description("Messages waiting to be flushed")
+                .register(registry);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        flusher = Thread.ofPlatform()
+                .name("message-batch-writer")
+                .daemon(true)
+                .start(this::runLoop);
+        log.info("MessageBatchWriter started - durability: {}, batchSize: {}, flushIntervalMs: {}",
+                durabilityMode, batchSize, TimeUnit.NANOSECONDS.toMillis(flushIntervalNanos));
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (flusher == null) return;
+        try {
+            flusher.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // running을 보고 넣었지만 flush 스레드가 이미 큐를 비우고 끝난 뒤에 들어온 메시지
+        flushRemaining();
+    }
+
+    /**
+     * 메시지를 저장 큐에 넣는다. 메시지의 id는 호출 전에 클라이언트 측에서 할당되어 있어야 한다.
+     * ACK_BEFORE_BROADCAST 모드에서는 배치 커밋까지 대기하며, 실패 시 예외를 던진다.
+     */
+    public Message write(Message message) {
+        try {
+            return writeAsync(message).join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException re ? re : e;
+        }
+    }
+
+    /**
+     * 메시지를 저장 큐에 넣고 커밋을 기다리지 않고 반환한다.
+     * 반환된 future는 ACK_BEFORE_BROADCAST 모드에서는 배치 커밋(또는 실패) 시, BROADCAST_THEN_PERSIST
+     * 모드에서는 바로 완료된다. flush 스레드가 하나이므로 future는 enqueue 순서대로 완료된다.
+     * 큐가 가득 찬 경우에는 자리가 날 때까지 대기한다.
+     */
+    public CompletableFuture<Message> writeAsync(Message message) {
+        if (message.getId() == null) {
+            throw new IllegalArgumentException("Message id must be assigned before write-behind");
+        }
+
+        PendingWrite pending = new PendingWrite(message, new CompletableFuture<>());
+        if (!running) {
+            flush(List.of(pending));
+        } else if (!queue.offer(pending)) {
+            // 큐가 가득 찬 경우 자리가 날 때까지 대기해 backpressure를 건다 (방별 순서 유지)
+            overflowCounter.increment();
+            enqueueBlocking(pending);
+        }
+        // 넣는 사이 종료됐고 flush 스레드도 끝났으면 아무도 큐를 비우지 않으므로 직접 저장한다.
+        // flush 스레드가 아직 살아 있으면 stop()이 join 뒤에 비운다
+        if (!running && (flusher == null || !flusher.isAlive())) {
+            flushRemaining();
+        }
+
+        if (durabilityMode == DurabilityMode.ACK_BEFORE_BROADCAST) {
+            return pending.future().thenApply(ignored -> message);
+        }
+        return CompletableFuture.completedFuture(message);
+    }
+
+    public DurabilityMode getDurabilityMode() {
+        return durabilityMode;
+    }
+
+    int pendingCount() {
+        return queue.size();
+    }
+
+    private synchronized void flushRemaining() {
+        List<PendingWrite> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        flush(remaining);
+    }
+
+    private void enqueueBlocking(PendingWrite pending) {
+        try {
+            queue.put(pending);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("메시지 저장 대기 중 인터럽트가 발생했습니다.", e);
+        }
+    }
+
+    private void runLoop() {
+        List<PendingWrite> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingWrite first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) continue;
+
+                batch.add(first);
+                long deadline = System.nanoTime() + flushIntervalNanos;
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0) break;
+
+                    PendingWrite next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) break;
+                    batch.add(next);
+                }
+
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+            } catch (Exception e) {
+                log.error("Unexpected error in message write-behind loop", e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<PendingWrite> batch) {
+        if (batch.isEmpty()) return;
+
+        List<Message> messages = batch.stream().map(PendingWrite::message).toList();
+        Timer.Sample sample = Timer.start();
+        try {
+            mongoTemplate.insert(messages, Message.class);
+            persistedCounter.increment(messages.size());
+            batch.forEach(p -> p.future().complete(null));
+        } catch (Exception e) {
+            failedCounter.increment(messages.size());
+            log.error("Failed to flush {} messages", messages.size(), e);
+            batch.forEach(p -> p.future().completeExceptionally(e));
+        } finally {
+            sample.stop(flushTimer);
+            batchSizeSummary.record(messages.size());
+        }
+    }
+
+    private record PendingWrite(Message message, CompletableFuture<Void> future) {
+    }
+
+    public enum DurabilityMode {
+        ACK_BEFORE_BROADCAST,
+        BROADCAST_THEN_PERSIST;
+
+        static DurabilityMode from(String value) {
+            return DurabilityMode.valueOf(value.trim().replace('-', '_').toUpperCase(Locale.ROOT));
+        }
+    }
+}
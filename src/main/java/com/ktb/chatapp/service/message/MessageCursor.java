@@ -0,0 +1,54 @@
+package com.ktb.chatapp.service.message;
+
+import com.ktb.chatapp.model.Message;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Base64;
+import java.util.Optional;
+import org.bson.types.ObjectId;
+
+/**
+ * 메시지 기록 keyset 페이지네이션 커서 (timestamp, _id).
+ * 클라이언트에는 Base64URL 문자열로만 노출되며, 같은 timestamp의 메시지는 _id로 순서를 정한다.
+ */
+public record MessageCursor(long timestampMillis, ObjectId id) {
+
+    private static final ObjectId MIN_ID = new ObjectId("000000000000000000000000");
+
+    public static MessageCursor of(Message message) {
+        return new MessageCursor(message.toTimestampMillis(), new ObjectId(message.getId()));
+    }
+
+    /**
+     * 기존 before(epoch millis) 파라미터 호환용: 해당 시각 이전의 모든 메시지.
+     */
+    public static MessageCursor before(long timestampMillis) {
+        return new MessageCursor(timestampMillis, MIN_ID);
+    }
+
+    public static Optional<MessageCursor> decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return Optional.empty();
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(':');
+            return Optional.of(new MessageCursor(
+                    Long.parseLong(raw.substring(0, separator)),
+                    new ObjectId(raw.substring(separator + 1))));
+        } catch (RuntimeException e) {
+            return Optional.empty();
+        }
+    }
+
+    public String encode() {
+        String raw = timestampMillis + ":" + id.toHexString();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public LocalDateTime timestamp() {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(timestampMillis), ZoneId.systemDefault());
+    }
+}
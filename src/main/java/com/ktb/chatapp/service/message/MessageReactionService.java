@@ -0,0 +1,146 @@
+package com.ktb.chatapp.service.message;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+/**
+ * 메시지 리액션 추가/제거.
+ *
+ * 메시지 전체(readers 포함)를 읽고 저장하지 않고, {@code reactions.<리액션>} 필드에 대한
+ * $addToSet/$pull 한 번으로 반영하고 reactions만 돌려받는다. 상태가 실제로 바뀔 때만 적용되도록
+ * 조건을 걸고 같은 연산에서 리액션 버전을 올리므로, 동시에 들어온 리액션이 서로를 덮어쓰지 않고
+ * 버전으로 변경 순서를 알 수 있다. 변경 결과는 {@link ReactionCountCache}에도 반영하고,
+ * 메시지가 {@link RecentMessageCache}에 있으면 그 원소의 리액션만 바꿔 첫 페이지가 예전 리액션을 보내지 않게 한다.
+ *
+ * 리액션 버전({@code reactionVersion})은 Message 엔티티에 매핑하지 않는 필드다.
+ */
+@Slf4j
+@Service
+public class MessageReactionService {
+
+    private static final String COLLECTION = "messages";
+    private static final String REACTIONS_FIELD = "reactions";
+    private static final String VERSION_FIELD = "reactionVersion";
+    private static final int MAX_REACTION_LENGTH = 64;
+
+    private final MongoTemplate mongoTemplate;
+    private final ReactionCountCache countCache;
+    private final RecentMessageCache recentMessageCache;
+    private final Timer addTimer;
+    private final Timer removeTimer;
+
+    public MessageReactionService(
+            MongoTemplate mongoTemplate,
+            ReactionCountCache countCache,
+            RecentMessageCache recentMessageCache,
+            MeterRegistry registry) {
+        this.mongoTemplate = mongoTemplate;
+        this.countCache = countCache;
+        this.recentMessageCache = recentMessageCache;
+        this.addTimer = registry.timer("message.reaction.update.time", "type", "add");
+        this.removeTimer = registry.timer("message.reaction.update.time", "type", "remove");
+    }
+
+    /**
+     * 리액션을 추가한다. 메시지가 없으면 empty.
+     *
+     * @throws IllegalArgumentException 필드 이름으로 쓸 수 없는 리액션
+     */
+    public Optional<ReactionUpdate> addReaction(String messageId, String reaction, String userId) {
+        String field = reactionField(reaction);
+        Query query = new Query(Criteria.where("_id").is(messageId).and(field).ne(userId));
+        Update update = new Update().addToSet(field, userId).inc(VERSION_FIELD, 1);
+        return addTimer.record(() -> apply(messageId, query, update));
+    }
+
+    /**
+     * 리액션을 제거한다. 메시지가 없으면 empty.
+     *
+     * @throws IllegalArgumentException 필드 이름으로 쓸 수 없는 리액션
+     */
+    public Optional<ReactionUpdate> removeReaction(String messageId, String reaction, String userId) {
+        String field = reactionField(reaction);
+        Query query = new Query(Criteria.where("_id").is(messageId).and(field).is(userId));
+        Update update = new Update().pull(field, userId).inc(VERSION_FIELD, 1);
+        return removeTimer.record(() -> {
+            Optional<ReactionUpdate> result = apply(messageId, query, update);
+            result.filter(r -> r.changed() && !r.reactions().containsKey(reaction))
+                    .ifPresent(r -> removeEmpty(messageId, field));
+            return result;
+        });
+    }
+
+    private Optional<ReactionUpdate> apply(String messageId, Query query, Update update) {
+        includeReactionFields(query);
+        Document updated = mongoTemplate.findAndModify(query, update,
+                FindAndModifyOptions.options().returnNew(true), Document.class, COLLECTION);
+        if (updated != null) {
+            ReactionUpdate result = toUpdate(messageId, updated, true);
+            countCache.put(result);
+            if (result.roomId() != null) {
+                recentMessageCache.updateReactions(result.roomId(), messageId, result.version(), result.reactions());
+            }
+            return Optional.of(result);
+        }
+
+        // 조건에 맞지 않음: 이미 반영된 요청이거나 메시지가 없다
+        Query lookup = new Query(Criteria.where("_id").is(messageId));
+        includeReactionFields(lookup);
+        return Optional.ofNullable(mongoTemplate.findOne(lookup, Document.class, COLLECTION))
+                .map(current -> toUpdate(messageId, current, false));
+    }
+
+    // 마지막 사용자가 빠진 리액션 키 정리 (그 사이 다시 추가됐으면 배열이 비어 있지 않아 건너뛴다)
+    private void removeEmpty(String messageId, String field) {
+        try {
+            mongoTemplate.updateFirst(
+                    new Query(Criteria.where("_id").is(messageId).and(field).size(0)),
+                    new Update().unset(field),
+                    COLLECTION);
+        } catch (Exception e) {
+            log.warn("Failed to unset empty reaction - messageId: {}, field: {}", messageId, field, e);
+        }
+    }
+
+    private static void includeReactionFields(Query query) {
+        query.fields().include(REACTIONS_FIELD).include("room").include(VERSION_FIELD);
+    }
+
+    private static ReactionUpdate toUpdate(String messageId, Document document, boolean changed) {
+        Map<String, Set<String>> reactions = new LinkedHashMap<>();
+        Document stored = document.get(REACTIONS_FIELD, Document.class);
+        if (stored != null) {
+            stored.forEach((reaction, users) -> {
+                if (users instanceof List<?> list && !list.isEmpty()) {
+                    Set<String> userIds = new LinkedHashSet<>();
+                    list.forEach(user -> userIds.add(user.toString()));
+                    reactions.put(reaction, userIds);
+                }
+            });
+        }
+        long version = document.get(VERSION_FIELD) instanceof Number number ? number.longValue() : 0L;
+        return new ReactionUpdate(messageId, document.getString("room"), reactions, version, changed);
+    }
+
+    private static String reactionField(String reaction) {
+        if (reaction == null || reaction.isBlank() || reaction.length() > MAX_REACTION_LENGTH
+                || reaction.startsWith("$") || reaction.indexOf('.') >= 0 || reaction.indexOf('\0') >= 0) {
+            throw new IllegalArgumentException("지원하지 않는 리액션입니다.");
+        }
+        return REACTIONS_FIELD + "." + reaction;
+    }
+}
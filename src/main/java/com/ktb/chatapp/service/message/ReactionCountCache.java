@@ -0,0 +1,113 @@
+package com.ktb.chatapp.service.message;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+/**
+ * 메시지별 리액션 수 캐시 (RedisB).
+ *
+ * Hash 하나에 리액션별 사용자 수와 리액션 버전({@code $v})을 둔다. 리액션이 바뀔 때마다 변경 결과로
+ * 통째로 덮어쓰되, 저장된 버전보다 새로운 상태만 반영하므로 늦게 도착한 쓰기가 최신 값을 되돌리지 않는다.
+ * 리액션이 오가는 동안만 TTL이 연장되므로 최근에 반응이 몰린 메시지만 남는다.
+ */
+@Slf4j
+@Component
+public class ReactionCountCache {
+
+    private static final String KEY_PREFIX = "cache:reactions:message:";
+    // 리액션 이름은 '$'로 시작할 수 없으므로 버전 필드와 겹치지 않는다
+    private static final String VERSION_FIELD = "$v";
+
+    // KEYS: Hash / ARGV: 버전, ttlMs, 리액션, 수, 리액션, 수, ...
+    private static final RedisScript<Long> PUT_SCRIPT = new DefaultRedisScript<>("""
+            local current = tonumber(redis.call('HGET', KEYS[1], '$v') or '-1')
+            if current >= tonumber(ARGV[1]) then
+                return 0
+            end
+            redis.call('DEL', KEYS[1])
+            redis.call('HSET', KEYS[1], '$v', ARGV[1])
+            for i = 3, #ARGV, 2 do
+                redis.call('HSET', KEYS[1], ARGV[i], ARGV[i + 1])
+            end
+            redis.call('PEXPIRE', KEYS[1], ARGV[2])
+            return 1
+            """, Long.class);
+
+    private final StringRedisTemplate redis;
+    private final Duration ttl;
+
+    public ReactionCountCache(
+            @Qualifier("cacheStringRedisTemplate") StringRedisTemplate redis,
+            @Value("${chatapp.reaction.count-cache.ttl-ms:600000}") long ttlMillis) {
+        this.redis = redis;
+        this.ttl = Duration.ofMillis(ttlMillis);
+    }
+
+    /**
+     * 변경 결과를 반영한다. 캐시에 더 새로운 버전이 있으면 무시된다.
+     */
+    public void put(ReactionUpdate update) {
+        List<String> args = new ArrayList<>();
+        args.add(String.valueOf(update.version()));
+        args.add(String.valueOf(ttl.toMillis()));
+        update.counts().forEach((reaction, count) -> {
+            args.add(reaction);
+            args.add(String.valueOf(count));
+        });
+
+        try {
+            redis.execute(PUT_SCRIPT, List.of(key(update.messageId())), args.toArray());
+        } catch (Exception e) {
+            log.warn("Failed to update reaction count cache - messageId: {}", update.messageId(), e);
+        }
+    }
+
+    /**
+     * 캐시에 있는 메시지의 리액션별 사용자 수 (파이프라인 한 번). 없는 메시지는 결과에서 빠진다.
+     */
+    public Map<String, Map<String, Integer>> counts(List<String> messageIds) {
+        Map<String, Map<String, Integer>> result = new HashMap<>();
+        if (messageIds.isEmpty()) return result;
+
+        try {
+            List<Object> hashes = redis.executePipelined((RedisCallback<Object>) connection -> {
+                for (String messageId : messageIds) {
+                    connection.hashCommands().hGetAll(key(messageId).getBytes(StandardCharsets.UTF_8));
+                }
+                return null;
+            });
+
+            for (int i = 0; i < messageIds.size(); i++) {
+                if (!(hashes.get(i) instanceof Map<?, ?> hash) || hash.isEmpty()) continue;
+
+                Map<String, Integer> counts = new LinkedHashMap<>();
+                hash.forEach((field, value) -> {
+                    if (!VERSION_FIELD.equals(field)) {
+                        counts.put(field.toString(), Integer.parseInt(value.toString()));
+                    }
+                });
+                result.put(messageIds.get(i), counts);
+            }
+        } catch (Exception e) {
+            log.warn("Failed to read reaction count cache - messages: {}", messageIds.size(), e);
+        }
+        return result;
+    }
+
+    private static String key(String messageId) {
+        return KEY_PREFIX + messageId;
+    }
+}
@@ -0,0 +1,29 @@
+package com.ktb.chatapp.service.message;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 리액션 변경 직후의 메시지 리액션 상태.
+ *
+ * @param version 리액션이 실제로 바뀔 때마다 1씩 오르는 메시지별 버전 (늦게 도착한 이전 상태를 걸러낼 때 사용)
+ * @param changed 이번 요청으로 상태가 바뀌었는지 (이미 반영된 요청이면 false)
+ */
+public record ReactionUpdate(
+        String messageId,
+        String roomId,
+        Map<String, Set<String>> reactions,
+        long version,
+        boolean changed
+) {
+
+    /**
+     * 리액션별 사용자 수
+     */
+    public Map<String, Integer> counts() {
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        reactions.forEach((reaction, users) -> counts.put(reaction, users.size()));
+        return counts;
+    }
+}
@@ -0,0 +1,244 @@
+package com.ktb.chatapp.service.message;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ktb.chatapp.model.Message;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+/**
+ * 방별 최신 메시지 캐시 (RedisB).
+ *
+ * Redis List 하나에 최신 메시지를 최신순으로 보관한다.
+ * 쓰기 경로는 LPUSH + LTRIM + EXPIRE를 Lua 한 번으로 처리하고,
+ * MessageLoader의 첫 페이지 조회는 같은 List를 LRANGE로 읽는다.
+ *
+ * List는 MongoDB 조회 결과로만 생성(seed)된다. 쓰기 경로는 List가 있을 때만 push하고
+ * 방별 버전 키를 올리므로, seed 도중에 들어온 메시지가 있으면 seed를 포기해
+ * 메시지가 누락된 List가 만들어지지 않는다.
+ * 이미 들어간 메시지의 리액션이 바뀌면 {@link #updateReactions}로 그 원소의 reactions 값만 LSET으로 바꾼다.
+ * 메시지별로 반영한 리액션 버전을 방별 Hash에 남겨, 늦게 도착한 변경이 새 상태를 되돌리지 않는다.
+ */
+@Slf4j
+@Component
+public class RecentMessageCache {
+
+    public static final int CAPACITY = 30;
+    private static final Duration TTL = Duration.ofSeconds(30);
+    private static final Duration VERSION_TTL = Duration.ofHours(1);
+    private static final String KEY_PREFIX = "cache:messages:room:";
+
+    private static final RedisScript<Long> PUSH_SCRIPT = new DefaultRedisScript<>("""
+            redis.call('INCR', KEYS[2])
+            redis.call('EXPIRE', KEYS[2], tonumber(ARGV[4]))
+            if redis.call('EXISTS', KEYS[1]) == 0 then
+                return 0
+            end
+            redis.call('LPUSH', KEYS[1], ARGV[1])
+            redis.call('LTRIM', KEYS[1], 0, tonumber(ARGV[2]) - 1)
+            redis.call('EXPIRE', KEYS[1], tonumber(ARGV[3]))
+            return 1
+            """, Long.class);
+
+    private static final RedisScript<Long> SEED_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('EXISTS', KEYS[1]) == 1 then
+                return 0
+            end
+            if (redis.call('GET', KEYS[2]) or '') ~= ARGV[1] then
+                return 0
+            end
+            redis.call('RPUSH', KEYS[1], unpack(ARGV, 3))
+            redis.call('EXPIRE', KEYS[1], tonumber(ARGV[2]))
+            return 1
+            """, Long.class);
+
+    // KEYS: List, 버전, 리액션 버전 Hash / ARGV: messageId, 리액션 버전, reactions JSON, 버전 TTL
+    // List가 없을 때도 버전을 올려, 바뀌기 전 상태를 읽은 seed가 List를 만들지 못하게 한다.
+    // 원소에서 최상위 "reactions" 값의 범위를 문자열 안의 괄호는 건너뛰며 찾는다 (34 = ", 92 = \, 123 = {, 125 = }).
+    // 범위를 찾지 못하면 List를 지워 다음 조회에서 다시 만든다
+    private static final RedisScript<Long> REACTIONS_SCRIPT = new DefaultRedisScript<>("""
+            local applied = tonumber(redis.call('HGET', KEYS[3], ARGV[1]) or '-1')
+            if applied >= tonumber(ARGV[2]) then
+                return 0
+            end
+            redis.call('HSET', KEYS[3], ARGV[1], ARGV[2])
+            redis.call('EXPIRE', KEYS[3], tonumber(ARGV[4]))
+            if redis.call('EXISTS', KEYS[1]) == 0 then
+                redis.call('INCR', KEYS[2])
+                redis.call('EXPIRE', KEYS[2], tonumber(ARGV[4]))
+                return 0
+            end
+            local needle = '"id":"' .. ARGV[1] .. '"'
+            for index, value in ipairs(redis.call('LRANGE', KEYS[1], 0, -1)) do
+                if string.find(value, needle, 1, true) then
+                    local _, keyEnd = string.find(value, '"reactions":', 1, true)
+                    local first = keyEnd and keyEnd + 1
+                    local last
+                    if first and string.sub(value, first, first + 3) == 'null' then
+                        last = first + 3
+                    elseif first and string.byte(value, first) == 123 then
+                        local depth, inString, escaped = 0, false, false
+                        for i = first, #value do
+                            local c = string.byte(value, i)
+                            if inString then
+                                if escaped then
+                                    escaped = false
+                                elseif c == 92 then
+                                    escaped = true
+                                elseif c == 34 then
+                                    inString = false
+                                end
+                            elseif c == 34 then
+                                inString = true
+                            elseif c == 123 then
+                                depth = depth + 1
+                            elseif c == 125 then
+                                depth = depth - 1
+                                if depth == 0 then
+                                    last = i
+                                    break
+                                end
+                            end
+                        end
+                    end
+                    if not last then
+                        redis.call('DEL', KEYS[1])
+                        redis.call('INCR', KEYS[2])
+                        redis.call('EXPIRE', KEYS[2], tonumber(ARGV[4]))
+                        return 0
+                    end
+                    redis.call('LSET', KEYS[1], index - 1,
+                            string.sub(value, 1, first - 1) .. ARGV[3] .. string.sub(value, last + 1))
+                    return 1
+                end
+            end
+            return 0
+            """, Long.class);
+
+    private final StringRedisTemplate redis;
+    private final ObjectMapper objectMapper;
+
+    public RecentMessageCache(
+            @Qualifier("cacheStringRedisTemplate") StringRedisTemplate redis,
+            ObjectMapper objectMapper
+    ) {
+        this.redis = redis;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * 새 메시지를 List 앞에 추가한다. List가 없으면 버전만 올린다.
+     */
+    public void push(String roomId, Message message) {
+        try {
+            redis.execute(PUSH_SCRIPT,
+                    List.of(listKey(roomId), versionKey(roomId)),
+                    objectMapper.writeValueAsString(message),
+                    String.valueOf(CAPACITY),
+                    String.valueOf(TTL.getSeconds()),
+                    String.valueOf(VERSION_TTL.getSeconds()));
+        } catch (Exception e) {
+            log.warn("Failed to push latest message cache. roomId={}", roomId, e);
+        }
+    }
+
+    /**
+     * 메시지의 리액션이 바뀌었을 때 호출한다. List에 그 메시지가 있으면 reactions만 바꾸고,
+     * 이미 같거나 새로운 리액션 버전을 반영했으면 무시한다.
+     */
+    public void updateReactions(String roomId, String messageId, long reactionVersion,
+                                Map<String, Set<String>> reactions) {
+        try {
+            redis.execute(REACTIONS_SCRIPT,
+                    List.of(listKey(roomId), versionKey(roomId), reactionVersionKey(roomId)),
+                    messageId,
+                    String.valueOf(reactionVersion),
+                    objectMapper.writeValueAsString(reactions),
+                    String.valueOf(VERSION_TTL.getSeconds()));
+        } catch (Exception e) {
+            log.warn("Failed to update reactions in latest message cache. roomId={}, messageId={}",
+                    roomId, messageId, e);
+        }
+    }
+
+    /**
+     * 최신순 메시지 목록을 읽는다. List가 없으면 empty.
+     */
+    public Optional<List<Message>> latest(String roomId) {
+        try {
+            List<String> values = redis.opsForList().range(listKey(roomId), 0, CAPACITY - 1);
+            if (values == null || values.isEmpty()) {
+                return Optional.empty();
+            }
+
+            List<Message> messages = new ArrayList<>(values.size());
+            for (String json : values) {
+                messages.add(objectMapper.readValue(json, Message.class));
+            }
+            return Optional.of(messages);
+        } catch (Exception e) {
+            log.warn("Latest message cache read failed, fallback to Mongo. roomId={}", roomId, e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * seed 전에 읽어 두는 방별 버전. {@link #seed}에 그대로 넘긴다.
+     */
+    public String version(String roomId) {
+        try {
+            String version = redis.opsForValue().get(versionKey(roomId));
+            return version != null ? version : "";
+        } catch (Exception e) {
+            log.warn("Latest message cache version read failed. roomId={}", roomId, e);
+            return null;
+        }
+    }
+
+    /**
+     * MongoDB에서 읽은 최신순 메시지로 List를 만든다.
+     * 조회 이후 새 메시지가 들어왔거나 List가 이미 있으면 아무것도 하지 않는다.
+     */
+    public void seed(String roomId, String version, List<Message> newestFirst) {
+        if (version == null || newestFirst.isEmpty()) return;
+
+        try {
+            List<String> args = new ArrayList<>(newestFirst.size() + 2);
+            args.add(version);
+            args.add(String.valueOf(TTL.getSeconds()));
+            for (Message message : newestFirst.subList(0, Math.min(CAPACITY, newestFirst.size()))) {
+                args.add(objectMapper.writeValueAsString(message));
+            }
+
+            redis.execute(SEED_SCRIPT,
+                    List.of(listKey(roomId), versionKey(roomId)),
+                    args.toArray());
+        } catch (JsonProcessingException e) {
+            log.warn("Failed to serialize messages for cache seed. roomId={}", roomId, e);
+        } catch (Exception e) {
+            log.warn("Latest message cache seed failed. roomId={}", roomId, e);
+        }
+    }
+
+    private String listKey(String roomId) {
+        return KEY_PREFIX + roomId + ":latest";
+    }
+
+    private String versionKey(String roomId) {
+        return KEY_PREFIX + roomId + ":latest:ver";
+    }
+
+    private String reactionVersionKey(String roomId) {
+        return KEY_PREFIX + roomId + ":latest:reactions";
+    }
+}
@@ -0,0 +1,60 @@
+package com.ktb.chatapp.service.ratelimit;
+
+import com.ktb.chatapp.model.RateLimit;
+import com.ktb.chatapp.service.RateLimitCheckResult;
+import java.time.Duration;
+import java.time.Instant;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * RateLimitStore 기반 고정 윈도우 카운터.
+ * 조회 후 저장(read-modify-write)이라 동시 요청 간 원자성은 보장되지 않는다.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "chatapp.ratelimit.store", havingValue = "mongo", matchIfMissing = true)
+public class MongoRateLimiter implements RateLimiter {
+
+    private final RateLimitStore rateLimitStore;
+
+    @Override
+    public RateLimitCheckResult tryAcquire(String clientId, int maxRequests, Duration window) {
+        long windowSeconds = Math.max(1L, window.getSeconds());
+        Instant now = Instant.now();
+        long nowEpochSeconds = now.getEpochSecond();
+        Instant expiresAt = now.plus(window);
+
+        RateLimit rateLimit = rateLimitStore.findByClientId(clientId).orElse(null);
+        int currentCount = rateLimit != null ? rateLimit.getCount() : 0;
+
+        if (rateLimit != null && currentCount >= maxRequests) {
+            long retryAfterSeconds = Math.max(1L,
+                    rateLimit.getExpiresAt().getEpochSecond() - nowEpochSeconds);
+            long resetEpochSeconds = rateLimit.getExpiresAt().getEpochSecond();
+            return RateLimitCheckResult.rejected(
+                    maxRequests, windowSeconds, resetEpochSeconds, retryAfterSeconds);
+        }
+
+        // Create or update rate limit
+        if (rateLimit == null) {
+            rateLimit = RateLimit.builder()
+                    .clientId(clientId)
+                    .count(1)
+                    .expiresAt(expiresAt)
+                    .build();
+        } else {
+            rateLimit.setCount(currentCount + 1);
+        }
+        rateLimitStore.save(rateLimit);
+
+        int newCount = currentCount + 1;
+        int remaining = Math.max(0, maxRequests - newCount);
+        long ttlSeconds = Math.max(1L, rateLimit.getExpiresAt().getEpochSecond() - nowEpochSeconds);
+        long resetEpochSeconds = rateLimit.getExpiresAt().getEpochSecond();
+
+        return RateLimitCheckResult.allowed(
+                maxRequests, remaining, windowSeconds, resetEpochSeconds, ttlSeconds);
+    }
+}
@@ -0,0 +1,22 @@
+package com.ktb.chatapp.service.ratelimit;
+
+import com.ktb.chatapp.service.RateLimitCheckResult;
+import java.time.Duration;
+
+/**
+ * Rate limit accounting strategy.
+ * Implementations decide whether one more request fits in the window and report
+ * remaining/reset values in {@link RateLimitCheckResult} form.
+ */
+public interface RateLimiter {
+
+    /**
+     * Consume one request for the client if allowed.
+     *
+     * @param clientId the (host-qualified) client identifier
+     * @param maxRequests requests allowed per window
+     * @param window the rate limit window
+     * @return check result, rejected when the limit is exhausted
+     */
+    RateLimitCheckResult tryAcquire(String clientId, int maxRequests, Duration window);
+}
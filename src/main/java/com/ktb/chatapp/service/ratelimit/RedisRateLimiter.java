@@ -0,0 +1,99 @@
+package com.ktb.chatapp.service.ratelimit;
+
+import com.ktb.chatapp.service.RateLimitCheckResult;
+import java.time.Duration;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+/**
+ * Redis 토큰 버킷 (RedisB).
+ *
+ * 버킷 용량은 maxRequests, window 동안 maxRequests개가 채워진다.
+ * 충전/차감/만료 설정을 Lua 스크립트 하나로 처리하므로 요청당 한 번의 왕복이며,
+ * 동시 요청에서도 원자적이다. 시간은 Redis TIME 기준이라 노드 간 시계 차이의 영향이 없다.
+ */
+@Component
+@ConditionalOnProperty(name = "chatapp.ratelimit.store", havingValue = "redis")
+public class RedisRateLimiter implements RateLimiter {
+
+    private static final String KEY_PREFIX = "ratelimit:";
+
+    // 반환: {허용 여부, 남은 토큰, 가득 찰 때까지 ms, 다음 토큰까지 ms, 현재 시각 ms}
+    private static final RedisScript<List> TOKEN_BUCKET_SCRIPT = new DefaultRedisScript<>("""
+            local capacity = tonumber(ARGV[1])
+            local window = tonumber(ARGV[2])
+            local time = redis.call('TIME')
+            local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+
+            local state = redis.call('HMGET', KEYS[1], 'tokens', 'ts')
+            local tokens = tonumber(state[1])
+            local ts = tonumber(state[2])
+            if tokens == nil or ts == nil then
+                tokens = capacity
+                ts = now
+            end
+
+            local elapsed = math.max(0, now - ts)
+            tokens = math.min(capacity, tokens + elapsed * capacity / window)
+
+            local allowed = 0
+            if tokens >= 1 then
+                tokens = tokens - 1
+                allowed = 1
+            end
+
+            redis.call('HSET', KEYS[1], 'tokens', tostring(tokens), 'ts', now)
+            redis.call('PEXPIRE', KEYS[1], window)
+
+            local perToken = window / capacity
+            local untilFull = math.ceil((capacity - tokens) * perToken)
+            local untilNext = 0
+            if tokens < 1 then
+                untilNext = math.ceil((1 - tokens) * perToken)
+            end
+            return {allowed, math.floor(tokens), untilFull, untilNext, now}
+            """, List.class);
+
+    private final StringRedisTemplate redis;
+
+    public RedisRateLimiter(@Qualifier("cacheStringRedisTemplate") StringRedisTemplate redis) {
+        this.redis = redis;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public RateLimitCheckResult tryAcquire(String clientId, int maxRequests, Duration window) {
+        long windowSeconds = Math.max(1L, window.getSeconds());
+        long windowMillis = Math.max(1L, window.toMillis());
+
+        List<Long> result = (List<Long>) redis.execute(TOKEN_BUCKET_SCRIPT,
+                List.of(KEY_PREFIX + clientId),
+                String.valueOf(maxRequests),
+                String.valueOf(windowMillis));
+
+        boolean allowed = result.get(0) == 1L;
+        int remaining = result.get(1).intValue();
+        long untilFullMillis = result.get(2);
+        long untilNextMillis = result.get(3);
+        long nowMillis = result.get(4);
+
+        if (!allowed) {
+            long retryAfterSeconds = Math.max(1L, ceilSeconds(untilNextMillis));
+            return RateLimitCheckResult.rejected(
+                    maxRequests, windowSeconds, nowMillis / 1000 + retryAfterSeconds, retryAfterSeconds);
+        }
+
+        long ttlSeconds = Math.max(1L, ceilSeconds(untilFullMillis));
+        return RateLimitCheckResult.allowed(
+                maxRequests, remaining, windowSeconds, nowMillis / 1000 + ttlSeconds, ttlSeconds);
+    }
+
+    private static long ceilSeconds(long millis) {
+        return (millis + 999) / 1000;
+    }
+}
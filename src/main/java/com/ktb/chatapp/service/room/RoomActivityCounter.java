@@ -0,0 +1,114 @@
+package com.ktb.chatapp.service.room;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+/**
+ * 방별 최근 메시지 수 카운터 (RedisB).
+ *
+ * 1분 단위 버킷마다 Sorted Set 하나(member=roomId, score=메시지 수)를 두고,
+ * 메시지 저장 시 현재 분 버킷에 ZINCRBY 한다. 버킷은 윈도우보다 조금 길게 유지된 뒤 만료된다.
+ * 최근 10분 메시지 수는 10개 버킷의 점수 합이다.
+ */
+@Slf4j
+@Component
+public class RoomActivityCounter {
+
+    public static final int WINDOW_MINUTES = 10;
+    private static final String KEY_PREFIX = "room:activity:";
+    private static final Duration BUCKET_TTL = Duration.ofMinutes(WINDOW_MINUTES + 1);
+
+    private static final RedisScript<Long> INCREMENT_SCRIPT = new DefaultRedisScript<>("""
+            redis.call('ZINCRBY', KEYS[1], 1, ARGV[1])
+            redis.call('EXPIRE', KEYS[1], tonumber(ARGV[2]))
+            return 1
+            """, Long.class);
+
+    // KEYS: 버킷 키들, ARGV: roomId들 → roomId 순서대로 버킷 점수 합
+    private static final RedisScript<List> SUM_SCRIPT = new DefaultRedisScript<>("""
+            local sums = {}
+            for i = 1, #ARGV do
+                local sum = 0
+                for j = 1, #KEYS do
+                    local score = redis.call('ZSCORE', KEYS[j], ARGV[i])
+                    if score then
+                        sum = sum + tonumber(score)
+                    end
+                end
+                sums[i] = sum
+            end
+            return sums
+            """, List.class);
+
+    private final StringRedisTemplate redis;
+
+    public RoomActivityCounter(@Qualifier("cacheStringRedisTemplate") StringRedisTemplate redis) {
+        this.redis = redis;
+    }
+
+    /**
+     * 메시지 1건을 현재 분 버킷에 기록한다. 실패해도 메시지 저장에는 영향을 주지 않는다.
+     */
+    public void increment(String roomId) {
+        try {
+            redis.execute(INCREMENT_SCRIPT,
+                    List.of(bucketKey(currentMinute())),
+                    roomId,
+                    String.valueOf(BUCKET_TTL.getSeconds()));
+        } catch (Exception e) {
+            log.warn("Failed to increment room activity. roomId={}", roomId, e);
+        }
+    }
+
+    /**
+     * 방별 최근 {@value #WINDOW_MINUTES}분 메시지 수. 한 번의 왕복으로 모든 방을 조회한다.
+     * Redis 조회에 실패하면 empty를 반환하므로 호출자가 다른 방법으로 계산한다.
+     */
+    @SuppressWarnings("unchecked")
+    public Optional<Map<String, Long>> recentCounts(Collection<String> roomIds) {
+        if (roomIds.isEmpty()) return Optional.of(Map.of());
+
+        try {
+            List<String> ids = new ArrayList<>(roomIds);
+            List<Long> sums = (List<Long>) redis.execute(SUM_SCRIPT, windowKeys(), ids.toArray());
+            if (sums == null) return Optional.empty();
+
+            Map<String, Long> counts = new HashMap<>(ids.size());
+            for (int i = 0; i < ids.size(); i++) {
+                counts.put(ids.get(i), sums.get(i));
+            }
+            return Optional.of(counts);
+        } catch (Exception e) {
+            log.warn("Failed to read room activity counters", e);
+            return Optional.empty();
+        }
+    }
+
+    private List<String> windowKeys() {
+        long minute = currentMinute();
+        List<String> keys = new ArrayList<>(WINDOW_MINUTES);
+        for (int i = 0; i < WINDOW_MINUTES; i++) {
+            keys.add(bucketKey(minute - i));
+        }
+        return keys;
+    }
+
+    private static long currentMinute() {
+        return System.currentTimeMillis() / 60_000;
+    }
+
+    private static String bucketKey(long minute) {
+        return KEY_PREFIX + minute;
+    }
+}
@@ -0,0 +1,351 @@
+package com.ktb.chatapp.service.room;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ktb.chatapp.dto.PageMetadata;
+import com.ktb.chatapp.dto.RoomResponse;
+import com.ktb.chatapp.dto.RoomsResponse;
+import com.ktb.chatapp.dto.UserResponse;
+import com.ktb.chatapp.event.RoomCreatedEvent;
+import com.ktb.chatapp.event.RoomUpdatedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+/**
+ * 방 목록(GET /api/rooms) 스냅샷 캐시. 로컬 L1 + Redis(RedisB) L2.
+ *
+ * 키는 (세대, page, pageSize, sort, order, search)이다. 방이 생성되면 Redis의 세대 번호를 올리고
+ * pub/sub으로 모든 노드에 알린다. 이전 세대의 엔트리는 더 이상 조회되지 않고 TTL로 사라진다.
+ * 키는 조회 전에 만들어 두므로, 조회 도중 생성이 일어나면 결과는 이전 세대에 저장되어 읽히지 않는다.
+ *
+ * 방이 바뀌면(입장) 그 방이 들어 있는 엔트리만 지운다. 저장할 때 방마다 엔트리 키를 Redis Set에
+ * 모아 두고, 변경 시 그 Set의 키들을 지운 뒤 pub/sub으로 각 노드의 로컬 엔트리도 지우게 한다.
+ * 변경으로 방이 다른 페이지로 옮겨 가는 경우(참가자 수 정렬)와 이벤트가 없는 변경(퇴장, 최근 메시지 수)은
+ * TTL 만큼 늦게 반영된다.
+ * isCreator는 요청 사용자마다 다르므로 스냅샷에는 저장하지 않고 읽을 때 계산한다.
+ */
+@Slf4j
+@Component
+public class RoomListCache {
+
+    private static final String KEY_PREFIX = "cache:rooms:list:";
+    private static final String GENERATION_KEY = "cache:rooms:gen";
+    private static final String ROOM_INDEX_PREFIX = "cache:rooms:list:room:";
+    static final String INVALIDATION_CHANNEL = "rooms:invalidate";
+    static final String ROOM_EVICTION_CHANNEL = "rooms:evict";
+
+    // KEYS: 방별 엔트리 키 Set... / ARGV: 엔트리 키, ttlMs
+    private static final RedisScript<Long> INDEX_SCRIPT = new DefaultRedisScript<>("""
+            for i = 1, #KEYS do
+                redis.call('SADD', KEYS[i], ARGV[1])
+                redis.call('PEXPIRE', KEYS[i], ARGV[2])
+            end
+            return #KEYS
+            """, Long.class);
+
+    // KEYS: 방별 엔트리 키 Set / 반환: 지운 엔트리 수
+    private static final RedisScript<Long> EVICT_SCRIPT = new DefaultRedisScript<>("""
+            local keys = redis.call('SMEMBERS', KEYS[1])
+            for _, key in ipairs(keys) do
+                redis.call('DEL', key)
+            end
+            redis.call('DEL', KEYS[1])
+            return #keys
+            """, Long.class);
+
+    private final StringRedisTemplate redis;
+    private final RedisConnectionFactory connectionFactory;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final Duration ttl;
+    private final long localTtlMillis;
+    private final LocalCache localCache;
+    private final AtomicLong generation = new AtomicLong();
+
+    private final Counter localHitCounter;
+    private final Counter redisHitCounter;
+    private final Counter missCounter;
+    private final Counter invalidationCounter;
+    private final Counter roomEvictionCounter;
+
+    private RedisMessageListenerContainer listenerContainer;
+
+    public RoomListCache(
+            @Qualifier("cacheStringRedisTemplate") StringRedisTemplate redis,
+            @Qualifier("cacheRedisConnectionFactory") RedisConnectionFactory connectionFactory,
+            ObjectMapper objectMapper,
+            MeterRegistry registry,
+            @Value("${chatapp.room-list-cache.enabled:true}") boolean enabled,
+            @Value("${chatapp.room-list-cache.ttl-ms:10000}") long ttlMillis,
+            @Value("${chatapp.room-list-cache.local-ttl-ms:1000}") long localTtlMillis,
+            @Value("${chatapp.room-list-cache.local-max-size:500}") int localMaxSize
+    ) {
+        this.redis = redis;
+        this.connectionFactory = connectionFactory;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.ttl = Duration.ofMillis(ttlMillis);
+        this.localTtlMillis = localTtlMillis;
+        this.localCache = new LocalCache(localMaxSize);
+
+        this.localHitCounter = registry.counter("room.list.cache.hit", "tier", "local");
+        this.redisHitCounter = registry.counter("room.list.cache.hit", "tier", "redis");
+        this.missCounter = registry.counter("room.list.cache.miss");
+        this.invalidationCounter = registry.counter("room.list.cache.invalidation");
+        this.roomEvictionCounter = registry.counter("room.list.cache.room.eviction");
+    }
+
+    @PostConstruct
+    public void init() {
+        if (!enabled) return;
+
+        try {
+            String current = redis.opsForValue().get(GENERATION_KEY);
+            if (current != null) {
+                advanceGeneration(Long.parseLong(current));
+            }
+        } catch (Exception e) {
+            log.warn("Failed to read room list cache generation", e);
+        }
+
+        listenerContainer = new RedisMessageListenerContainer();
+        listenerContainer.setConnectionFactory(connectionFactory);
+        listenerContainer.addMessageListener(
+                (message, pattern) -> advanceGeneration(
+                        Long.parseLong(new String(message.getBody(), StandardCharsets.UTF_8))),
+                new ChannelTopic(INVALIDATION_CHANNEL));
+        listenerContainer.addMessageListener(
+                (message, pattern) -> localCache.removeRoom(new String(message.getBody(), StandardCharsets.UTF_8)),
+                new ChannelTopic(ROOM_EVICTION_CHANNEL));
+        listenerContainer.afterPropertiesSet();
+        listenerContainer.start();
+    }
+
+    @PreDestroy
+    public void destroy() throws Exception {
+        if (listenerContainer != null) {
+            listenerContainer.destroy();
+        }
+    }
+
+    /**
+     * 현재 세대 기준 캐시 키. 조회 전에 만들어 get/put에 같은 키를 쓴다.
+     * 캐시가 꺼져 있으면 null.
+     */
+    public String key(int page, int pageSize, String sortField, String sortOrder, String search) {
+        if (!enabled) return null;
+
+        String normalizedSearch = search != null ? search.trim().toLowerCase(Locale.ROOT) : "";
+        return KEY_PREFIX + generation.get() + ":" + page + ":" + pageSize + ":"
+                + sortField + ":" + sortOrder + ":" + normalizedSearch;
+    }
+
+    public Optional<RoomsResponse> get(String key, String userEmail) {
+        if (key == null) return Optional.empty();
+
+        Snapshot snapshot = localCache.get(key, System.currentTimeMillis());
+        if (snapshot != null) {
+            localHitCounter.increment();
+            return Optional.of(snapshot.toResponse(userEmail));
+        }
+
+        try {
+            String json = redis.opsForValue().get(key);
+            if (json != null) {
+                snapshot = objectMapper.readValue(json, Snapshot.class);
+                localCache.put(key, snapshot, System.currentTimeMillis() + localTtlMillis);
+                redisHitCounter.increment();
+                return Optional.of(snapshot.toResponse(userEmail));
+            }
+        } catch (Exception e) {
+            log.warn("Room list cache read failed. key={}", key, e);
+        }
+
+        missCounter.increment();
+        return Optional.empty();
+    }
+
+    public void put(String key, RoomsResponse response) {
+        if (key == null || !response.isSuccess()) return;
+
+        Snapshot snapshot = Snapshot.from(response);
+        localCache.put(key, snapshot, System.currentTimeMillis() + localTtlMillis);
+        try {
+            redis.opsForValue().set(key, objectMapper.writeValueAsString(snapshot), ttl);
+            if (!snapshot.rooms().isEmpty()) {
+                List<String> indexKeys = snapshot.rooms().stream().map(room -> roomIndexKey(room.id())).toList();
+                redis.execute(INDEX_SCRIPT, indexKeys, key, String.valueOf(ttl.toMillis()));
+            }
+        } catch (Exception e) {
+            log.warn("Room list cache write failed. key={}", key, e);
+        }
+    }
+
+    @EventListener
+    public void onRoomCreated(RoomCreatedEvent event) {
+        invalidateAll();
+    }
+
+    @EventListener
+    public void onRoomUpdated(RoomUpdatedEvent event) {
+        evictRoom(event.getRoomId());
+    }
+
+    /**
+     * 모든 노드에서 방이 들어 있는 방 목록 엔트리만 지운다.
+     */
+    public void evictRoom(String roomId) {
+        if (!enabled || roomId == null) return;
+
+        roomEvictionCounter.increment();
+        localCache.removeRoom(roomId);
+        try {
+            redis.execute(EVICT_SCRIPT, List.of(roomIndexKey(roomId)));
+            redis.convertAndSend(ROOM_EVICTION_CHANNEL, roomId);
+        } catch (Exception e) {
+            log.warn("Failed to evict room list cache entries. roomId={}", roomId, e);
+        }
+    }
+
+    /**
+     * 모든 노드의 방 목록 캐시를 무효화한다.
+     */
+    public void invalidateAll() {
+        if (!enabled) return;
+
+        invalidationCounter.increment();
+        // Redis에 닿지 못해도 최소한 이 노드는 새 세대로 넘어간다
+        advanceGeneration(generation.get() + 1);
+        try {
+            Long next = redis.opsForValue().increment(GENERATION_KEY);
+            if (next != null) {
+                advanceGeneration(next);
+                redis.convertAndSend(INVALIDATION_CHANNEL, String.valueOf(next));
+            }
+        } catch (Exception e) {
+            log.warn("Failed to publish room list cache invalidation", e);
+        }
+    }
+
+    private static String roomIndexKey(String roomId) {
+        return ROOM_INDEX_PREFIX + roomId;
+    }
+
+    private void advanceGeneration(long next) {
+        long previous = generation.getAndAccumulate(next, Math::max);
+        if (next > previous) {
+            localCache.clear();
+        }
+    }
+
+    /**
+     * 사용자와 무관한 방 목록 스냅샷 (Redis에는 JSON으로 저장).
+     */
+    record Snapshot(List<CachedRoom> rooms, PageMetadata metadata) {
+
+        static Snapshot from(RoomsResponse response) {
+            return new Snapshot(
+                    response.getData().stream().map(CachedRoom::from).toList(),
+                    response.getMetadata());
+        }
+
+        RoomsResponse toResponse(String userEmail) {
+            return RoomsResponse.builder()
+                    .success(true)
+                    .data(rooms.stream().map(room -> room.toResponse(userEmail)).toList())
+                    .metadata(metadata)
+                    .build();
+        }
+    }
+
+    record CachedRoom(
+            String id,
+            String name,
+            boolean hasPassword,
+            UserResponse creator,
+            List<UserResponse> participants,
+            LocalDateTime createdAt,
+            Integer recentMessageCount) {
+
+        static CachedRoom from(RoomResponse room) {
+            return new CachedRoom(room.getId(), room.getName(), room.isHasPassword(),
+                    room.getCreator(), room.getParticipants(), room.getCreatedAtDateTime(),
+                    room.getRecentMessageCount());
+        }
+
+        RoomResponse toResponse(String userEmail) {
+            return RoomResponse.builder()
+                    .id(id)
+                    .name(name)
+                    .hasPassword(hasPassword)
+                    .creator(creator)
+                    .participants(participants)
+                    .createdAtDateTime(createdAt)
+                    .isCreator(creator != null && creator.getEmail() != null
+                            && creator.getEmail().equals(userEmail))
+                    .recentMessageCount(recentMessageCount)
+                    .build();
+        }
+    }
+
+    private static final class LocalCache {
+
+        private final Map<String, Entry> entries;
+
+        LocalCache(int maxSize) {
+            this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                    return size() > maxSize;
+                }
+            };
+        }
+
+        synchronized Snapshot get(String key, long now) {
+            Entry entry = entries.get(key);
+            if (entry == null) return null;
+            if (entry.expiresAt() <= now) {
+                entries.remove(key);
+                return null;
+            }
+            return entry.snapshot();
+        }
+
+        synchronized void put(String key, Snapshot snapshot, long expiresAt) {
+            entries.put(key, new Entry(snapshot, expiresAt));
+        }
+
+        synchronized void clear() {
+            entries.clear();
+        }
+
+        synchronized void removeRoom(String roomId) {
+            entries.values().removeIf(entry -> entry.snapshot().rooms().stream()
+                    .anyMatch(room -> roomId.equals(room.id())));
+        }
+
+        private record Entry(Snapshot snapshot, long expiresAt) {
+        }
+    }
+}
@@ -0,0 +1,218 @@
+package com.ktb.chatapp.service.room;
+
+import com.ktb.chatapp.model.Room;
+import com.ktb.chatapp.repository.RoomRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+/**
+ * 방 참가자(Room.participantIds) 확인. 로컬 L1 + Redis(RedisB) Set L2.
+ *
+ * 방마다 참가자 Set 하나를 Redis에 두고, 노드마다 짧은 TTL로 같은 Set의 스냅샷을 들고 있어
+ * 핸들러의 권한 확인은 대부분 메모리에서 끝난다. 방 생성/입장은 항상 Set에 추가하고, seed는
+ * MongoDB 참가자 목록을 합친 뒤 $seeded 표시를 남긴다. 표시가 없는 Set은 seed 전에 입장한
+ * 사용자만 담긴 일부 목록이므로 다시 seed하며, 그래서 seed와 입장이 겹쳐도 입장한 사용자가 빠지지 않는다.
+ *
+ * 참가자는 늘기만 하므로(퇴장은 소켓 룸에서만 빠진다) 스냅샷에 있으면 참가자다.
+ * 스냅샷과 Redis 모두에 없을 때만 MongoDB로 확인해, 다른 노드에서 막 입장한 사용자도 거절하지 않는다.
+ */
+@Slf4j
+@Service
+public class RoomMembershipService {
+
+    private static final String KEY_PREFIX = "room:members:";
+    // 사용자 ID는 '$'로 시작하지 않으므로 참가자와 겹치지 않는다
+    private static final String SEEDED_MARKER = "$seeded";
+
+    // KEYS: 참가자 Set / ARGV: ttlSec, userId
+    private static final RedisScript<Long> ADD_SCRIPT = new DefaultRedisScript<>("""
+            redis.call('SADD', KEYS[1], ARGV[2])
+            redis.call('EXPIRE', KEYS[1], tonumber(ARGV[1]))
+            return 1
+            """, Long.class);
+
+    // KEYS: 참가자 Set / ARGV: ttlSec, userId, userId, ...
+    // 이미 들어 있는 참가자는 그대로 두고 합친다
+    private static final RedisScript<Long> SEED_SCRIPT = new DefaultRedisScript<>("""
+            redis.call('SADD', KEYS[1], '$seeded', unpack(ARGV, 2))
+            redis.call('EXPIRE', KEYS[1], tonumber(ARGV[1]))
+            return 1
+            """, Long.class);
+
+    private final RoomRepository roomRepository;
+    private final StringRedisTemplate redis;
+    private final Duration ttl;
+    private final long localTtlMillis;
+    private final LocalCache localCache;
+
+    private final Counter localHitCounter;
+    private final Counter redisHitCounter;
+    private final Counter mongoCheckCounter;
+
+    public RoomMembershipService(
+            RoomRepository roomRepository,
+            @Qualifier("cacheStringRedisTemplate") StringRedisTemplate redis,
+            MeterRegistry registry,
+            @Value("${chatapp.room-membership.ttl-ms:86400000}") long ttlMillis,
+            @Value("${chatapp.room-membership.local-ttl-ms:5000}") long localTtlMillis,
+            @Value("${chatapp.room-membership.local-max-size:10000}") int localMaxSize
+    ) {
+        this.roomRepository = roomRepository;
+        this.redis = redis;
+        this.ttl = Duration.ofMillis(ttlMillis);
+        this.localTtlMillis = localTtlMillis;
+        this.localCache = new LocalCache(localMaxSize);
+
+        this.localHitCounter = registry.counter("room.membership.lookup", "source", "local");
+        this.redisHitCounter = registry.counter("room.membership.lookup", "source", "redis");
+        this.mongoCheckCounter = registry.counter("room.membership.lookup", "source", "mongo");
+    }
+
+    /**
+     * 사용자가 방 참가자인지 확인한다. 방이 없으면 false.
+     */
+    public boolean isMember(String roomId, String userId) {
+        if (roomId == null || userId == null) return false;
+
+        Set<String> cached = localCache.get(roomId, System.currentTimeMillis());
+        if (cached != null && cached.contains(userId)) {
+            localHitCounter.increment();
+            return true;
+        }
+
+        try {
+            Set<String> members = loadMembers(roomId);
+            localCache.put(roomId, members, System.currentTimeMillis() + localTtlMillis);
+            if (members.contains(userId)) {
+                redisHitCounter.increment();
+                return true;
+            }
+        } catch (Exception e) {
+            log.warn("Room membership cache unavailable, fallback to Mongo - roomId: {}", roomId, e);
+        }
+
+        mongoCheckCounter.increment();
+        if (!roomRepository.isParticipant(roomId, userId)) {
+            return false;
+        }
+        addMember(roomId, userId);
+        return true;
+    }
+
+    /**
+     * 방의 참가자 ID (로컬 스냅샷 우선). 방이 없으면 빈 Set.
+     */
+    public Set<String> members(String roomId) {
+        Set<String> cached = localCache.get(roomId, System.currentTimeMillis());
+        if (cached != null) {
+            localHitCounter.increment();
+            return cached;
+        }
+
+        try {
+            Set<String> members = loadMembers(roomId);
+            localCache.put(roomId, members, System.currentTimeMillis() + localTtlMillis);
+            redisHitCounter.increment();
+            return Set.copyOf(members);
+        } catch (Exception e) {
+            log.warn("Room membership cache unavailable, fallback to Mongo - roomId: {}", roomId, e);
+            mongoCheckCounter.increment();
+            return roomRepository.findParticipantIdsById(roomId)
+                    .map(Room::getParticipantIds)
+                    .map(Set::copyOf)
+                    .orElse(Set.of());
+        }
+    }
+
+    /**
+     * MongoDB에 참가자를 추가한 뒤 호출한다. Set이 아직 seed되지 않았어도 추가해 두고, 나머지는 다음 조회 때 MongoDB에서 합친다.
+     */
+    public void addMember(String roomId, String userId) {
+        localCache.add(roomId, userId);
+        try {
+            redis.execute(ADD_SCRIPT, List.of(key(roomId)), String.valueOf(ttl.toSeconds()), userId);
+        } catch (Exception e) {
+            log.warn("Failed to add room member to cache - roomId: {}, userId: {}", roomId, userId, e);
+        }
+    }
+
+    private Set<String> loadMembers(String roomId) {
+        Set<String> members = redis.opsForSet().members(key(roomId));
+        Set<String> loaded = members != null ? new HashSet<>(members) : new HashSet<>();
+        if (loaded.remove(SEEDED_MARKER)) {
+            return loaded;
+        }
+
+        // 없거나 seed 전 입장만 담긴 Set이다. 참가자 목록만 읽어 합친다
+        Room room = roomRepository.findParticipantIdsById(roomId).orElse(null);
+        if (room == null) {
+            return loaded;
+        }
+        Set<String> participants = room.getParticipantIds() != null ? room.getParticipantIds() : Set.of();
+        List<String> args = new ArrayList<>(participants.size() + 1);
+        args.add(String.valueOf(ttl.toSeconds()));
+        args.addAll(participants);
+        redis.execute(SEED_SCRIPT, List.of(key(roomId)), args.toArray());
+
+        loaded.addAll(participants);
+        return loaded;
+    }
+
+    private static String key(String roomId) {
+        return KEY_PREFIX + roomId;
+    }
+
+    private static final class LocalCache {
+
+        private final Map<String, Entry> entries;
+
+        LocalCache(int maxSize) {
+            this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                    return size() > maxSize;
+                }
+            };
+        }
+
+        synchronized Set<String> get(String roomId, long now) {
+            Entry entry = entries.get(roomId);
+            if (entry == null) return null;
+            if (entry.expiresAt() <= now) {
+                entries.remove(roomId);
+                return null;
+            }
+            return entry.members();
+        }
+
+        synchronized void put(String roomId, Set<String> members, long expiresAt) {
+            entries.put(roomId, new Entry(Set.copyOf(members), expiresAt));
+        }
+
+        // 스냅샷은 불변이므로 새 스냅샷으로 바꾼다 (만료 시각은 그대로)
+        synchronized void add(String roomId, String userId) {
+            Entry entry = entries.get(roomId);
+            if (entry == null || entry.members().contains(userId)) return;
+            Set<String> members = new HashSet<>(entry.members());
+            members.add(userId);
+            entries.put(roomId, new Entry(Set.copyOf(members), entry.expiresAt()));
+        }
+
+        private record Entry(Set<String> members, long expiresAt) {
+        }
+    }
+}
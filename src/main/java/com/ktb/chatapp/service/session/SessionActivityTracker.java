@@ -0,0 +1,205 @@
+package com.ktb.chatapp.service.session;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 세션 lastActivity 갱신을 메모리에서 모아 주기적으로 일괄 반영한다.
+ *
+ * 사용자별 마지막 활동 시각과 저장소에 반영된 시각을 long으로만 들고 있고,
+ * 저장된 값이 slack보다 오래된 경우에만 dirty로 표시한다.
+ * dirty 사용자는 flush 주기마다 SessionStore.updateLastActivity로 한 번에 반영된다.
+ *
+ * 저장소의 lastActivity는 실제보다 최대 {@link #maxLagMillis()}만큼 늦을 수 있으므로
+ * 만료 판정과 expiresAt 계산 시 그만큼 여유를 둔다.
+ */
+@Slf4j
+@Component
+public class SessionActivityTracker {
+
+    private final SessionStore sessionStore;
+    private final long slackMillis;
+    private final long flushIntervalMillis;
+    private final long idleEvictMillis;
+
+    private final Map<String, Activity> activities = new ConcurrentHashMap<>();
+    private final Set<String> dirty = ConcurrentHashMap.newKeySet();
+
+    private final Counter coalescedCounter;
+    private final Counter flushedCounter;
+    private final Counter failedCounter;
+    private final Timer flushTimer;
+
+    private ScheduledExecutorService scheduler;
+
+    public SessionActivityTracker(
+            SessionStore sessionStore,
+            MeterRegistry registry,
+            @Value("${chatapp.session.activity.slack-ms:30000}") long slackMillis,
+            @Value("${chatapp.session.activity.flush-interval-ms:5000}") long flushIntervalMillis,
+            @Value("${chatapp.session.activity.idle-evict-ms:1800000}") long idleEvictMillis
+    ) {
+        this.sessionStore = sessionStore;
+        this.slackMillis = slackMillis;
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.idleEvictMillis = idleEvictMillis;
+
+        this.coalescedCounter = registry.counter("session.activity.coalesced");
+        this.flushedCounter = registry.counter("session.activity.flushed");
+        this.failedCounter = registry.counter("session.activity.failed");
+        this.flushTimer = registry.timer("session.activity.flush.time");
+        registry.gauge("session.activity.dirty", dirty, Set::size);
+    }
+
+    @PostConstruct
+    public void start() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "session-activity-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::flushSafely,
+                flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+        flushSafely();
+    }
+
+    /**
+     * 저장된 lastActivity를 알고 있는 경우의 활동 기록 (validateSession).
+     */
+    public void touch(String userId, long storedLastActivity, long now) {
+        Activity activity = activities.computeIfAbsent(userId, id -> new Activity(storedLastActivity));
+        record(userId, activity, storedLastActivity, now);
+    }
+
+    /**
+     * 저장된 값을 모르는 경우의 활동 기록 (updateLastActivity).
+     * 처음 보는 사용자는 바로 dirty가 된다.
+     */
+    public void touch(String userId, long now) {
+        Activity activity = activities.computeIfAbsent(userId, id -> new Activity(0L));
+        record(userId, activity, 0L, now);
+    }
+
+    /**
+     * 이 노드에서 관측한 마지막 활동 시각. 기록이 없으면 0.
+     */
+    public long lastSeen(String userId) {
+        Activity activity = activities.get(userId);
+        return activity != null ? activity.lastSeen : 0L;
+    }
+
+    /**
+     * 세션 삭제 시 호출. 이후 flush가 삭제된 세션을 갱신하지 않도록 기록을 지운다.
+     */
+    public void forget(String userId) {
+        dirty.remove(userId);
+        activities.remove(userId);
+    }
+
+    /**
+     * 저장소 lastActivity가 실제 활동보다 늦을 수 있는 최대 시간.
+     */
+    public long maxLagMillis() {
+        return slackMillis + flushIntervalMillis;
+    }
+
+    public int flush() {
+        if (dirty.isEmpty()) {
+            evictIdle();
+            return 0;
+        }
+
+        Map<String, Long> batch = new HashMap<>();
+        for (String userId : dirty) {
+            dirty.remove(userId);
+            Activity activity = activities.get(userId);
+            if (activity != null) {
+                batch.put(userId, activity.lastSeen);
+            }
+        }
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        try {
+            flushTimer.record(() -> sessionStore.updateLastActivity(batch, maxLagMillis()));
+            batch.forEach((userId, lastActivity) -> {
+                Activity activity = activities.get(userId);
+                if (activity != null) {
+                    activity.markPersisted(lastActivity);
+                }
+            });
+            flushedCounter.increment(batch.size());
+        } catch (Exception e) {
+            // 다음 주기에 다시 시도
+            dirty.addAll(batch.keySet());
+            failedCounter.increment(batch.size());
+            log.error("Failed to flush {} session activities", batch.size(), e);
+        }
+
+        evictIdle();
+        return batch.size();
+    }
+
+    private void record(String userId, Activity activity, long storedLastActivity, long now) {
+        activity.markPersisted(storedLastActivity);
+        activity.markSeen(now);
+        if (now - activity.persisted >= slackMillis) {
+            dirty.add(userId);
+        } else {
+            coalescedCounter.increment();
+        }
+    }
+
+    private void flushSafely() {
+        try {
+            flush();
+        } catch (Exception e) {
+            log.error("Session activity flush error", e);
+        }
+    }
+
+    private void evictIdle() {
+        long threshold = System.currentTimeMillis() - idleEvictMillis;
+        activities.entrySet().removeIf(entry ->
+                entry.getValue().lastSeen < threshold && !dirty.contains(entry.getKey()));
+    }
+
+    private static final class Activity {
+        private volatile long lastSeen;
+        private volatile long persisted;
+
+        Activity(long persisted) {
+            this.persisted = persisted;
+            this.lastSeen = persisted;
+        }
+
+        synchronized void markSeen(long now) {
+            if (now > lastSeen) lastSeen = now;
+        }
+
+        synchronized void markPersisted(long value) {
+            if (value > persisted) persisted = value;
+        }
+    }
+}
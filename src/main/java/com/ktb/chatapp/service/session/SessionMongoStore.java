@@ -2,8 +2,17 @@ package com.ktb.chatapp.service.session;
 
 import com.ktb.chatapp.model.Session;
 import com.ktb.chatapp.repository.SessionRepository;
+import com.ktb.chatapp.service.SessionService;
+import java.time.Instant;
+import java.util.Map;
 import java.util.Optional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Component;
 
 /**
@@ -12,9 +21,11 @@ import org.springframework.stereotype.Component;
  */
 @Component
 @RequiredArgsConstructor
+@ConditionalOnProperty(name = "chatapp.session.store", havingValue = "mongo", matchIfMissing = true)
 public class SessionMongoStore implements SessionStore {
     
     private final SessionRepository sessionRepository;
+    private final MongoTemplate mongoTemplate;
     
     @Override
     public Optional<Session> findByUserId(String userId) {
@@ -38,4 +49,19 @@ public class SessionMongoStore implements SessionStore {
     public void deleteAll(String userId) {
         sessionRepository.deleteByUserId(userId);
     }
+
+    @Override
+    public void updateLastActivity(Map<String, Long> lastActivityByUserId, long extraTtlMillis) {
+        if (lastActivityByUserId.isEmpty()) return;
+
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Session.class);
+        lastActivityByUserId.forEach((userId, lastActivity) -> bulk.updateOne(
+                Query.query(Criteria.where("userId").is(userId).and("lastActivity").lt(lastActivity)),
+                new Update()
+                        .set("lastActivity", lastActivity)
+                        .set("expiresAt", Instant.ofEpochMilli(lastActivity)
+                                .plusSeconds(SessionService.SESSION_TTL_SEC)
+                                .plusMillis(extraTtlMillis))));
+        bulk.execute();
+    }
 }
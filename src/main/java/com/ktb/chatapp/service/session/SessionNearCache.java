@@ -0,0 +1,81 @@
+package com.ktb.chatapp.service.session;
+
+import com.ktb.chatapp.model.Session;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.LongSupplier;
+
+/**
+ * 노드 로컬 세션 near-cache.
+ * 크기 상한(LRU)과 엔트리 TTL을 가지며, 다른 노드의 변경은 pub/sub 무효화로 반영된다.
+ * TTL은 다른 노드에서 갱신된 lastActivity가 늦게 보이는 시간의 상한이다.
+ */
+class SessionNearCache {
+
+    private final int maxSize;
+    private final long ttlMillis;
+    private final LongSupplier clock;
+    private final LinkedHashMap<String, Entry> entries;
+
+    SessionNearCache(int maxSize, long ttlMillis) {
+        this(maxSize, ttlMillis, System::currentTimeMillis);
+    }
+
+    SessionNearCache(int maxSize, long ttlMillis, LongSupplier clock) {
+        this.maxSize = maxSize;
+        this.ttlMillis = ttlMillis;
+        this.clock = clock;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > SessionNearCache.this.maxSize;
+            }
+        };
+    }
+
+    synchronized Optional<Session> get(String userId) {
+        Entry entry = entries.get(userId);
+        if (entry == null) {
+            return Optional.empty();
+        }
+
+        long now = clock.getAsLong();
+        Instant expiresAt = entry.session().getExpiresAt();
+        if (entry.cachedAt() + ttlMillis < now
+                || (expiresAt != null && expiresAt.toEpochMilli() <= now)) {
+            entries.remove(userId);
+            return Optional.empty();
+        }
+        return Optional.of(copyOf(entry.session()));
+    }
+
+    synchronized void put(Session session) {
+        entries.put(session.getUserId(), new Entry(copyOf(session), clock.getAsLong()));
+    }
+
+    synchronized void invalidate(String userId) {
+        entries.remove(userId);
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    // SessionService가 반환된 Session을 수정하므로 캐시에는 복사본을 둔다
+    private static Session copyOf(Session session) {
+        return Session.builder()
+                .id(session.getId())
+                .userId(session.getUserId())
+                .sessionId(session.getSessionId())
+                .createdAt(session.getCreatedAt())
+                .lastActivity(session.getLastActivity())
+                .metadata(session.getMetadata())
+                .expiresAt(session.getExpiresAt())
+                .build();
+    }
+
+    private record Entry(Session session, long cachedAt) {
+    }
+}
@@ -0,0 +1,259 @@
+package com.ktb.chatapp.service.session;
+
+import com.ktb.chatapp.model.Session;
+import com.ktb.chatapp.service.SessionMetadata;
+import com.ktb.chatapp.service.SessionService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+/**
+ * Redis implementation of SessionStore.
+ * 사용자별 세션을 Hash 하나로 저장하고 expiresAt에 맞춰 PEXPIREAT로 만료시킨다.
+ *
+ * near-cache가 켜져 있으면 노드 로컬에 세션을 짧게 보관하고,
+ * 세션 삭제(로그아웃, 중복 로그인) 시 pub/sub으로 다른 노드의 near-cache를 무효화한다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "chatapp.session.store", havingValue = "redis")
+public class SessionRedisStore implements SessionStore {
+
+    private static final String KEY_PREFIX = "session:user:";
+    static final String INVALIDATION_CHANNEL = "session:invalidate";
+
+    private static final RedisScript<Long> SAVE_SCRIPT = new DefaultRedisScript<>("""
+            redis.call('DEL', KEYS[1])
+            for i = 2, #ARGV, 2 do
+                redis.call('HSET', KEYS[1], ARGV[i], ARGV[i + 1])
+            end
+            redis.call('PEXPIREAT', KEYS[1], tonumber(ARGV[1]))
+            return 1
+            """, Long.class);
+
+    private static final RedisScript<Long> DELETE_IF_MATCH_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('HGET', KEYS[1], 'sessionId') == ARGV[1] then
+                return redis.call('DEL', KEYS[1])
+            end
+            return 0
+            """, Long.class);
+
+    // 세션이 있고 저장된 값보다 최신일 때만 갱신 (삭제된 세션을 되살리지 않는다)
+    private static final RedisScript<Long> TOUCH_SCRIPT = new DefaultRedisScript<>("""
+            local current = redis.call('HGET', KEYS[1], 'lastActivity')
+            if not current or tonumber(current) >= tonumber(ARGV[1]) then
+                return 0
+            end
+            redis.call('HSET', KEYS[1], 'lastActivity', ARGV[1], 'expiresAt', ARGV[2])
+            redis.call('PEXPIREAT', KEYS[1], tonumber(ARGV[2]))
+            return 1
+            """, Long.class);
+
+    private final StringRedisTemplate redis;
+    private final RedisConnectionFactory connectionFactory;
+    private final SessionNearCache nearCache;
+    private final Counter nearCacheHitCounter;
+    private final Counter nearCacheMissCounter;
+    private RedisMessageListenerContainer listenerContainer;
+
+    public SessionRedisStore(
+            @Qualifier("cacheStringRedisTemplate") StringRedisTemplate redis,
+            @Qualifier("cacheRedisConnectionFactory") RedisConnectionFactory connectionFactory,
+            MeterRegistry registry,
+            @Value("${chatapp.session.near-cache.enabled:true}") boolean nearCacheEnabled,
+            @Value("${chatapp.session.near-cache.max-size:10000}") int nearCacheMaxSize,
+            @Value("${chatapp.session.near-cache.ttl-ms:5000}") long nearCacheTtlMs
+    ) {
+        this.redis = redis;
+        this.connectionFactory = connectionFactory;
+        this.nearCache = nearCacheEnabled && nearCacheMaxSize > 0
+                ? new SessionNearCache(nearCacheMaxSize, nearCacheTtlMs)
+                : null;
+        this.nearCacheHitCounter = registry.counter("session.nearcache.hit");
+        this.nearCacheMissCounter = registry.counter("session.nearcache.miss");
+    }
+
+    @PostConstruct
+    public void subscribeInvalidations() {
+        if (nearCache == null) return;
+
+        listenerContainer = new RedisMessageListenerContainer();
+        listenerContainer.setConnectionFactory(connectionFactory);
+        listenerContainer.addMessageListener(
+                (message, pattern) -> nearCache.invalidate(
+                        new String(message.getBody(), StandardCharsets.UTF_8)),
+                new ChannelTopic(INVALIDATION_CHANNEL));
+        listenerContainer.afterPropertiesSet();
+        listenerContainer.start();
+    }
+
+    @PreDestroy
+    public void unsubscribeInvalidations() throws Exception {
+        if (listenerContainer != null) {
+            listenerContainer.destroy();
+        }
+    }
+
+    @Override
+    public Optional<Session> findByUserId(String userId) {
+        if (nearCache != null) {
+            Optional<Session> cached = nearCache.get(userId);
+            if (cached.isPresent()) {
+                nearCacheHitCounter.increment();
+                return cached;
+            }
+            nearCacheMissCounter.increment();
+        }
+
+        Map<Object, Object> hash = redis.opsForHash().entries(key(userId));
+        if (hash.isEmpty()) {
+            return Optional.empty();
+        }
+
+        Session session = fromHash(hash);
+        if (nearCache != null) {
+            nearCache.put(session);
+        }
+        return Optional.of(session);
+    }
+
+    @Override
+    public Session save(Session session) {
+        Instant expiresAt = session.getExpiresAt() != null
+                ? session.getExpiresAt()
+                : Instant.ofEpochMilli(session.getLastActivity()).plusSeconds(SessionService.SESSION_TTL_SEC);
+        session.setExpiresAt(expiresAt);
+
+        Map<String, String> fields = toHash(session);
+        Object[] args = new Object[1 + fields.size() * 2];
+        args[0] = String.valueOf(expiresAt.toEpochMilli());
+        int i = 1;
+        for (Map.Entry<String, String> field : fields.entrySet()) {
+            args[i++] = field.getKey();
+            args[i++] = field.getValue();
+        }
+        redis.execute(SAVE_SCRIPT, List.of(key(session.getUserId())), args);
+
+        if (nearCache != null) {
+            nearCache.put(session);
+        }
+        return session;
+    }
+
+    @Override
+    public void delete(String userId, String sessionId) {
+        Long deleted = redis.execute(DELETE_IF_MATCH_SCRIPT, List.of(key(userId)), sessionId);
+        if (deleted != null && deleted > 0) {
+            invalidate(userId);
+        }
+    }
+
+    @Override
+    public void deleteAll(String userId) {
+        // 다른 노드에 남아 있을 수 있는 이전 세션도 지워야 하므로 삭제 여부와 무관하게 무효화한다
+        redis.delete(key(userId));
+        invalidate(userId);
+    }
+
+    @Override
+    public void updateLastActivity(Map<String, Long> lastActivityByUserId, long extraTtlMillis) {
+        if (lastActivityByUserId.isEmpty()) return;
+
+        long ttlMillis = SessionService.SESSION_TTL_SEC * 1000 + extraTtlMillis;
+        redis.executePipelined((RedisCallback<Object>) connection -> {
+            byte[] script = TOUCH_SCRIPT.getScriptAsString().getBytes(StandardCharsets.UTF_8);
+            lastActivityByUserId.forEach((userId, lastActivity) -> connection.scriptingCommands().eval(
+                    script,
+                    ReturnType.INTEGER,
+                    1,
+                    key(userId).getBytes(StandardCharsets.UTF_8),
+                    String.valueOf(lastActivity).getBytes(StandardCharsets.UTF_8),
+                    String.valueOf(lastActivity + ttlMillis).getBytes(StandardCharsets.UTF_8)));
+            return null;
+        });
+
+        if (nearCache != null) {
+            lastActivityByUserId.keySet().forEach(nearCache::invalidate);
+        }
+    }
+
+    private void invalidate(String userId) {
+        if (nearCache == null) return;
+
+        nearCache.invalidate(userId);
+        try {
+            redis.convertAndSend(INVALIDATION_CHANNEL, userId);
+        } catch (Exception e) {
+            log.warn("Failed to publish session invalidation for userId: {}", userId, e);
+        }
+    }
+
+    private static Map<String, String> toHash(Session session) {
+        Map<String, String> hash = new HashMap<>();
+        putIfNotNull(hash, "id", session.getId());
+        putIfNotNull(hash, "userId", session.getUserId());
+        putIfNotNull(hash, "sessionId", session.getSessionId());
+        hash.put("createdAt", String.valueOf(session.getCreatedAt()));
+        hash.put("lastActivity", String.valueOf(session.getLastActivity()));
+        hash.put("expiresAt", String.valueOf(session.getExpiresAt().toEpochMilli()));
+
+        SessionMetadata metadata = session.getMetadata();
+        if (metadata != null) {
+            putIfNotNull(hash, "metadata.userAgent", metadata.userAgent());
+            putIfNotNull(hash, "metadata.ipAddress", metadata.ipAddress());
+            putIfNotNull(hash, "metadata.deviceInfo", metadata.deviceInfo());
+            hash.put("metadata", "1");
+        }
+        return hash;
+    }
+
+    private static Session fromHash(Map<Object, Object> hash) {
+        SessionMetadata metadata = null;
+        if (hash.containsKey("metadata")) {
+            metadata = new SessionMetadata(
+                    (String) hash.get("metadata.userAgent"),
+                    (String) hash.get("metadata.ipAddress"),
+                    (String) hash.get("metadata.deviceInfo"));
+        }
+
+        return Session.builder()
+                .id((String) hash.get("id"))
+                .userId((String) hash.get("userId"))
+                .sessionId((String) hash.get("sessionId"))
+                .createdAt(Long.parseLong((String) hash.get("createdAt")))
+                .lastActivity(Long.parseLong((String) hash.get("lastActivity")))
+                .expiresAt(Instant.ofEpochMilli(Long.parseLong((String) hash.get("expiresAt"))))
+                .metadata(metadata)
+                .build();
+    }
+
+    private static void putIfNotNull(Map<String, String> hash, String field, String value) {
+        if (value != null) {
+            hash.put(field, value);
+        }
+    }
+
+    private static String key(String userId) {
+        return KEY_PREFIX + userId;
+    }
+}
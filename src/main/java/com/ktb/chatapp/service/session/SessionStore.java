@@ -1,6 +1,7 @@
 package com.ktb.chatapp.service.session;
 
 import com.ktb.chatapp.model.Session;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -33,4 +34,13 @@ public interface SessionStore {
     void deleteAll(String userId);
     
     void delete(String userId, String sessionId);
+
+    /**
+     * Bulk update lastActivity for existing sessions.
+     * Stored values never move backwards; expiresAt becomes lastActivity + session TTL + extraTtlMillis.
+     *
+     * @param lastActivityByUserId last activity (epoch millis) per user
+     * @param extraTtlMillis extra expiry margin covering the activity flush lag
+     */
+    void updateLastActivity(Map<String, Long> lastActivityByUserId, long extraTtlMillis);
 }
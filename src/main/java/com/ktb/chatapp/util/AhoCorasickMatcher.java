@@ -0,0 +1,123 @@
+package com.ktb.chatapp.util;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 다중 패턴 포함 여부를 한 번의 선형 탐색으로 판별하는 Aho–Corasick 오토마톤.
+ *
+ * 노드별 HashMap 대신 CSR 형태의 배열에 전이를 저장한다.
+ * 상태 s의 자식 전이는 edgeChars/edgeTargets[edgeStart[s] .. edgeStart[s + 1]) 구간에
+ * 문자 오름차순으로 들어 있으며 이진 탐색으로 찾는다.
+ * 생성 이후에는 불변이므로 여러 스레드에서 동시에 사용해도 안전하다.
+ */
+public final class AhoCorasickMatcher {
+
+    private static final int ROOT = 0;
+
+    private final int[] edgeStart;
+    private final char[] edgeChars;
+    private final int[] edgeTargets;
+    private final int[] fail;
+    private final boolean[] match;
+
+    public AhoCorasickMatcher(Collection<String> patterns) {
+        // 1. 임시 trie 구성 (빌드 시에만 사용)
+        Map<Long, Integer> buildEdges = new HashMap<>();
+        BitSet terminals = new BitSet();
+        int stateCount = 1;
+        for (String pattern : patterns) {
+            if (pattern == null || pattern.isEmpty()) continue;
+            int state = ROOT;
+            for (int i = 0; i < pattern.length(); i++) {
+                long key = edgeKey(state, pattern.charAt(i));
+                Integer next = buildEdges.get(key);
+                if (next == null) {
+                    next = stateCount++;
+                    buildEdges.put(key, next);
+                }
+                state = next;
+            }
+            terminals.set(state);
+        }
+
+        // 2. 전이를 (상태, 문자) 순으로 정렬해 CSR 배열로 압축
+        long[] keys = buildEdges.keySet().stream()
+                .mapToLong(Long::longValue)
+                .sorted()
+                .toArray();
+
+        this.edgeStart = new int[stateCount + 1];
+        this.edgeChars = new char[keys.length];
+        this.edgeTargets = new int[keys.length];
+        this.fail = new int[stateCount];
+        this.match = new boolean[stateCount];
+
+        for (int i = 0; i < keys.length; i++) {
+            int from = (int) (keys[i] >>> 16);
+            edgeChars[i] = (char) (keys[i] & 0xFFFF);
+            edgeTargets[i] = buildEdges.get(keys[i]);
+            edgeStart[from + 1]++;
+        }
+        for (int s = 0; s < stateCount; s++) {
+            edgeStart[s + 1] += edgeStart[s];
+            match[s] = terminals.get(s);
+        }
+
+        // 3. BFS로 failure 링크 계산, 매치 여부는 failure 체인을 따라 전파
+        int[] queue = new int[stateCount];
+        int head = 0;
+        int tail = 0;
+        for (int e = edgeStart[ROOT]; e < edgeStart[ROOT + 1]; e++) {
+            fail[edgeTargets[e]] = ROOT;
+            queue[tail++] = edgeTargets[e];
+        }
+        while (head < tail) {
+            int state = queue[head++];
+            for (int e = edgeStart[state]; e < edgeStart[state + 1]; e++) {
+                int child = edgeTargets[e];
+                char c = edgeChars[e];
+
+                int f = fail[state];
+                int next;
+                while ((next = transition(f, c)) < 0 && f != ROOT) {
+                    f = fail[f];
+                }
+                fail[child] = next >= 0 ? next : ROOT;
+                match[child] |= match[fail[child]];
+                queue[tail++] = child;
+            }
+        }
+    }
+
+    /**
+     * 텍스트에 패턴이 하나라도 포함되어 있으면 true.
+     */
+    public boolean containsAny(CharSequence text) {
+        int state = ROOT;
+        for (int i = 0, len = text.length(); i < len; i++) {
+            char c = text.charAt(i);
+            int next;
+            while ((next = transition(state, c)) < 0 && state != ROOT) {
+                state = fail[state];
+            }
+            state = next >= 0 ? next : ROOT;
+            if (match[state]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int transition(int state, char c) {
+        int idx = Arrays.binarySearch(edgeChars, edgeStart[state], edgeStart[state + 1], c);
+        return idx >= 0 ? edgeTargets[idx] : -1;
+    }
+
+    private static long edgeKey(int state, char c) {
+        return ((long) state << 16) | c;
+    }
+}
@@ -7,15 +7,16 @@ import org.springframework.util.Assert;
 
 public class BannedWordChecker {
     
-    private final Set<String> bannedWords;
+    private final AhoCorasickMatcher matcher;
     
     public BannedWordChecker(Set<String> bannedWords) {
-        this.bannedWords =
+        Set<String> normalizedWords =
                 bannedWords.stream()
                         .filter(word -> word != null && !word.isBlank())
                         .map(word -> word.toLowerCase(Locale.ROOT))
                         .collect(Collectors.toUnmodifiableSet());
-        Assert.notEmpty(this.bannedWords, "Banned words set must not be empty");
+        Assert.notEmpty(normalizedWords, "Banned words set must not be empty");
+        this.matcher = new AhoCorasickMatcher(normalizedWords);
     }
     
     public boolean containsBannedWord(String message) {
@@ -24,6 +25,6 @@ public class BannedWordChecker {
         }
         
         String normalizedMessage = message.toLowerCase(Locale.ROOT);
-        return bannedWords.stream().anyMatch(normalizedMessage::contains);
+        return matcher.containsAny(normalizedMessage);
     }
 }
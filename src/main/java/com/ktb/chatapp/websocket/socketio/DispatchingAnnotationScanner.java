@@ -0,0 +1,101 @@
+package com.ktb.chatapp.websocket.socketio;
+
+import com.corundumstudio.socketio.AckRequest;
+import com.corundumstudio.socketio.SocketIOClient;
+import com.corundumstudio.socketio.SocketIOServer;
+import com.corundumstudio.socketio.annotation.OnConnect;
+import com.corundumstudio.socketio.annotation.OnDisconnect;
+import com.corundumstudio.socketio.annotation.OnEvent;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * {@code SpringAnnotationScanner} 대신 {@link OnEvent}/{@link OnConnect}/{@link OnDisconnect} 메서드를 등록한다.
+ *
+ * 리스너는 Netty 스레드에서 핸들러를 직접 호출하지 않고 {@link SocketEventDispatcher}의
+ * 클라이언트 레인에 넣기만 한다. 핸들러 파라미터는 SocketIOClient, AckRequest, 이벤트 데이터(최대 1개)를 지원한다.
+ * 핸들러가 비동기로 실행되므로 ack는 핸들러가 직접 보내야 한다.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class DispatchingAnnotationScanner implements BeanPostProcessor {
+
+    private final SocketIOServer server;
+    private final SocketEventDispatcher dispatcher;
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        Class<?> beanClass = ClassUtils.getUserClass(bean);
+        ReflectionUtils.doWithMethods(beanClass, method -> register(bean, method), this::isListener);
+        return bean;
+    }
+
+    private boolean isListener(Method method) {
+        return method.isAnnotationPresent(OnEvent.class)
+                || method.isAnnotationPresent(OnConnect.class)
+                || method.isAnnotationPresent(OnDisconnect.class);
+    }
+
+    private void register(Object bean, Method method) {
+        ReflectionUtils.makeAccessible(method);
+
+        OnEvent onEvent = method.getAnnotation(OnEvent.class);
+        if (onEvent != null) {
+            String event = onEvent.value();
+            server.addEventListener(event, dataClass(method), (client, data, ackRequest) ->
+                    dispatcher.dispatch(client, event,
+                            () -> invoke(bean, method, client, ackRequest, data)));
+            log.debug("Socket.IO event listener registered: {} -> {}.{}",
+                    event, method.getDeclaringClass().getSimpleName(), method.getName());
+        }
+        if (method.isAnnotationPresent(OnConnect.class)) {
+            server.addConnectListener(client ->
+                    dispatcher.dispatchAlways(client, "connect",
+                            () -> invoke(bean, method, client, null, null)));
+        }
+        if (method.isAnnotationPresent(OnDisconnect.class)) {
+            server.addDisconnectListener(client ->
+                    dispatcher.dispatchAlways(client, "disconnect",
+                            () -> invoke(bean, method, client, null, null)));
+        }
+    }
+
+    private Class<?> dataClass(Method method) {
+        for (Class<?> type : method.getParameterTypes()) {
+            if (!isInjected(type)) {
+                return type;
+            }
+        }
+        return Object.class;
+    }
+
+    private boolean isInjected(Class<?> type) {
+        return SocketIOClient.class.isAssignableFrom(type) || AckRequest.class.isAssignableFrom(type);
+    }
+
+    private void invoke(Object bean, Method method, SocketIOClient client, AckRequest ackRequest, Object data) {
+        Class<?>[] types = method.getParameterTypes();
+        Object[] args = new Object[types.length];
+        for (int i = 0; i < types.length; i++) {
+            if (SocketIOClient.class.isAssignableFrom(types[i])) {
+                args[i] = client;
+            } else if (AckRequest.class.isAssignableFrom(types[i])) {
+                args[i] = ackRequest;
+            } else {
+                args[i] = data;
+            }
+        }
+        try {
+            method.invoke(bean, args);
+        } catch (InvocationTargetException e) {
+            ReflectionUtils.rethrowRuntimeException(e.getTargetException());
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
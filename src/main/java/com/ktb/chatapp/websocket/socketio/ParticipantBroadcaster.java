@@ -0,0 +1,202 @@
+package com.ktb.chatapp.websocket.socketio;
+
+import com.corundumstudio.socketio.SocketIOServer;
+import com.ktb.chatapp.dto.UserResponse;
+import com.ktb.chatapp.repository.UserRepository;
+import com.ktb.chatapp.service.room.RoomMembershipService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import static com.ktb.chatapp.websocket.socketio.SocketIOEvents.*;
+
+/**
+ * 방 참가자 변경 알림.
+ *
+ * 입장/퇴장마다 바뀐 사용자 한 명만 담은 delta 이벤트를 바로 보내고, 전체 목록(PARTICIPANTS_UPDATE)은
+ * 방마다 debounce-ms에 한 번만 보낸다. 전체 목록은 방별로 캐시한 뷰에서 만들고, 참가자가 늘면
+ * 새 참가자만 조회해 합치므로 입장이 몰려도 사용자 조회는 입장한 사용자 수만큼만 늘어난다.
+ * 뷰는 view-ttl-ms마다 전체를 다시 읽어 프로필 변경을 반영한다.
+ *
+ * 멤버십(RoomMembershipService)은 한 번이라도 입장한 사용자라 줄지 않으므로, 목록은 그중
+ * 지금 방에 있는 사용자(UserRooms)만 담는다. 그래야 퇴장 delta 뒤의 전체 목록에 나간 사용자가 다시 보이지 않는다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "socketio.enabled", havingValue = "true", matchIfMissing = true)
+public class ParticipantBroadcaster {
+
+    private final SocketIOServer socketIOServer;
+    private final RoomMembershipService roomMembershipService;
+    private final UserRooms userRooms;
+    private final UserRepository userRepository;
+    private final long debounceMillis;
+    private final long viewTtlMillis;
+    private final ViewCache viewCache;
+    private final Set<String> pendingSnapshots = ConcurrentHashMap.newKeySet();
+    private final ScheduledExecutorService scheduler;
+
+    private final Counter snapshotCounter;
+    private final Counter coalescedCounter;
+    private final Timer viewBuildTimer;
+
+    public ParticipantBroadcaster(
+            SocketIOServer socketIOServer,
+            RoomMembershipService roomMembershipService,
+            UserRooms userRooms,
+            UserRepository userRepository,
+            MeterRegistry registry,
+            @Value("${chatapp.participants.debounce-ms:1000}") long debounceMillis,
+            @Value("${chatapp.participants.view-ttl-ms:30000}") long viewTtlMillis,
+            @Value("${chatapp.participants.view-max-size:1000}") int viewMaxSize
+    ) {
+        this.socketIOServer = socketIOServer;
+        this.roomMembershipService = roomMembershipService;
+        this.userRooms = userRooms;
+        this.userRepository = userRepository;
+        this.debounceMillis = debounceMillis;
+        this.viewTtlMillis = viewTtlMillis;
+        this.viewCache = new ViewCache(viewMaxSize);
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "participants-snapshot");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        this.snapshotCounter = registry.counter("participants.snapshot.sent");
+        this.coalescedCounter = registry.counter("participants.snapshot.coalesced");
+        this.viewBuildTimer = registry.timer("participants.view.build.time");
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * 방에 지금 있는 참가자 목록 (캐시된 뷰). 참가자 구성이 바뀌었으면 새 참가자만 조회해 합친다.
+     */
+    public List<UserResponse> participants(String roomId) {
+        Set<String> memberIds = userRooms.presentIn(roomId, roomMembershipService.members(roomId));
+        long now = System.currentTimeMillis();
+
+        ViewCache.Entry cached = viewCache.get(roomId, now);
+        if (cached != null && cached.memberIds().equals(memberIds)) {
+            return cached.users();
+        }
+
+        List<UserResponse> users = viewBuildTimer.record(() -> {
+            List<UserResponse> merged = new ArrayList<>(memberIds.size());
+            Set<String> missing = new HashSet<>(memberIds);
+            if (cached != null) {
+                for (UserResponse user : cached.users()) {
+                    if (missing.remove(user.getId())) merged.add(user);
+                }
+            }
+            if (!missing.isEmpty()) {
+                userRepository.findByIdIn(missing).forEach(user -> merged.add(UserResponse.from(user)));
+            }
+            return List.copyOf(merged);
+        });
+
+        // 만료 시각은 처음 만들 때 기준이라 프로필 변경도 view-ttl-ms 안에 반영된다
+        long expiresAt = cached != null ? cached.expiresAt() : now + viewTtlMillis;
+        viewCache.put(roomId, new ViewCache.Entry(Set.copyOf(memberIds), users, expiresAt));
+        return users;
+    }
+
+    /**
+     * 입장 delta를 보내고 전체 목록 전송을 예약한다.
+     */
+    public void joined(String roomId, String userId, String userName) {
+        UserResponse user = participants(roomId).stream()
+                .filter(participant -> userId.equals(participant.getId()))
+                .findFirst()
+                .orElseGet(() -> UserResponse.builder().id(userId).name(userName).profileImage("").build());
+
+        socketIOServer.getRoomOperations(roomId)
+                .sendEvent(PARTICIPANT_JOINED, Map.of("roomId", roomId, "user", user));
+        scheduleSnapshot(roomId);
+    }
+
+    /**
+     * 퇴장 delta를 보내고 전체 목록 전송을 예약한다.
+     */
+    public void left(String roomId, String userId, String userName) {
+        socketIOServer.getRoomOperations(roomId)
+                .sendEvent(PARTICIPANT_LEFT, Map.of("roomId", roomId, "userId", userId, "userName", userName));
+        scheduleSnapshot(roomId);
+    }
+
+    // 예약된 전송이 있으면 합친다. 보내기 직전에 예약을 지우므로 그 뒤의 변경은 다음 주기에 나간다
+    private void scheduleSnapshot(String roomId) {
+        if (debounceMillis <= 0) {
+            sendSnapshot(roomId);
+            return;
+        }
+        if (!pendingSnapshots.add(roomId)) {
+            coalescedCounter.increment();
+            return;
+        }
+        scheduler.schedule(() -> {
+            pendingSnapshots.remove(roomId);
+            sendSnapshot(roomId);
+        }, debounceMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private void sendSnapshot(String roomId) {
+        try {
+            socketIOServer.getRoomOperations(roomId)
+                    .sendEvent(PARTICIPANTS_UPDATE, participants(roomId));
+            snapshotCounter.increment();
+        } catch (Exception e) {
+            log.error("Failed to broadcast participants - roomId: {}", roomId, e);
+        }
+    }
+
+    private static final class ViewCache {
+
+        private final Map<String, Entry> entries;
+
+        ViewCache(int maxSize) {
+            this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                    return size() > maxSize;
+                }
+            };
+        }
+
+        synchronized Entry get(String roomId, long now) {
+            Entry entry = entries.get(roomId);
+            if (entry == null) return null;
+            if (entry.expiresAt() <= now) {
+                entries.remove(roomId);
+                return null;
+            }
+            return entry;
+        }
+
+        synchronized void put(String roomId, Entry entry) {
+            entries.put(roomId, entry);
+        }
+
+        private record Entry(Set<String> memberIds, List<UserResponse> users, long expiresAt) {
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.ktb.chatapp.websocket.socketio;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 메시지 브로드캐스트 이후의 부수 작업(활동 시각 갱신, AI 멘션 처리 등)을 소켓 스레드 밖에서 실행한다.
+ *
+ * 고정 수의 가상 스레드 워커와 크기가 정해진 큐를 사용한다. 큐가 가득 차면 작업을 버리고
+ * 거절 카운터를 올린다 (소켓 스레드를 막거나 메모리를 무한히 쓰지 않는다).
+ * 작업 이름별로 제출/거절/실패 수와 큐 대기 시간을 기록한다.
+ */
+@Slf4j
+@Component
+public class PostSendPipeline {
+
+    private final MeterRegistry registry;
+    private final ThreadPoolExecutor executor;
+    private final Timer queueWaitTimer;
+    private final Map<String, TaskMeters> meters = new ConcurrentHashMap<>();
+
+    public PostSendPipeline(
+            MeterRegistry registry,
+            @Value("${chatapp.post-send.workers:16}") int workers,
+            @Value("${chatapp.post-send.queue-capacity:10000}") int queueCapacity) {
+        this.registry = registry;
+        BlockingQueue<Runnable> queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.executor = new ThreadPoolExecutor(
+                workers, workers, 0L, TimeUnit.MILLISECONDS, queue,
+                Thread.ofVirtual().name("post-send-", 0).factory(),
+                new ThreadPoolExecutor.AbortPolicy());
+
+        this.queueWaitTimer = registry.timer("post.send.queue.wait");
+        registry.gauge("post.send.queue.size", queue, BlockingQueue::size);
+        registry.gauge("post.send.active", executor, ThreadPoolExecutor::getActiveCount);
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(5, TimeUnit.SECONDS)) {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * 작업을 큐에 넣는다. 큐가 가득 찼거나 종료 중이면 false.
+     */
+    public boolean submit(String name, Runnable task) {
+        TaskMeters taskMeters = meters.computeIfAbsent(name, this::createMeters);
+        long enqueuedAt = System.nanoTime();
+        try {
+            executor.execute(() -> {
+                queueWaitTimer.record(System.nanoTime() - enqueuedAt, TimeUnit.NANOSECONDS);
+                try {
+                    task.run();
+                } catch (Exception e) {
+                    taskMeters.failed().increment();
+                    log.error("Post-send task failed: {}", name, e);
+                }
+            });
+            taskMeters.submitted().increment();
+            return true;
+        } catch (RejectedExecutionException e) {
+            taskMeters.rejected().increment();
+            log.warn("Post-send task rejected: {} (queue={})", name, executor.getQueue().size());
+            return false;
+        }
+    }
+
+    private TaskMeters createMeters(String name) {
+        return new TaskMeters(
+                registry.counter("post.send.submitted", "task", name),
+                registry.counter("post.send.rejected", "task", name),
+                registry.counter("post.send.failed", "task", name));
+    }
+
+    private record TaskMeters(Counter submitted, Counter rejected, Counter failed) {
+    }
+}
@@ -0,0 +1,189 @@
+package com.ktb.chatapp.websocket.socketio;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * 방 단위 작업(입장, 퇴장, 메시지, 리액션)을 방마다 하나의 메일박스에서 순서대로 실행한다 (액터 모델).
+ *
+ * 같은 방의 작업은 한 번에 하나만 실행되고, 다른 방의 작업은 가상 스레드에서 병렬로 실행된다.
+ * 메일박스는 비면 바로 정리된다. 같은 방 작업 안에서 다시 같은 방 작업을 요청하면 그 자리에서 실행한다.
+ * 다른 방 작업을 {@link #run}으로 기다리면 교착될 수 있으므로 그런 경우는 {@link #tell}을 쓴다.
+ *
+ * 직렬화는 노드 안에서만 보장된다. 여러 노드에 걸친 정합성은 저장소 연산(원자적 갱신 등)이 책임진다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "socketio.enabled", havingValue = "true", matchIfMissing = true)
+public class RoomActorExecutor {
+
+    private static final ThreadLocal<String> CURRENT_ROOM = new ThreadLocal<>();
+
+    private final MeterRegistry registry;
+    private final ExecutorService executor;
+    private final Map<String, Mailbox> mailboxes = new ConcurrentHashMap<>();
+    private final Map<String, OperationMeters> meters = new ConcurrentHashMap<>();
+    private final AtomicInteger pending = new AtomicInteger();
+
+    public RoomActorExecutor(MeterRegistry registry) {
+        this.registry = registry;
+        this.executor = Executors.newThreadPerTaskExecutor(
+                Thread.ofVirtual().name("room-actor-", 0).factory());
+
+        registry.gauge("room.actor.mailboxes", mailboxes, Map::size);
+        registry.gauge("room.actor.pending", pending);
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(5, TimeUnit.SECONDS)) {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * 방 메일박스에서 작업을 실행하고 끝날 때까지 기다린다. 작업의 예외는 호출자에게 그대로 전달된다.
+     */
+    public void run(String roomId, String operation, Runnable action) {
+        if (roomId.equals(CURRENT_ROOM.get())) {
+            action.run();
+            return;
+        }
+        if (executor.isShutdown()) {
+            throw new IllegalStateException("Room actor executor is shut down");
+        }
+
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        enqueue(roomId, operation, () -> {
+            try {
+                action.run();
+                done.complete(null);
+            } catch (Throwable t) {
+                done.completeExceptionally(t);
+            }
+        });
+
+        try {
+            done.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            if (e.getCause() instanceof Error cause) throw cause;
+            throw e;
+        }
+    }
+
+    /**
+     * 방 메일박스에 작업을 넣고 바로 반환한다. 실패는 로그와 카운터로만 남는다.
+     */
+    public void tell(String roomId, String operation, Runnable action) {
+        enqueue(roomId, operation, action);
+    }
+
+    private void enqueue(String roomId, String operation, Runnable action) {
+        Task task = new Task(operation, meters.computeIfAbsent(operation, this::createMeters),
+                action, System.nanoTime());
+
+        // 메일박스 생성/추가와 빈 메일박스 제거가 같은 키에서 원자적으로 일어나야 한 방에 메일박스가 둘 생기지 않는다
+        Mailbox mailbox = mailboxes.compute(roomId, (id, current) -> {
+            Mailbox target = current != null ? current : new Mailbox(id);
+            target.tasks.add(task);
+            return target;
+        });
+        pending.incrementAndGet();
+        mailbox.schedule();
+    }
+
+    private OperationMeters createMeters(String operation) {
+        return new OperationMeters(
+                registry.timer("room.actor.queue.wait", "operation", operation),
+                registry.timer("room.actor.run.time", "operation", operation),
+                registry.counter("room.actor.failed", "operation", operation));
+    }
+
+    // 러너가 큐를 비우고 scheduled를 내린 직후, 메일박스 정리 전에 호출된다. 테스트가 이 구간의 경합을 재현할 때 재정의한다
+    void onDrained() {
+    }
+
+    private final class Mailbox implements Runnable {
+
+        private final String roomId;
+        private final Queue<Task> tasks = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        private Mailbox(String roomId) {
+            this.roomId = roomId;
+        }
+
+        private void schedule() {
+            if (!scheduled.compareAndSet(false, true)) return;
+            try {
+                executor.execute(this);
+            } catch (RejectedExecutionException e) {
+                scheduled.set(false);
+                log.warn("Room actor executor is shutting down - roomId: {}", roomId);
+            }
+        }
+
+        @Override
+        public void run() {
+            CURRENT_ROOM.set(roomId);
+            try {
+                Task task;
+                while ((task = tasks.poll()) != null) {
+                    pending.decrementAndGet();
+                    execute(task);
+                }
+            } finally {
+                CURRENT_ROOM.remove();
+            }
+            scheduled.set(false);
+            onDrained();
+
+            // 그 사이 다른 러너가 예약됐으면(마지막 작업을 꺼내 실행 중일 수 있다) 큐가 비어 있어도 남겨 둔다.
+            // 여기서 지우면 다음 작업이 새 메일박스에서 실행 중인 작업과 동시에 돈다
+            mailboxes.computeIfPresent(roomId, (id, current) ->
+                    current == this && tasks.isEmpty() && !scheduled.get() ? null : current);
+            // 비우는 사이에 들어온 작업이 있으면 다시 예약한다 (깨우기 유실 방지)
+            if (!tasks.isEmpty()) {
+                schedule();
+            }
+        }
+
+        private void execute(Task task) {
+            task.meters().queueWait().record(System.nanoTime() - task.enqueuedAt(), TimeUnit.NANOSECONDS);
+            long startedAt = System.nanoTime();
+            try {
+                task.action().run();
+            } catch (Exception e) {
+                task.meters().failed().increment();
+                log.error("Room actor task failed - roomId: {}, operation: {}", roomId, task.operation(), e);
+            } finally {
+                task.meters().runTime().record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+
+    private record Task(String operation, OperationMeters meters, Runnable action, long enqueuedAt) {
+    }
+
+    private record OperationMeters(Timer queueWait, Timer runTime, Counter failed) {
+    }
+}
@@ -0,0 +1,198 @@
+package com.ktb.chatapp.websocket.socketio;
+
+import com.corundumstudio.socketio.SocketIOClient;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import static com.ktb.chatapp.websocket.socketio.SocketIOEvents.ERROR;
+
+/**
+ * Socket.IO 이벤트 핸들러를 Netty 워커 스레드 밖(가상 스레드)에서 실행한다.
+ *
+ * 클라이언트(세션 ID)마다 레인을 두고, 한 레인의 이벤트는 도착 순서대로 한 번에 하나씩 실행한다.
+ * 서로 다른 클라이언트의 이벤트는 병렬로 실행되므로 느린 Mongo/Redis 호출이 다른 소켓을 막지 않는다.
+ * 비어 있는 레인은 바로 정리되고, 클라이언트별 대기 이벤트가 한도를 넘으면 이벤트를 버린다
+ * (disconnect 같은 정리 이벤트는 항상 받는다).
+ *
+ * 이벤트 이름별로 대기 수, 큐 대기 시간, 핸들러 실행 시간, 거절/실패 수를 기록한다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "socketio.enabled", havingValue = "true", matchIfMissing = true)
+public class SocketEventDispatcher {
+
+    private final MeterRegistry registry;
+    private final boolean enabled;
+    private final int maxPendingPerClient;
+    private final ExecutorService executor;
+    private final Map<UUID, Lane> lanes = new ConcurrentHashMap<>();
+    private final Map<String, EventMeters> meters = new ConcurrentHashMap<>();
+
+    public SocketEventDispatcher(
+            MeterRegistry registry,
+            @Value("${socketio.dispatch.enabled:true}") boolean enabled,
+            @Value("${socketio.dispatch.max-pending-per-client:256}") int maxPendingPerClient) {
+        this.registry = registry;
+        this.enabled = enabled;
+        this.maxPendingPerClient = maxPendingPerClient;
+        this.executor = Executors.newThreadPerTaskExecutor(
+                Thread.ofVirtual().name("socket-dispatch-", 0).factory());
+
+        registry.gauge("socketio.dispatch.lanes", lanes, Map::size);
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(5, TimeUnit.SECONDS)) {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * 클라이언트 레인 끝에 이벤트를 넣는다. 대기 이벤트가 한도를 넘으면 버리고 false.
+     */
+    public boolean dispatch(SocketIOClient client, String event, Runnable handler) {
+        return dispatch(client, event, handler, false);
+    }
+
+    /**
+     * 연결 종료처럼 버리면 안 되는 이벤트. 대기 한도와 관계없이 레인에 넣는다.
+     */
+    public void dispatchAlways(SocketIOClient client, String event, Runnable handler) {
+        dispatch(client, event, handler, true);
+    }
+
+    private boolean dispatch(SocketIOClient client, String event, Runnable handler, boolean always) {
+        EventMeters eventMeters = meters.computeIfAbsent(event, this::createMeters);
+        if (!enabled) {
+            run(event, eventMeters, handler);
+            return true;
+        }
+
+        UUID clientId = client.getSessionId();
+        Task task = new Task(event, eventMeters, handler, System.nanoTime());
+        boolean[] accepted = new boolean[1];
+
+        // 레인 생성/추가와 빈 레인 제거가 같은 키에서 원자적으로 일어나야 한 클라이언트에 레인이 둘 생기지 않는다
+        Lane lane = lanes.compute(clientId, (id, current) -> {
+            Lane target = current != null ? current : new Lane(id);
+            if (always || target.pending.get() < maxPendingPerClient) {
+                target.pending.incrementAndGet();
+                target.tasks.add(task);
+                accepted[0] = true;
+            }
+            return target;
+        });
+
+        if (!accepted[0]) {
+            eventMeters.rejected().increment();
+            log.warn("Socket event rejected - client: {}, event: {}, pending: {}",
+                    clientId, event, lane.pending.get());
+            client.sendEvent(ERROR, Map.of(
+                    "code", "SOCKET_BUSY",
+                    "message", "요청이 너무 많습니다. 잠시 후 다시 시도해주세요."));
+            return false;
+        }
+
+        eventMeters.pending().incrementAndGet();
+        lane.schedule();
+        return true;
+    }
+
+    private void run(String event, EventMeters eventMeters, Runnable handler) {
+        long startedAt = System.nanoTime();
+        try {
+            handler.run();
+        } catch (Exception e) {
+            eventMeters.failed().increment();
+            log.error("Socket event handler failed - event: {}", event, e);
+        } finally {
+            eventMeters.handlerTime().record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private EventMeters createMeters(String event) {
+        AtomicInteger pending = new AtomicInteger();
+        registry.gauge("socketio.dispatch.pending", Tags.of("event", event), pending);
+        return new EventMeters(
+                pending,
+                registry.timer("socketio.dispatch.queue.wait", "event", event),
+                registry.timer("socketio.handler.time", "event", event),
+                registry.counter("socketio.dispatch.rejected", "event", event),
+                registry.counter("socketio.handler.failed", "event", event));
+    }
+
+    // 러너가 큐를 비우고 scheduled를 내린 직후, 레인 정리 전에 호출된다. 테스트가 이 구간의 경합을 재현할 때 재정의한다
+    void onDrained() {
+    }
+
+    private final class Lane implements Runnable {
+
+        private final UUID clientId;
+        private final Queue<Task> tasks = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger pending = new AtomicInteger();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        private Lane(UUID clientId) {
+            this.clientId = clientId;
+        }
+
+        private void schedule() {
+            if (!scheduled.compareAndSet(false, true)) return;
+            try {
+                executor.execute(this);
+            } catch (RejectedExecutionException e) {
+                scheduled.set(false);
+                log.warn("Socket dispatcher is shutting down - client: {}", clientId);
+            }
+        }
+
+        @Override
+        public void run() {
+            Task task;
+            while ((task = tasks.poll()) != null) {
+                pending.decrementAndGet();
+                task.meters().pending().decrementAndGet();
+                task.meters().queueWait().record(System.nanoTime() - task.enqueuedAt(), TimeUnit.NANOSECONDS);
+                SocketEventDispatcher.this.run(task.event(), task.meters(), task.handler());
+            }
+            scheduled.set(false);
+            onDrained();
+
+            // 그 사이 다른 러너가 예약됐으면(마지막 이벤트를 꺼내 실행 중일 수 있다) 큐가 비어 있어도 남겨 둔다.
+            // 여기서 지우면 다음 이벤트가 새 레인에서 실행 중인 이벤트와 동시에, 순서 없이 돈다
+            lanes.computeIfPresent(clientId, (id, current) ->
+                    current == this && tasks.isEmpty() && !scheduled.get() ? null : current);
+            // 비우는 사이에 들어온 이벤트가 있으면 다시 예약한다 (깨우기 유실 방지)
+            if (!tasks.isEmpty()) {
+                schedule();
+            }
+        }
+    }
+
+    private record Task(String event, EventMeters meters, Runnable handler, long enqueuedAt) {
+    }
+
+    private record EventMeters(AtomicInteger pending, Timer queueWait, Timer handlerTime,
+                               Counter rejected, Counter failed) {
+    }
+}
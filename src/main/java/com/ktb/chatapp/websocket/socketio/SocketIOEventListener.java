@@ -2,6 +2,8 @@ package com.ktb.chatapp.websocket.socketio;
 
 import com.corundumstudio.socketio.SocketIOServer;
 import com.ktb.chatapp.event.*;
+import com.ktb.chatapp.websocket.socketio.ai.AiStreamProtocol;
+import java.util.HashMap;
 import java.util.Map;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -73,14 +75,31 @@ public class SocketIOEventListener {
     @EventListener
     public void handleAiMessageChunkEvent(AiMessageChunkEvent event) {
         try {
-            Map<String, Object> data = Map.of(
-                "messageId", event.getMessageId(),
-                "fullContent", event.getFullContent(),
-                "isCodeBlock", event.isCodeBlock(),
-                "isComplete", false
-            );
-            socketIOServer.getRoomOperations(event.getRoomId())
-                    .sendEvent(AI_MESSAGE_CHUNK, data);
+            // delta 클라이언트: 이번 청크 + 순번, 스냅샷 청크에는 전체 내용 포함
+            Map<String, Object> delta = new HashMap<>();
+            delta.put("messageId", event.getMessageId());
+            delta.put("sequence", event.getSequence());
+            delta.put("delta", event.getDelta());
+            delta.put("isCodeBlock", event.isCodeBlock());
+            delta.put("isComplete", false);
+            if (event.isSnapshot()) {
+                delta.put("snapshot", true);
+                delta.put("fullContent", event.getFullContent());
+            }
+            socketIOServer.getRoomOperations(AiStreamProtocol.deltaRoom(event.getRoomId()))
+                    .sendEvent(AI_MESSAGE_CHUNK, delta);
+
+            // 기존 클라이언트: 누적 전체 내용 (호환 모드가 꺼져 있으면 fullContent가 스냅샷에만 있다)
+            if (event.getFullContent() != null) {
+                Map<String, Object> full = Map.of(
+                    "messageId", event.getMessageId(),
+                    "fullContent", event.getFullContent(),
+                    "isCodeBlock", event.isCodeBlock(),
+                    "isComplete", false
+                );
+                socketIOServer.getRoomOperations(AiStreamProtocol.legacyRoom(event.getRoomId()))
+                        .sendEvent(AI_MESSAGE_CHUNK, full);
+            }
         } catch (Exception e) {
             log.error("aiMessageChunk 이벤트 발송 실패: roomId={}", event.getRoomId(), e);
         }
@@ -108,11 +127,13 @@ public class SocketIOEventListener {
     @EventListener
     public void handleAiMessageErrorEvent(AiMessageErrorEvent event) {
         try {
-            Map<String, Object> data = Map.of(
-                "messageId", event.getMessageId(),
-                "error", event.getErrorMessage(),
-                "aiType", event.getAiType()
-            );
+            Map<String, Object> data = new HashMap<>();
+            data.put("messageId", event.getMessageId());
+            data.put("error", event.getErrorMessage());
+            data.put("aiType", event.getAiType());
+            if (event.getErrorCode() != null) {
+                data.put("code", event.getErrorCode());
+            }
             socketIOServer.getRoomOperations(event.getRoomId())
                     .sendEvent(AI_MESSAGE_ERROR, data);
             log.error("aiMessageError 이벤트 발송: roomId={}, messageId={}, error={}",
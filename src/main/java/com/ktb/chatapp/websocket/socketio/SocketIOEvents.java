@@ -46,6 +46,12 @@ public final class SocketIOEvents {
      * Payload: { messageId, reaction, type }
      */
     public static final String MESSAGE_REACTION = "messageReaction";
+
+    /**
+     * 메시지 하나의 읽은 사용자 전체 목록 요청 (목록 응답에는 수만 포함)
+     * Payload: { messageId }
+     */
+    public static final String FETCH_MESSAGE_READERS = "fetchMessageReaders";
     
     // ============================================
     // Server → Client Events (전송 이벤트)
@@ -77,7 +83,8 @@ public final class SocketIOEvents {
 
     /**
      * 이전 메시지 로드 완료
-     * Payload: { messages, hasMore, oldestTimestamp }
+     * Payload: { messages, hasMore, nextCursor }
+     * 메시지마다 readers/reactions 대신 readCount, readByMe, reactionCounts, myReactions를 보낸다
      */
     public static final String PREVIOUS_MESSAGES_LOADED = "previousMessagesLoaded";
 
@@ -87,11 +94,23 @@ public final class SocketIOEvents {
     public static final String MESSAGE_LOAD_START = "messageLoadStart";
 
     /**
-     * 참가자 업데이트
+     * 참가자 전체 목록 (방마다 일정 주기에 한 번으로 합쳐 전송)
      * Payload: List<UserDto>
      */
     public static final String PARTICIPANTS_UPDATE = "participantsUpdate";
 
+    /**
+     * 참가자 입장 (변경분)
+     * Payload: { roomId, user }
+     */
+    public static final String PARTICIPANT_JOINED = "participantJoined";
+
+    /**
+     * 참가자 퇴장 (변경분)
+     * Payload: { roomId, userId, userName }
+     */
+    public static final String PARTICIPANT_LEFT = "participantLeft";
+
     /**
      * 채팅방 생성 알림
      * Payload: RoomResponse
@@ -124,10 +143,16 @@ public final class SocketIOEvents {
 
     /**
      * 메시지 리액션 업데이트
-     * Payload: { messageId, reactions }
+     * Payload: { messageId, reactions, counts, version }
      */
     public static final String MESSAGE_REACTION_UPDATE = "messageReactionUpdate";
 
+    /**
+     * 메시지 읽은 사용자 목록 (요청한 클라이언트에게만)
+     * Payload: { messageId, readers }
+     */
+    public static final String MESSAGE_READERS = "messageReaders";
+
     /**
      * 중복 로그인 감지
      * Payload: { type, deviceInfo, ipAddress, timestamp }
@@ -1,12 +1,19 @@
 package com.ktb.chatapp.websocket.socketio;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisOperations;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
 import org.springframework.stereotype.Component;
 
 @Component
@@ -68,6 +75,36 @@ public class UserRooms {
         return redis.opsForSet().isMember(buildKey(userId), roomId);
     }
 
+    /**
+     * Filter the given users down to those currently in the room (single pipelined round trip)
+     */
+    public Set<String> presentIn(String roomId, Collection<String> userIds) {
+        if (userIds.isEmpty()) {
+            return Collections.emptySet();
+        }
+
+        List<String> ids = new ArrayList<>(userIds);
+        List<Object> results = redis.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> Object execute(RedisOperations<K, V> operations) throws DataAccessException {
+                RedisOperations<String, Object> ops = (RedisOperations<String, Object>) operations;
+                for (String userId : ids) {
+                    ops.opsForSet().isMember(buildKey(userId), roomId);
+                }
+                return null;
+            }
+        });
+
+        Set<String> present = new HashSet<>();
+        for (int i = 0; i < ids.size(); i++) {
+            if (Boolean.TRUE.equals(results.get(i))) {
+                present.add(ids.get(i));
+            }
+        }
+        return present;
+    }
+
     private String buildKey(String userId) {
         return USER_ROOM_KEY_PREFIX + userId;
     }
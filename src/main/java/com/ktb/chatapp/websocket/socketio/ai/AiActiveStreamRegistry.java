@@ -0,0 +1,192 @@
+package com.ktb.chatapp.websocket.socketio.ai;
+
+import com.ktb.chatapp.dto.ActiveStreamResponse;
+import com.ktb.chatapp.event.AiMessageChunkEvent;
+import com.ktb.chatapp.event.AiMessageErrorEvent;
+import com.ktb.chatapp.event.AiMessageSavedEvent;
+import com.ktb.chatapp.event.AiMessageStartEvent;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+/**
+ * 방별 진행 중인 AI 스트림 레지스트리 (RedisB, 모든 노드 공유).
+ *
+ * 스트림마다 메타데이터 Hash(aiType, 시작 시각, 마지막 sequence)와 누적 내용 문자열을 두고,
+ * 청크 이벤트마다 내용에 delta를 APPEND 한다. 늦게 입장한 클라이언트는 (내용, sequence)를 받아
+ * 이후 sequence가 더 큰 delta만 이어 붙이면 된다.
+ *
+ * 청크 이벤트는 소켓 브로드캐스트보다 먼저 처리되므로, 스트림 룸에 입장한 뒤 레지스트리를 읽으면
+ * 빠지는 청크 없이 이어진다 (겹치는 청크는 sequence로 걸러낸다).
+ * 메시지가 저장되거나 오류로 끝나면 제거되고, 남은 엔트리는 idle TTL로 정리된다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "socketio.enabled", havingValue = "true", matchIfMissing = true)
+public class AiActiveStreamRegistry {
+
+    private static final String STREAM_KEY_PREFIX = "ai:stream:";
+    private static final String ROOM_KEY_PREFIX = "ai:streams:room:";
+
+    // KEYS: 메타 Hash, 내용, 방 Set / ARGV: messageId, aiType, startTime, ttlMs
+    private static final RedisScript<Long> START_SCRIPT = new DefaultRedisScript<>("""
+            redis.call('HSET', KEYS[1], 'aiType', ARGV[2], 'startTime', ARGV[3], 'sequence', 0)
+            redis.call('SET', KEYS[2], '', 'PX', ARGV[4])
+            redis.call('SADD', KEYS[3], ARGV[1])
+            redis.call('PEXPIRE', KEYS[1], ARGV[4])
+            redis.call('PEXPIRE', KEYS[3], ARGV[4])
+            return 1
+            """, Long.class);
+
+    // KEYS: 메타 Hash, 내용, 방 Set / ARGV: 내용, sequence, ttlMs, 스냅샷 여부(1이면 내용 전체 교체)
+    private static final RedisScript<Long> CHUNK_SCRIPT = new DefaultRedisScript<>("""
+            local current = redis.call('HGET', KEYS[1], 'sequence')
+            if not current or tonumber(current) >= tonumber(ARGV[2]) then
+                return 0
+            end
+            if ARGV[4] == '1' then
+                redis.call('SET', KEYS[2], ARGV[1], 'PX', ARGV[3])
+            else
+                redis.call('APPEND', KEYS[2], ARGV[1])
+                redis.call('PEXPIRE', KEYS[2], ARGV[3])
+            end
+            redis.call('HSET', KEYS[1], 'sequence', ARGV[2])
+            redis.call('PEXPIRE', KEYS[1], ARGV[3])
+            redis.call('PEXPIRE', KEYS[3], ARGV[3])
+            return 1
+            """, Long.class);
+
+    // KEYS: 메타 Hash, 내용, 방 Set / ARGV: messageId
+    private static final RedisScript<Long> END_SCRIPT = new DefaultRedisScript<>("""
+            redis.call('DEL', KEYS[1], KEYS[2])
+            redis.call('SREM', KEYS[3], ARGV[1])
+            return 1
+            """, Long.class);
+
+    // KEYS: 방 Set / ARGV: 스트림 키 접두사 → {messageId, aiType, startTime, sequence, content, ...}
+    private static final RedisScript<List> READ_SCRIPT = new DefaultRedisScript<>("""
+            local result = {}
+            for _, id in ipairs(redis.call('SMEMBERS', KEYS[1])) do
+                local meta = redis.call('HMGET', ARGV[1] .. id, 'aiType', 'startTime', 'sequence')
+                if meta[1] then
+                    local content = redis.call('GET', ARGV[1] .. id .. ':content') or ''
+                    table.insert(result, id)
+                    table.insert(result, meta[1])
+                    table.insert(result, meta[2])
+                    table.insert(result, meta[3])
+                    table.insert(result, content)
+                else
+                    redis.call('SREM', KEYS[1], id)
+                end
+            end
+            return result
+            """, List.class);
+
+    private final StringRedisTemplate redis;
+    private final Duration idleTtl;
+
+    public AiActiveStreamRegistry(
+            @Qualifier("cacheStringRedisTemplate") StringRedisTemplate redis,
+            @Value("${chatapp.ai.stream.registry-idle-ttl-ms:120000}") long idleTtlMillis) {
+        this.redis = redis;
+        this.idleTtl = Duration.ofMillis(idleTtlMillis);
+    }
+
+    @EventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onStart(AiMessageStartEvent event) {
+        try {
+            redis.execute(START_SCRIPT, keys(event.getRoomId(), event.getMessageId()),
+                    event.getMessageId(),
+                    event.getAiType(),
+                    String.valueOf(event.getStartTime()),
+                    String.valueOf(idleTtl.toMillis()));
+        } catch (Exception e) {
+            log.warn("Failed to register active AI stream - messageId: {}", event.getMessageId(), e);
+        }
+    }
+
+    // 브로드캐스트보다 먼저 반영해야 입장 직후 읽은 내용과 받는 delta 사이에 틈이 생기지 않는다
+    @EventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onChunk(AiMessageChunkEvent event) {
+        boolean snapshot = event.isSnapshot() && event.getFullContent() != null;
+        try {
+            redis.execute(CHUNK_SCRIPT, keys(event.getRoomId(), event.getMessageId()),
+                    snapshot ? event.getFullContent() : event.getDelta(),
+                    String.valueOf(event.getSequence()),
+                    String.valueOf(idleTtl.toMillis()),
+                    snapshot ? "1" : "0");
+        } catch (Exception e) {
+            log.warn("Failed to update active AI stream - messageId: {}", event.getMessageId(), e);
+        }
+    }
+
+    // 메시지가 저장된 뒤에 지워야 입장 시 레지스트리와 메시지 목록 어느 쪽에도 없는 순간이 생기지 않는다
+    @EventListener
+    public void onSaved(AiMessageSavedEvent event) {
+        remove(event.getRoomId(), event.getMessageId());
+    }
+
+    @EventListener
+    public void onError(AiMessageErrorEvent event) {
+        remove(event.getRoomId(), event.getMessageId());
+    }
+
+    /**
+     * 방에서 진행 중인 AI 스트림. 조회에 실패하면 빈 목록.
+     */
+    @SuppressWarnings("unchecked")
+    public List<ActiveStreamResponse> activeStreams(String roomId) {
+        List<ActiveStreamResponse> streams = new ArrayList<>();
+        try {
+            List<Object> values = (List<Object>) redis.execute(READ_SCRIPT,
+                    List.of(roomKey(roomId)), STREAM_KEY_PREFIX);
+            if (values == null) return streams;
+
+            for (int i = 0; i + 4 < values.size(); i += 5) {
+                streams.add(ActiveStreamResponse.builder()
+                        .id((String) values.get(i))
+                        .type("ai")
+                        .aiType((String) values.get(i + 1))
+                        .timestamp(Instant.ofEpochMilli(Long.parseLong((String) values.get(i + 2))).toString())
+                        .sequence(Long.parseLong((String) values.get(i + 3)))
+                        .content((String) values.get(i + 4))
+                        .isStreaming(true)
+                        .build());
+            }
+        } catch (Exception e) {
+            log.warn("Failed to read active AI streams - roomId: {}", roomId, e);
+        }
+        return streams;
+    }
+
+    private void remove(String roomId, String messageId) {
+        try {
+            redis.execute(END_SCRIPT, keys(roomId, messageId), messageId);
+        } catch (Exception e) {
+            log.warn("Failed to remove active AI stream - messageId: {}", messageId, e);
+        }
+    }
+
+    private static List<String> keys(String roomId, String messageId) {
+        String streamKey = STREAM_KEY_PREFIX + messageId;
+        return List.of(streamKey, streamKey + ":content", roomKey(roomId));
+    }
+
+    private static String roomKey(String roomId) {
+        return ROOM_KEY_PREFIX + roomId;
+    }
+}
@@ -0,0 +1,182 @@
+package com.ktb.chatapp.websocket.socketio.ai;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ktb.chatapp.model.AiType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.Normalizer;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.regex.Pattern;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+/**
+ * (AiType, 정규화된 질문) 단위 AI 응답 캐시 (RedisB, 모든 노드 공유).
+ *
+ * 응답은 TTL을 가진 문자열 키로 저장하고, 접근 시각을 점수로 하는 Sorted Set 인덱스로
+ * 전체 엔트리 수를 maxEntries 이하로 유지한다. 넘치면 가장 오래 쓰이지 않은 응답부터 지운다.
+ * 캐시 조회/저장 실패는 응답 생성에 영향을 주지 않는다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "socketio.enabled", havingValue = "true", matchIfMissing = true)
+public class AiResponseCache {
+
+    private static final String KEY_PREFIX = "ai:response:";
+    private static final String INDEX_KEY = "ai:response:index";
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    // KEYS: 엔트리 키, 인덱스 키 / ARGV: 현재 시각(ms)
+    private static final RedisScript<String> GET_SCRIPT = new DefaultRedisScript<>("""
+            local value = redis.call('GET', KEYS[1])
+            if value then
+                redis.call('ZADD', KEYS[2], 'XX', ARGV[1], KEYS[1])
+            end
+            return value
+            """, String.class);
+
+    // KEYS: 엔트리 키, 인덱스 키 / ARGV: 값, TTL(ms), 현재 시각(ms), 최대 엔트리 수
+    private static final RedisScript<Long> PUT_SCRIPT = new DefaultRedisScript<>("""
+            redis.call('SET', KEYS[1], ARGV[1], 'PX', ARGV[2])
+            redis.call('ZADD', KEYS[2], ARGV[3], KEYS[1])
+            redis.call('ZREMRANGEBYSCORE', KEYS[2], '-inf', tonumber(ARGV[3]) - tonumber(ARGV[2]))
+            local excess = redis.call('ZCARD', KEYS[2]) - tonumber(ARGV[4])
+            if excess > 0 then
+                local evicted = redis.call('ZPOPMIN', KEYS[2], excess)
+                for i = 1, #evicted, 2 do
+                    redis.call('DEL', evicted[i])
+                end
+                return excess
+            end
+            return 0
+            """, Long.class);
+
+    private final StringRedisTemplate redis;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final Duration ttl;
+    private final int maxEntries;
+    private final int maxQueryLength;
+
+    private final Counter hitCounter;
+    private final Counter missCounter;
+    private final Counter evictionCounter;
+    private final Timer savedLatencyTimer;
+
+    public AiResponseCache(
+            @Qualifier("cacheStringRedisTemplate") StringRedisTemplate redis,
+            ObjectMapper objectMapper,
+            MeterRegistry registry,
+            @Value("${chatapp.ai.response-cache.enabled:true}") boolean enabled,
+            @Value("${chatapp.ai.response-cache.ttl-ms:3600000}") long ttlMillis,
+            @Value("${chatapp.ai.response-cache.max-entries:10000}") int maxEntries,
+            @Value("${chatapp.ai.response-cache.max-query-length:1000}") int maxQueryLength) {
+        this.redis = redis;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.ttl = Duration.ofMillis(ttlMillis);
+        this.maxEntries = maxEntries;
+        this.maxQueryLength = maxQueryLength;
+
+        this.hitCounter = registry.counter("ai.response.cache.hit");
+        this.missCounter = registry.counter("ai.response.cache.miss");
+        this.evictionCounter = registry.counter("ai.response.cache.eviction");
+        this.savedLatencyTimer = Timer.builder("ai.response.cache.saved.latency")
+                .description("캐시 적중으로 생략된 원래 응답 생성 시간")
+                .register(registry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 캐시된 응답 본문. 없거나 조회에 실패하면 empty.
+     */
+    public Optional<String> get(AiType aiType, String query) {
+        String key = key(aiType, query);
+        if (key == null) return Optional.empty();
+
+        try {
+            String json = redis.execute(GET_SCRIPT, List.of(key, INDEX_KEY),
+                    String.valueOf(System.currentTimeMillis()));
+            if (json != null) {
+                CachedAnswer answer = objectMapper.readValue(json, CachedAnswer.class);
+                hitCounter.increment();
+                savedLatencyTimer.record(Duration.ofMillis(answer.generationTimeMillis()));
+                return Optional.of(answer.content());
+            }
+        } catch (Exception e) {
+            log.warn("AI response cache read failed - aiType: {}", aiType, e);
+        }
+
+        missCounter.increment();
+        return Optional.empty();
+    }
+
+    public void put(AiType aiType, String query, String content, long generationTimeMillis) {
+        String key = key(aiType, query);
+        if (key == null || content == null || content.isBlank()) return;
+
+        try {
+            String json = objectMapper.writeValueAsString(new CachedAnswer(content, generationTimeMillis));
+            Long evicted = redis.execute(PUT_SCRIPT, List.of(key, INDEX_KEY),
+                    json,
+                    String.valueOf(ttl.toMillis()),
+                    String.valueOf(System.currentTimeMillis()),
+                    String.valueOf(maxEntries));
+            if (evicted != null && evicted > 0) {
+                evictionCounter.increment(evicted);
+            }
+        } catch (Exception e) {
+            log.warn("AI response cache write failed - aiType: {}", aiType, e);
+        }
+    }
+
+    /**
+     * 대소문자, 유니코드 표기, 공백 차이를 무시한 질문. 비어 있으면 null.
+     */
+    static String normalize(String query) {
+        if (query == null) return null;
+
+        String normalized = Normalizer.normalize(query, Normalizer.Form.NFKC);
+        normalized = WHITESPACE.matcher(normalized.strip()).replaceAll(" ");
+        normalized = normalized.toLowerCase(Locale.ROOT);
+        return normalized.isEmpty() ? null : normalized;
+    }
+
+    private String key(AiType aiType, String query) {
+        if (!enabled || aiType == null) return null;
+
+        String normalized = normalize(query);
+        if (normalized == null || normalized.length() > maxQueryLength) return null;
+
+        return KEY_PREFIX + aiType.name().toLowerCase(Locale.ROOT) + ":" + sha256(normalized);
+    }
+
+    private static String sha256(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    record CachedAnswer(String content, long generationTimeMillis) {
+    }
+}
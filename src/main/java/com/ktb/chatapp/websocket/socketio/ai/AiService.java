@@ -2,22 +2,28 @@ package com.ktb.chatapp.websocket.socketio.ai;
 
 import com.ktb.chatapp.dto.MessageContent;
 import com.ktb.chatapp.event.AiMessageCompleteEvent;
+import com.ktb.chatapp.event.AiMessageErrorEvent;
 import com.ktb.chatapp.event.AiMessageSavedEvent;
 import com.ktb.chatapp.event.AiMessageStartEvent;
 import com.ktb.chatapp.model.AiType;
 import com.ktb.chatapp.model.Message;
-import com.ktb.chatapp.model.MessageType;
-import com.ktb.chatapp.repository.MessageRepository;
+import com.ktb.chatapp.service.MessageService;
 import com.ktb.chatapp.websocket.socketio.handler.StreamingSession;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
 import java.util.Map;
-import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Pattern;
 import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
 import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 /**
  * AI 서비스 구현체
@@ -28,17 +34,39 @@ import reactor.core.publisher.Flux;
 @ConditionalOnProperty(name = "socketio.enabled", havingValue = "true", matchIfMissing = true)
 public class AiService {
 
+    static final String STREAM_BUSY = "AI_STREAM_BUSY";
+    static final String SAVE_FAILED = "AI_SAVE_FAILED";
+    private static final Pattern LINE_BREAK = Pattern.compile("(?<=\\n)");
+
     private final ChatClient chatClient;
     private final ApplicationEventPublisher eventPublisher;
-    private final MessageRepository messageRepository;
+    private final MessageService messageService;
+    private final int snapshotInterval;
+    private final boolean legacyCompat;
+    private final ChunkCoalescer chunkCoalescer;
+    private final AiStreamGovernor streamGovernor;
+    private final AiResponseCache responseCache;
 
     public AiService(
             ChatClient.Builder chatClientBuilder,
             ApplicationEventPublisher eventPublisher,
-            MessageRepository messageRepository) {
+            MessageService messageService,
+            AiStreamGovernor streamGovernor,
+            AiResponseCache responseCache,
+            MeterRegistry meterRegistry,
+            @Value("${chatapp.ai.stream.snapshot-interval:32}") int snapshotInterval,
+            @Value("${chatapp.ai.stream.legacy-compat:true}") boolean legacyCompat,
+            @Value("${chatapp.ai.stream.coalesce.window-ms:50}") long coalesceWindowMillis,
+            @Value("${chatapp.ai.stream.coalesce.max-chars:256}") int coalesceMaxChars) {
         this.chatClient = chatClientBuilder.build();
         this.eventPublisher = eventPublisher;
-        this.messageRepository = messageRepository;
+        this.messageService = messageService;
+        this.streamGovernor = streamGovernor;
+        this.responseCache = responseCache;
+        this.snapshotInterval = snapshotInterval;
+        this.legacyCompat = legacyCompat;
+        this.chunkCoalescer = new ChunkCoalescer(
+                Duration.ofMillis(coalesceWindowMillis), coalesceMaxChars, meterRegistry);
     }
 
     public void handleAIMentions(String roomId, String userId, MessageContent messageContent) {
@@ -50,17 +78,10 @@ public class AiService {
 
     private void startStreaming(String roomId, String userId, String aiType, String query) {
         
-        // AI 스트리밍 세션 생성 - messageId는 타입과 타임스탬프 조합
+        // AI 스트리밍 세션 생성 - messageId는 타입과 ObjectId 조합.
+        // 진행 중 스트림 키(ai:stream:<messageId>)로도 쓰이므로 같은 밀리초에 시작한 스트림끼리도 겹치지 않아야 한다
         var timestamp = System.currentTimeMillis();
-        String messageId = aiType + "-" + timestamp;
-
-        log.info("AI response started - messageId: {}, room: {}, aiType: {}, query: {}",
-            messageId, roomId, aiType, query);
-        
-        // AI 스트리밍 시작 이벤트 발행
-        eventPublisher.publishEvent(new AiMessageStartEvent(
-            this, roomId, messageId, aiType, timestamp
-        ));
+        String messageId = aiType + "-" + new ObjectId().toHexString();
         
         // 스트리밍 세션 초기화
         StreamingSession session = StreamingSession.builder()
@@ -71,10 +92,34 @@ public class AiService {
             .timestamp(timestamp)
             .query(query)
             .build();
+
+        // 동시 스트림 한도를 넘으면 대기열에서 차례를 기다린다
+        streamGovernor.submit(roomId,
+                onFinish -> beginStream(session, onFinish),
+                () -> eventPublisher.publishEvent(new AiMessageErrorEvent(
+                        this, roomId, messageId,
+                        "AI 요청이 많아 지금은 응답할 수 없습니다. 잠시 후 다시 시도해주세요.",
+                        session.aiTypeEnum(), STREAM_BUSY)));
+    }
+
+    private Runnable beginStream(StreamingSession session, Runnable onFinish) {
+        // 대기열에서 기다린 시간은 생성 시간에 넣지 않는다
+        session.setTimestamp(System.currentTimeMillis());
+
+        log.info("AI response started - messageId: {}, room: {}, aiType: {}, query: {}",
+            session.getMessageId(), session.getRoomId(), session.getAiType(), session.getQuery());
         
+        // AI 스트리밍 시작 이벤트 발행
+        eventPublisher.publishEvent(new AiMessageStartEvent(
+            this, session.getRoomId(), session.getMessageId(), session.getAiType(), session.getTimestamp()
+        ));
         
+        AiStreamHandler handler = new AiStreamHandler(session, eventPublisher, snapshotInterval, legacyCompat);
+        // 완료, 오류, 취소 어느 경우든 governor 자리를 반납한다
         streamResponse(session)
-                .subscribe(new AiStreamHandler(session, eventPublisher));
+                .doFinally(signal -> onFinish.run())
+                .subscribe(handler);
+        return handler::cancel;
     }
 
     Flux<ChunkData> streamResponse(StreamingSession session) {
@@ -84,30 +129,63 @@ public class AiService {
             if (aiType == null) {
                 return Flux.error(new IllegalArgumentException("Unknown AI persona"));
             }
+            if (!responseCache.isEnabled()) {
+                return generate(session, aiType, query);
+            }
 
-            Flux<String> contentStream = chatClient.prompt()
-                    .system(aiType.getSystemPrompt())
-                    .user(query)
-                    .stream()
-                    .content();
-
-            AtomicBoolean codeBlockState = new AtomicBoolean(false);
-
-            return contentStream
-                    .filter(chunk -> chunk != null && !chunk.isBlank())
-                    .map(chunk -> ChunkData.from(chunk).updateCodeBlockState(codeBlockState))
-                    .doOnSubscribe(subscription -> log.info(
-                            "Starting AI streaming response - aiType: {}, query: {}",
-                            aiType, query))
-                    .doOnError(error -> log.error("Streaming error received from Spring AI", error));
+            // 같은 질문은 캐시된 답변을 같은 청크/완료 이벤트 경로로 재생한다
+            return Mono.fromCallable(() -> responseCache.get(aiType, query))
+                    .subscribeOn(Schedulers.boundedElastic())
+                    .flatMapMany(cached -> cached
+                            .map(content -> replay(aiType, content))
+                            .orElseGet(() -> generate(session, aiType, query)
+                                    .doOnComplete(() -> cacheAnswer(session, aiType, query))));
         });
     }
 
+    private Flux<ChunkData> generate(StreamingSession session, AiType aiType, String query) {
+        Flux<String> contentStream = chatClient.prompt()
+                .system(aiType.getSystemPrompt())
+                .user(query)
+                .stream()
+                .content();
+
+        // 토큰마다 이벤트/브로드캐스트가 나가지 않도록 짧은 시간 창으로 묶는다
+        return chunkCoalescer.coalesce(contentStream
+                        .filter(chunk -> chunk != null && !chunk.isBlank()))
+                .doOnSubscribe(subscription -> log.info(
+                        "Starting AI streaming response - aiType: {}, query: {}",
+                        aiType, query))
+                .doOnError(error -> log.error("Streaming error received from Spring AI", error));
+    }
+
+    private Flux<ChunkData> replay(AiType aiType, String content) {
+        log.info("Replaying cached AI response - aiType: {}", aiType);
+        // 줄 단위로 나눠 넣으면 코드 블록 경계에서 청크가 끊겨 codeBlock 값이 생성 때와 같아진다
+        return chunkCoalescer.coalesce(Flux.fromArray(LINE_BREAK.split(content)));
+    }
+
+    // 청크는 구독자(AiStreamHandler)가 동기적으로 세션에 쌓으므로 완료 시점의 세션 내용이 전체 응답이다
+    private void cacheAnswer(StreamingSession session, AiType aiType, String query) {
+        String content = session.getContent();
+        long generationTime = session.generationTimeMillis();
+        Schedulers.boundedElastic().schedule(
+                () -> responseCache.put(aiType, query, content, generationTime));
+    }
+
     @EventListener
     public void onAiMessageCompleteEvent(AiMessageCompleteEvent event) {
         try {
-            // 메시지 저장
-            Message savedMessage = messageRepository.save(getMessage(event));
+            // 메시지 저장 (최근 메시지 캐시와 활동 카운트도 함께 갱신된다)
+            Message savedMessage = messageService.saveAiMessage(
+                    event.getRoomId(),
+                    event.getAiType(),
+                    event.getContent(),
+                    event.getStartDateTime(),
+                    Map.of(
+                            "query", event.getQuery(),
+                            "generationTime", event.getGenerationTime()
+                    ));
             log.info("AI message saved - messageId: {}, savedId: {}, roomId: {}",
                 event.getMessageId(), savedMessage.getId(), event.getRoomId());
 
@@ -118,22 +196,11 @@ public class AiService {
         } catch (Exception e) {
             log.error("Failed to save AI message - messageId: {}, roomId: {}",
                 event.getMessageId(), event.getRoomId(), e);
+            // 저장 이벤트가 나가지 않으므로 진행 중 스트림 정리와 클라이언트 알림은 오류 이벤트로 한다
+            eventPublisher.publishEvent(new AiMessageErrorEvent(
+                this, event.getRoomId(), event.getMessageId(),
+                "AI 응답을 저장하지 못했습니다.", event.getAiType(), SAVE_FAILED
+            ));
         }
     }
-    
-    private Message getMessage(AiMessageCompleteEvent event) {
-        Message aiMessage = new Message();
-        aiMessage.setRoomId(event.getRoomId());
-        aiMessage.setContent(event.getContent());
-        aiMessage.setType(MessageType.ai);
-        aiMessage.setAiType(event.getAiType());
-        aiMessage.setTimestamp(event.getStartDateTime());
-        
-        Map<String, Object> metadata = Map.of(
-                "query", event.getQuery(),
-                "generationTime", event.getGenerationTime()
-        );
-        aiMessage.setMetadata(metadata);
-        return aiMessage;
-    }
 }
@@ -0,0 +1,258 @@
+package com.ktb.chatapp.websocket.socketio.ai;
+
+import com.ktb.chatapp.websocket.socketio.UserRooms;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * AI 스트림 동시 실행 제어.
+ *
+ * 노드 전체와 방별 동시 스트림 수를 제한하고, 넘치는 요청은 방별 FIFO 큐에 넣는다.
+ * 자리가 나면 대기 중인 방을 라운드 로빈으로 돌며 꺼내므로 한 방의 요청 폭주가 다른 방을 막지 않는다.
+ * 대기열이 가득 차면 요청을 바로 거절하고, 방에 아무도 남지 않으면 그 방의 스트림을 취소한다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "socketio.enabled", havingValue = "true", matchIfMissing = true)
+public class AiStreamGovernor {
+
+    /**
+     * 스트림을 시작하고 취소 동작을 반환한다. 스트림이 어떤 식으로든 끝나면 onFinish를 한 번 호출해야 한다.
+     */
+    @FunctionalInterface
+    public interface StreamStarter {
+        Runnable start(Runnable onFinish);
+    }
+
+    private final UserRooms userRooms;
+    private final int maxConcurrent;
+    private final int maxPerRoom;
+    private final int maxQueued;
+
+    private final Map<String, RoomStreams> rooms = new HashMap<>();
+    // 대기 요청이 있는 방의 라운드 로빈 순서
+    private final Set<String> waitingRooms = new LinkedHashSet<>();
+    private int active;
+    private int queued;
+
+    private final Counter startedCounter;
+    private final Counter rejectedCounter;
+    private final Counter cancelledCounter;
+    private final Timer queueWaitTimer;
+
+    public AiStreamGovernor(
+            UserRooms userRooms,
+            MeterRegistry registry,
+            @Value("${chatapp.ai.stream.max-concurrent:32}") int maxConcurrent,
+            @Value("${chatapp.ai.stream.max-per-room:2}") int maxPerRoom,
+            @Value("${chatapp.ai.stream.max-queued:100}") int maxQueued) {
+        this.userRooms = userRooms;
+        this.maxConcurrent = maxConcurrent;
+        this.maxPerRoom = maxPerRoom;
+        this.maxQueued = maxQueued;
+
+        this.startedCounter = registry.counter("ai.stream.started");
+        this.rejectedCounter = registry.counter("ai.stream.rejected");
+        this.cancelledCounter = registry.counter("ai.stream.cancelled");
+        this.queueWaitTimer = registry.timer("ai.stream.queue.wait");
+        registry.gauge("ai.stream.active", this, AiStreamGovernor::activeCount);
+        registry.gauge("ai.stream.queued", this, AiStreamGovernor::queuedCount);
+    }
+
+    /**
+     * 스트림 요청을 제출한다. 자리가 있으면 바로 시작하고, 없으면 대기열에 넣는다.
+     * 대기열이 가득 차면 onRejected를 호출하고 false를 반환한다.
+     */
+    public boolean submit(String roomId, StreamStarter starter, Runnable onRejected) {
+        Request request = new Request(roomId, starter, System.nanoTime());
+        boolean startNow = false;
+        boolean rejected = false;
+
+        synchronized (this) {
+            RoomStreams room = rooms.computeIfAbsent(roomId, id -> new RoomStreams());
+            if (active < maxConcurrent && room.running.size() < maxPerRoom) {
+                markRunning(room, request);
+                startNow = true;
+            } else if (queued >= maxQueued) {
+                rejected = true;
+                removeIfIdle(roomId, room);
+            } else {
+                room.waiting.addLast(request);
+                waitingRooms.add(roomId);
+                queued++;
+            }
+        }
+
+        if (rejected) {
+            rejectedCounter.increment();
+            log.warn("AI stream rejected, queue full - roomId: {}, active: {}, queued: {}",
+                    roomId, activeCount(), queuedCount());
+            onRejected.run();
+            return false;
+        }
+        if (startNow) {
+            start(request);
+        }
+        return true;
+    }
+
+    /**
+     * 참여자가 방을 나간 뒤 호출한다. 이 방에 진행/대기 중인 스트림이 있고
+     * 남은 참여자가 없으면 모두 취소한다.
+     */
+    public void onParticipantLeft(String roomId, Collection<String> participantIds) {
+        if (!hasStreams(roomId)) return;
+
+        boolean occupied = participantIds != null && participantIds.stream()
+                .anyMatch(userId -> userRooms.isInRoom(userId, roomId));
+        if (!occupied) {
+            log.info("Room {} is empty, cancelling AI streams", roomId);
+            cancelRoom(roomId);
+        }
+    }
+
+    /**
+     * 방의 대기 요청을 버리고 진행 중인 스트림을 취소한다.
+     */
+    public void cancelRoom(String roomId) {
+        List<Request> running;
+        int dropped;
+
+        synchronized (this) {
+            RoomStreams room = rooms.get(roomId);
+            if (room == null) return;
+
+            dropped = room.waiting.size();
+            queued -= dropped;
+            room.waiting.clear();
+            waitingRooms.remove(roomId);
+            running = new ArrayList<>(room.running);
+            removeIfIdle(roomId, room);
+        }
+
+        cancelledCounter.increment(dropped + running.size());
+        // 취소된 스트림의 onFinish에서 자리가 반납되고 다른 방의 대기 요청이 시작된다
+        running.forEach(Request::cancel);
+    }
+
+    synchronized boolean hasStreams(String roomId) {
+        return rooms.containsKey(roomId);
+    }
+
+    synchronized int activeCount() {
+        return active;
+    }
+
+    synchronized int queuedCount() {
+        return queued;
+    }
+
+    private void start(Request request) {
+        startedCounter.increment();
+        queueWaitTimer.record(System.nanoTime() - request.submittedAt, TimeUnit.NANOSECONDS);
+        try {
+            request.setCanceller(request.starter.start(() -> finish(request)));
+        } catch (Exception e) {
+            log.error("Failed to start AI stream - roomId: {}", request.roomId, e);
+            finish(request);
+        }
+    }
+
+    private void finish(Request request) {
+        List<Request> next = new ArrayList<>();
+
+        synchronized (this) {
+            RoomStreams room = rooms.get(request.roomId);
+            if (room == null || !room.running.remove(request)) return;
+            active--;
+            removeIfIdle(request.roomId, room);
+            pollWaiting(next);
+        }
+
+        next.forEach(this::start);
+    }
+
+    // 라운드 로빈으로 대기 중인 방을 돌며 시작할 수 있는 요청을 꺼낸다
+    private void pollWaiting(List<Request> next) {
+        boolean progressed = true;
+        while (active < maxConcurrent && !waitingRooms.isEmpty() && progressed) {
+            progressed = false;
+            for (String roomId : new ArrayList<>(waitingRooms)) {
+                if (active >= maxConcurrent) break;
+
+                RoomStreams room = rooms.get(roomId);
+                if (room.running.size() >= maxPerRoom) continue;
+
+                Request request = room.waiting.pollFirst();
+                queued--;
+                markRunning(room, request);
+                next.add(request);
+                progressed = true;
+
+                // 꺼낸 방은 순서의 맨 뒤로 보낸다
+                waitingRooms.remove(roomId);
+                if (!room.waiting.isEmpty()) {
+                    waitingRooms.add(roomId);
+                }
+            }
+        }
+    }
+
+    private void markRunning(RoomStreams room, Request request) {
+        room.running.add(request);
+        active++;
+    }
+
+    private void removeIfIdle(String roomId, RoomStreams room) {
+        if (room.running.isEmpty() && room.waiting.isEmpty()) {
+            rooms.remove(roomId);
+        }
+    }
+
+    private static final class RoomStreams {
+        private final List<Request> running = new ArrayList<>();
+        private final ArrayDeque<Request> waiting = new ArrayDeque<>();
+    }
+
+    private static final class Request {
+        private final String roomId;
+        private final StreamStarter starter;
+        private final long submittedAt;
+        private Runnable canceller;
+        private boolean cancelled;
+
+        Request(String roomId, StreamStarter starter, long submittedAt) {
+            this.roomId = roomId;
+            this.starter = starter;
+            this.submittedAt = submittedAt;
+        }
+
+        synchronized void setCanceller(Runnable canceller) {
+            this.canceller = canceller;
+            if (cancelled && canceller != null) {
+                canceller.run();
+            }
+        }
+
+        synchronized void cancel() {
+            cancelled = true;
+            if (canceller != null) {
+                canceller.run();
+            }
+        }
+    }
+}
@@ -14,8 +14,14 @@ import org.springframework.context.ApplicationEventPublisher;
 @Slf4j
 @RequiredArgsConstructor
 public class AiStreamHandler implements Subscriber<ChunkData> {
+    static final String STREAM_CANCELLED = "AI_STREAM_CANCELLED";
+
     private final StreamingSession session;
     private final ApplicationEventPublisher eventPublisher;
+    // N번째 청크마다 전체 내용을 함께 보내 delta 클라이언트가 재동기화할 수 있게 한다
+    private final int snapshotInterval;
+    // 기존 클라이언트용으로 매 청크 전체 내용을 만들지 여부
+    private final boolean legacyCompat;
     private Subscription subscription;
 
     @Override
@@ -26,7 +32,7 @@ public class AiStreamHandler implements Subscriber<ChunkData> {
 
     @Override
     public void onNext(ChunkData chunk) {
-        session.appendContent(chunk.currentChunk());
+        long sequence = session.appendContent(chunk.currentChunk());
         
         String messageId = session.getMessageId();
         String roomId = session.getRoomId();
@@ -35,9 +41,13 @@ public class AiStreamHandler implements Subscriber<ChunkData> {
             return;
         }
 
+        boolean snapshot = snapshotInterval > 0 && sequence % snapshotInterval == 0;
+        String fullContent = snapshot || legacyCompat ? session.getContent() : null;
+
         eventPublisher.publishEvent(new AiMessageChunkEvent(
             this, roomId, messageId,
-            session.getContent(), chunk.codeBlock()
+            sequence, chunk.currentChunk(), fullContent,
+            snapshot, chunk.codeBlock()
         ));
     }
 
@@ -73,6 +83,8 @@ public class AiStreamHandler implements Subscriber<ChunkData> {
     public void cancel() {
         if (subscription != null) {
             subscription.cancel();
+            // 취소되면 완료/오류 신호가 오지 않으므로 직접 알려 스트림 정리가 되게 한다
+            sendErrorEvent("AI 응답이 취소되었습니다.", STREAM_CANCELLED);
         }
     }
 
@@ -86,9 +98,13 @@ public class AiStreamHandler implements Subscriber<ChunkData> {
     }
 
     private void sendErrorEvent(String errorMessage) {
+        sendErrorEvent(errorMessage, null);
+    }
+
+    private void sendErrorEvent(String errorMessage, String errorCode) {
         eventPublisher.publishEvent(new AiMessageErrorEvent(
             this, session.getRoomId(), session.getMessageId(),
-            errorMessage, session.aiTypeEnum()
+            errorMessage, session.aiTypeEnum(), errorCode
         ));
     }
 }
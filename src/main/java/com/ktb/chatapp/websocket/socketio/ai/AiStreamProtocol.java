@@ -0,0 +1,47 @@
+package com.ktb.chatapp.websocket.socketio.ai;
+
+import com.corundumstudio.socketio.SocketIOClient;
+
+/**
+ * AI 스트리밍 청크 전송 방식.
+ *
+ * 핸드셰이크 쿼리에 aiStream=delta를 보낸 클라이언트는 증분(delta + sequence) 청크와 주기적 스냅샷을 받고,
+ * 그렇지 않은 기존 클라이언트는 매 청크마다 누적 전체 내용(fullContent)을 받는다.
+ * 방식별로 방 안에 별도 소켓 룸을 두어 한 번의 브로드캐스트로 전달한다.
+ */
+public final class AiStreamProtocol {
+
+    public static final String HANDSHAKE_PARAM = "aiStream";
+    public static final String DELTA = "delta";
+
+    private AiStreamProtocol() {
+    }
+
+    public static boolean supportsDelta(SocketIOClient client) {
+        try {
+            return DELTA.equalsIgnoreCase(client.getHandshakeData().getSingleUrlParam(HANDSHAKE_PARAM));
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    public static String deltaRoom(String roomId) {
+        return roomId + ":ai:delta";
+    }
+
+    public static String legacyRoom(String roomId) {
+        return roomId + ":ai:full";
+    }
+
+    /**
+     * 채팅방 입장 시 클라이언트 방식에 맞는 스트리밍 룸에 함께 입장시킨다.
+     */
+    public static void joinStreamRoom(SocketIOClient client, String roomId) {
+        client.joinRoom(supportsDelta(client) ? deltaRoom(roomId) : legacyRoom(roomId));
+    }
+
+    public static void leaveStreamRoom(SocketIOClient client, String roomId) {
+        client.leaveRoom(deltaRoom(roomId));
+        client.leaveRoom(legacyRoom(roomId));
+    }
+}
@@ -0,0 +1,168 @@
+package com.ktb.chatapp.websocket.socketio.ai;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * 모델이 한두 토큰씩 보내는 스트림을 시간 창(window) 또는 길이 기준으로 묶어 ChunkData로 내보낸다.
+ *
+ * 버퍼에 첫 토큰이 들어온 뒤 window가 지나거나 버퍼가 maxChars 이상이 되면 내보낸다.
+ * codeBlock 상태는 토큰 단위로 계산하고, 상태가 바뀌는 토큰 앞에서 버퍼를 끊어
+ * 묶인 청크의 codeBlock 값이 토큰별로 보냈을 때와 같게 한다.
+ * window가 0이면 묶지 않고 토큰마다 내보낸다.
+ */
+class ChunkCoalescer {
+
+    private final long windowMillis;
+    private final int maxChars;
+    private final Scheduler scheduler;
+    private final DistributionSummary emittedChunks;
+    private final DistributionSummary receivedTokens;
+    private final Timer chunkLatency;
+
+    ChunkCoalescer(Duration window, int maxChars, MeterRegistry registry) {
+        this(window, maxChars, registry, Schedulers.parallel());
+    }
+
+    ChunkCoalescer(Duration window, int maxChars, MeterRegistry registry, Scheduler scheduler) {
+        this.windowMillis = window.toMillis();
+        this.maxChars = maxChars;
+        this.scheduler = scheduler;
+        this.emittedChunks = DistributionSummary.builder("ai.stream.chunks.emitted")
+                .description("응답 하나당 내보낸 청크 수")
+                .register(registry);
+        this.receivedTokens = DistributionSummary.builder("ai.stream.tokens.received")
+                .description("응답 하나당 모델에서 받은 토큰 청크 수")
+                .register(registry);
+        this.chunkLatency = Timer.builder("ai.stream.chunk.latency")
+                .description("버퍼에 첫 토큰이 들어온 뒤 청크로 내보내기까지의 지연")
+                .register(registry);
+    }
+
+    Flux<ChunkData> coalesce(Flux<String> tokens) {
+        if (windowMillis <= 0) {
+            return Flux.defer(() -> {
+                AtomicBoolean codeBlockState = new AtomicBoolean(false);
+                AtomicLong count = new AtomicLong();
+                return tokens
+                        .map(token -> {
+                            count.incrementAndGet();
+                            return ChunkData.from(token).updateCodeBlockState(codeBlockState);
+                        })
+                        .doFinally(signal -> {
+                            receivedTokens.record(count.get());
+                            emittedChunks.record(count.get());
+                        });
+            });
+        }
+
+        return Flux.create(sink -> {
+            Buffer buffer = new Buffer(sink);
+            Disposable upstream = tokens.subscribe(buffer::append, buffer::error, buffer::complete);
+            sink.onDispose(() -> {
+                upstream.dispose();
+                buffer.dispose();
+            });
+        });
+    }
+
+    /**
+     * 응답 하나의 버퍼. 토큰 수신 스레드와 타이머 스레드가 같은 락 안에서 내보내므로 순서가 유지된다.
+     */
+    private final class Buffer {
+
+        private final FluxSink<ChunkData> sink;
+        private final AtomicBoolean codeBlockState = new AtomicBoolean(false);
+        private final StringBuilder pending = new StringBuilder();
+        private boolean pendingCodeBlock;
+        private long pendingSince;
+        private Disposable timer;
+        private long tokens;
+        private long emitted;
+        private boolean done;
+
+        Buffer(FluxSink<ChunkData> sink) {
+            this.sink = sink;
+        }
+
+        synchronized void append(String token) {
+            if (done) return;
+            tokens++;
+
+            boolean codeBlock = ChunkData.from(token).updateCodeBlockState(codeBlockState).codeBlock();
+            if (!pending.isEmpty() && codeBlock != pendingCodeBlock) {
+                flush();
+            }
+
+            if (pending.isEmpty()) {
+                pendingCodeBlock = codeBlock;
+                pendingSince = System.nanoTime();
+                timer = scheduler.schedule(this::flushOnTimer, windowMillis, TimeUnit.MILLISECONDS);
+            }
+            pending.append(token);
+
+            if (maxChars > 0 && pending.length() >= maxChars) {
+                flush();
+            }
+        }
+
+        synchronized void complete() {
+            if (done) return;
+            flush();
+            finish();
+            sink.complete();
+        }
+
+        synchronized void error(Throwable error) {
+            if (done) return;
+            // 오류 전에 받은 내용은 세션에 반영되도록 먼저 내보낸다
+            flush();
+            finish();
+            sink.error(error);
+        }
+
+        synchronized void dispose() {
+            if (done) return;
+            finish();
+        }
+
+        private synchronized void flushOnTimer() {
+            if (done) return;
+            flush();
+        }
+
+        private void flush() {
+            if (timer != null) {
+                timer.dispose();
+                timer = null;
+            }
+            if (pending.isEmpty()) return;
+
+            String chunk = pending.toString();
+            pending.setLength(0);
+            emitted++;
+            chunkLatency.record(System.nanoTime() - pendingSince, TimeUnit.NANOSECONDS);
+            sink.next(new ChunkData(chunk, pendingCodeBlock));
+        }
+
+        private void finish() {
+            done = true;
+            if (timer != null) {
+                timer.dispose();
+                timer = null;
+            }
+            receivedTokens.record(tokens);
+            emittedChunks.record(emitted);
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.ktb.chatapp.websocket.socketio.ai;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import lombok.Builder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
+import org.springframework.ai.chat.prompt.Prompt;
+import reactor.core.publisher.Flux;
+
+/**
+ * OpenAI 없이 AI 스트리밍 경로를 측정하기 위한 합성 ChatModel (fake-ai 프로필).
+ *
+ * 같은 설정과 같은 프롬프트에는 항상 같은 토큰열을 만든다.
+ * 첫 토큰 지연 뒤 tokensPerSecond 속도로 토큰을 내보내며, 코드 블록 포함과 중간 실패를 설정할 수 있다.
+ */
+@Slf4j
+@Builder
+public class FakeChatModel implements ChatModel {
+
+    private static final String[] WORDS = {
+            "안녕하세요", "질문에", "대한", "답변을", "정리하면", "다음과", "같습니다.", "먼저",
+            "핵심은", "성능과", "확장성", "그리고", "안정성입니다.", "예를", "들어", "캐시를",
+            "사용하면", "응답", "시간이", "줄어듭니다.", "또한", "비동기", "처리로", "처리량을", "높일", "수", "있습니다."
+    };
+
+    private static final String[] CODE_LINES = {
+            "public int sum(int[] values) {\n",
+            "    int total = 0;\n",
+            "    for (int value : values) {\n",
+            "        total += value;\n",
+            "    }\n",
+            "    return total;\n",
+            "}\n"
+    };
+
+    @Builder.Default
+    private final int tokensPerSecond = 50;
+    @Builder.Default
+    private final int responseTokens = 200;
+    @Builder.Default
+    private final long firstTokenDelayMillis = 300;
+    // 응답 중간에 코드 블록을 넣을지 여부
+    @Builder.Default
+    private final boolean codeBlock = true;
+    // 스트림이 중간에 실패할 확률 (0~1), 실패 지점은 시드로 결정된다
+    @Builder.Default
+    private final double failureRate = 0.0;
+    @Builder.Default
+    private final long seed = 42L;
+
+    @Override
+    public ChatResponse call(Prompt prompt) {
+        return toResponse(String.join("", tokens(prompt)));
+    }
+
+    @Override
+    public Flux<ChatResponse> stream(Prompt prompt) {
+        List<String> tokens = tokens(prompt);
+        SplittableRandom random = random(prompt);
+
+        Flux<String> stream = Flux.fromIterable(tokens);
+        if (failureRate > 0 && random.nextDouble() < failureRate) {
+            int failAt = random.nextInt(Math.max(1, tokens.size()));
+            stream = Flux.fromIterable(tokens.subList(0, failAt))
+                    .concatWith(Flux.error(new IllegalStateException("Injected fake AI failure")));
+        }
+
+        if (tokensPerSecond > 0) {
+            stream = stream.delayElements(Duration.ofNanos(1_000_000_000L / tokensPerSecond));
+        }
+        return stream
+                .delaySubscription(Duration.ofMillis(firstTokenDelayMillis))
+                .map(FakeChatModel::toResponse);
+    }
+
+    List<String> tokens(Prompt prompt) {
+        SplittableRandom random = random(prompt);
+        List<String> tokens = new ArrayList<>(responseTokens + CODE_LINES.length + 4);
+        int codeAt = codeBlock ? responseTokens / 2 : -1;
+
+        for (int i = 0; i < responseTokens; i++) {
+            if (i == codeAt) {
+                tokens.add("\n\n```java\n");
+                for (String line : CODE_LINES) {
+                    tokens.add(line);
+                }
+                tokens.add("```\n\n");
+            }
+            tokens.add(WORDS[random.nextInt(WORDS.length)] + " ");
+        }
+        return tokens;
+    }
+
+    // 실패 여부와 본문이 프롬프트마다 결정적이도록 프롬프트 내용으로 시드를 섞는다
+    private SplittableRandom random(Prompt prompt) {
+        return new SplittableRandom(seed ^ prompt.getContents().hashCode());
+    }
+
+    private static ChatResponse toResponse(String text) {
+        return new ChatResponse(List.of(new Generation(new AssistantMessage(text))));
+    }
+}
@@ -9,6 +9,8 @@ import com.ktb.chatapp.dto.MessageResponse;
 import com.ktb.chatapp.model.Message;
 import com.ktb.chatapp.service.*;
 import com.ktb.chatapp.util.BannedWordChecker;
+import com.ktb.chatapp.websocket.socketio.PostSendPipeline;
+import com.ktb.chatapp.websocket.socketio.RoomActorExecutor;
 import com.ktb.chatapp.websocket.socketio.SocketUser;
 import com.ktb.chatapp.websocket.socketio.ai.AiService;
 
@@ -16,13 +18,16 @@ import io.micrometer.core.instrument.*;
 import lombok.extern.slf4j.Slf4j;
 
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static com.ktb.chatapp.websocket.socketio.SocketIOEvents.*;
 
@@ -31,6 +36,9 @@ import static com.ktb.chatapp.websocket.socketio.SocketIOEvents.*;
 @ConditionalOnProperty(name = "socketio.enabled", havingValue = "true", matchIfMissing = true)
 public class ChatMessageHandler {
 
+    // 저장 완료 후처리와 브로드캐스트를 방 메일박스에서 실행할 때의 작업 이름 (메트릭 태그)
+    private static final String CHAT_MESSAGE_BROADCAST = CHAT_MESSAGE + ".broadcast";
+
     private final SocketIOServer socketIOServer;
 
     private final AiService aiService;
@@ -38,11 +46,14 @@ public class ChatMessageHandler {
     private final RateLimitService rateLimitService;
     private final BannedWordChecker bannedWordChecker;
     private final MessageService messageService;
+    private final PostSendPipeline postSendPipeline;
+    private final RoomActorExecutor roomActors;
 
     // Micrometer
     private final MeterRegistry registry;
     private final Counter successCounter;
     private final Counter errorCounter;
+    private final Counter skippedCounter;
     private final Timer timer;
 
     // 세션 검증 캐시
@@ -55,6 +66,8 @@ public class ChatMessageHandler {
             MessageService messageService,
             BannedWordChecker bannedWordChecker,
             SocketIOServer socketIOServer,
+            PostSendPipeline postSendPipeline,
+            RoomActorExecutor roomActors,
             MeterRegistry registry
     ) {
         this.sessionService = sessionService;
@@ -63,10 +76,13 @@ public class ChatMessageHandler {
         this.messageService = messageService;
         this.bannedWordChecker = bannedWordChecker;
         this.socketIOServer = socketIOServer;
+        this.postSendPipeline = postSendPipeline;
+        this.roomActors = roomActors;
         this.registry = registry;
 
         this.successCounter = registry.counter("socketio.messages.success");
         this.errorCounter = registry.counter("socketio.messages.error");
+        this.skippedCounter = registry.counter("socketio.messages.skipped");
         this.timer = registry.timer("socketio.messages.time");
     }
 
@@ -99,29 +115,64 @@ public class ChatMessageHandler {
                 return;
             }
 
-            // SAVE MESSAGE WITHOUT Mongo READ
-            Message saved = messageService.saveMessage(
-                    data.getMessageType(),
-                    data.getRoom(),
-                    userId,
-                    content,
-                    data.getFileData(),
-                    senderSnapshot
-            );
-
-            if (saved == null) return;
-
-            // toResponse도 ZERO Mongo READ
-            MessageResponse response = messageService.toResponse(saved);
-
-            socketIOServer.getRoomOperations(data.getRoom())
-                    .sendEvent(MESSAGE, response);
-
-            asyncHandleAIMentions(data.getRoom(), userId, content);
-            asyncUpdateLastActivity(userId);
-
-            successCounter.increment();
-            sample.stop(timer);
+            // 같은 방의 저장 순서와 브로드캐스트 순서가 어긋나지 않게 방 메일박스에서 순서만 정하고 저장 큐에 넣는다.
+            // 저장 완료는 enqueue 순서대로 오므로 완료 후처리와 브로드캐스트를 같은 메일박스에 다시 넣으면 순서가 유지되고,
+            // 메일박스는 MongoDB 커밋을 기다리지 않는다
+            String roomId = data.getRoom();
+            Executor roomMailbox = task -> roomActors.tell(roomId, CHAT_MESSAGE_BROADCAST, task);
+            AtomicReference<CompletableFuture<Message>> savedRef = new AtomicReference<>();
+            roomActors.run(roomId, CHAT_MESSAGE, () -> {
+                // SAVE MESSAGE WITHOUT Mongo READ
+                CompletableFuture<Message> saved = messageService.saveMessageAsync(
+                        data.getMessageType(),
+                        roomId,
+                        userId,
+                        content,
+                        data.getFileData(),
+                        senderSnapshot,
+                        roomMailbox
+                );
+                // 메일박스 안에서 등록해야 앞선 메시지의 브로드캐스트보다 먼저 실행되지 않는다
+                savedRef.set(saved.thenApply(message -> {
+                    if (message == null) return null;
+
+                    // toResponse도 ZERO Mongo READ
+                    MessageResponse response = messageService.toResponse(message);
+
+                    socketIOServer.getRoomOperations(roomId)
+                            .sendEvent(MESSAGE, response);
+                    return message;
+                }));
+            });
+
+            savedRef.get().whenComplete((message, error) -> {
+                if (error != null) {
+                    log.error("Message handling error - roomId: {}", roomId, error);
+                    errorCounter.increment();
+                    Throwable cause = error instanceof CompletionException && error.getCause() != null
+                            ? error.getCause() : error;
+                    sendError(client, "MESSAGE_ERROR", "메시지 처리 실패: " + cause.getMessage());
+                    sample.stop(timer);
+                    return;
+                }
+                // 저장할 내용이 없어 저장하지 않은 메시지 (빈 텍스트)
+                if (message == null) {
+                    skippedCounter.increment();
+                    sample.stop(timer);
+                    return;
+                }
+
+                // 브로드캐스트 이후 부수 작업은 소켓 스레드 밖에서 실행한다
+                if (!content.aiMentions().isEmpty()) {
+                    postSendPipeline.submit("ai-mentions",
+                            () -> aiService.handleAIMentions(roomId, userId, content));
+                }
+                postSendPipeline.submit("last-activity",
+                        () -> sessionService.updateLastActivity(userId));
+
+                successCounter.increment();
+                sample.stop(timer);
+            });
 
         } catch (Exception e) {
             log.error("Message handling error", e);
@@ -173,16 +224,6 @@ public class ChatMessageHandler {
         return true;
     }
 
-    @Async("chatTaskExecutor")
-    public void asyncHandleAIMentions(String roomId, String userId, MessageContent content) {
-        aiService.handleAIMentions(roomId, userId, content);
-    }
-
-    @Async("chatTaskExecutor")
-    public void asyncUpdateLastActivity(String userId) {
-        sessionService.updateLastActivity(userId);
-    }
-
     private void sendError(SocketIOClient client, String code, String message) {
         client.sendEvent(ERROR, Map.of("code", code, "message", message));
     }
@@ -4,8 +4,7 @@ import com.corundumstudio.socketio.SocketIOClient;
 import com.corundumstudio.socketio.annotation.OnEvent;
 import com.ktb.chatapp.dto.FetchMessagesRequest;
 import com.ktb.chatapp.dto.FetchMessagesResponse;
-import com.ktb.chatapp.model.Room;
-import com.ktb.chatapp.repository.RoomRepository;
+import com.ktb.chatapp.service.room.RoomMembershipService;
 import com.ktb.chatapp.websocket.socketio.handler.MessageLoader;
 import com.ktb.chatapp.websocket.socketio.SocketUser;
 import lombok.RequiredArgsConstructor;
@@ -23,7 +22,7 @@ import static com.ktb.chatapp.websocket.socketio.SocketIOEvents.*;
 @RequiredArgsConstructor
 public class MessageFetchHandler {
 
-    private final RoomRepository roomRepository;
+    private final RoomMembershipService roomMembershipService;
     private final MessageLoader messageLoader;
 
     @OnEvent(FETCH_PREVIOUS_MESSAGES)
@@ -40,8 +39,7 @@ public class MessageFetchHandler {
 
         try {
             // 권한 체크
-            Room room = roomRepository.findById(data.roomId()).orElse(null);
-            if (room == null || !room.getParticipantIds().contains(userId)) {
+            if (!roomMembershipService.isMember(data.roomId(), userId)) {
                 client.sendEvent(ERROR, Map.of(
                         "code", "LOAD_ERROR",
                         "message", "채팅방 접근 권한이 없습니다."
@@ -50,11 +48,10 @@ public class MessageFetchHandler {
             }
 
             // 안전한 limit 적용 (최대 30)
-            int requestedLimit = data.limit();
-            int safeLimit = Math.min(requestedLimit > 0 ? requestedLimit : 30, 30);
+            int safeLimit = Math.min(data.limit(30), 30);
 
             FetchMessagesRequest safeRequest =
-                    new FetchMessagesRequest(data.roomId(), safeLimit, data.before());
+                    new FetchMessagesRequest(data.roomId(), safeLimit, data.before(), data.cursor());
 
             client.sendEvent(MESSAGE_LOAD_START);
 
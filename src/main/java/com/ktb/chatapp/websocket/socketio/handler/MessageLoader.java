@@ -2,18 +2,19 @@ package com.ktb.chatapp.websocket.socketio.handler;
 
 import com.ktb.chatapp.dto.FetchMessagesRequest;
 import com.ktb.chatapp.dto.FetchMessagesResponse;
+import com.ktb.chatapp.dto.MessageResponse;
 import com.ktb.chatapp.model.Message;
 import com.ktb.chatapp.repository.MessageRepository;
 import com.ktb.chatapp.service.MessageReadStatusService;
 import com.ktb.chatapp.service.MessageService;
+import com.ktb.chatapp.service.message.MessageCursor;
+import com.ktb.chatapp.service.message.ReactionCountCache;
+import com.ktb.chatapp.service.message.RecentMessageCache;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Qualifier;
-import org.springframework.data.domain.*;
+import org.springframework.data.domain.Limit;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
-import org.springframework.data.redis.core.RedisTemplate;
 
-import java.time.*;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
 
@@ -21,30 +22,32 @@ import java.util.concurrent.CompletableFuture;
 @Component
 public class MessageLoader {
 
-    private static final int PAGE_SIZE = 30;
-    private static final long CACHE_SECONDS = 30;
+    private static final int PAGE_SIZE = RecentMessageCache.CAPACITY;
 
     private final MessageRepository messageRepository;
     private final MessageService messageService;
     private final MessageReadStatusService messageReadStatusService;
-    private final RedisTemplate<String, Object> redis;
+    private final RecentMessageCache recentMessageCache;
+    private final ReactionCountCache reactionCountCache;
 
     public MessageLoader(
             MessageRepository messageRepository,
             MessageService messageService,
             MessageReadStatusService messageReadStatusService,
-            @Qualifier("cacheRedisTemplate") RedisTemplate<String, Object> redis
+            RecentMessageCache recentMessageCache,
+            ReactionCountCache reactionCountCache
     ) {
         this.messageRepository = messageRepository;
         this.messageService = messageService;
         this.messageReadStatusService = messageReadStatusService;
-        this.redis = redis;
+        this.recentMessageCache = recentMessageCache;
+        this.reactionCountCache = reactionCountCache;
     }
 
     public FetchMessagesResponse loadMessages(FetchMessagesRequest req, String userId) {
         try {
-            LocalDateTime before = convertBefore(req.before());
-            return loadMessagesInternal(req.roomId(), PAGE_SIZE, before, userId);
+            MessageCursor cursor = resolveCursor(req);
+            return loadMessagesInternal(req.roomId(), PAGE_SIZE, cursor, userId);
         } catch (Exception e) {
             log.error("Error loading messages for room {}", req.roomId(), e);
             return FetchMessagesResponse.builder()
@@ -54,83 +57,118 @@ public class MessageLoader {
         }
     }
 
-    //before == null → 최신 페이지
-    //before != null → 이전 메시지 페이지
-    private LocalDateTime convertBefore(Long beforeMillis) {
-        if (beforeMillis == null) {
-            return null;
+    //cursor == null → 최신 페이지
+    //cursor != null → 이전 메시지 페이지 (cursor가 없으면 기존 before 파라미터 사용)
+    private MessageCursor resolveCursor(FetchMessagesRequest req) {
+        if (req.cursor() != null) {
+            return MessageCursor.decode(req.cursor())
+                    .orElseThrow(() -> new IllegalArgumentException("유효하지 않은 커서입니다."));
         }
-        return Instant.ofEpochMilli(beforeMillis)
-                .atZone(ZoneId.systemDefault())
-                .toLocalDateTime();
+        if (req.before() != null && req.before() > 0) {
+            return MessageCursor.before(req.before());
+        }
+        return null;
     }
 
     private FetchMessagesResponse loadMessagesInternal(
             String roomId,
             int limit,
-            LocalDateTime before,
+            MessageCursor cursor,
             String userId
     ) {
-        String cacheKey = buildCacheKey(roomId);
-
-        // 캐시는 "first-page" 에서만 사용
-        if (before == null) {
-            List<Message> cached = null;
-            try {
-                cached = (List<Message>) redis.opsForValue().get(cacheKey);
-            } catch (Exception e) {
-                log.warn("Redis cache get failed, fallback to Mongo. key={}", cacheKey, e);
-            }
-
-            if (cached != null) {
-                asyncUpdateReadStatus(cached, userId);
-                return FetchMessagesResponse.builder()
-                        .messages(cached.stream().map(messageService::toResponse).toList())
-                        .hasMore(cached.size() == PAGE_SIZE)
-                        .build();
+        // 캐시는 "first-page" 에서만 사용 (MessageService가 쓰는 최신 메시지 List와 동일)
+        String cacheVersion = null;
+        if (cursor == null) {
+            Optional<List<Message>> cached = recentMessageCache.latest(roomId);
+            if (cached.isPresent()) {
+                List<Message> messages = cached.get();
+                asyncUpdateReadStatus(messages, userId);
+                return toResponse(roomId, messages, messages.size() == PAGE_SIZE, userId);
             }
+            cacheVersion = recentMessageCache.version(roomId);
         }
 
-        // MongoDB 조회 (항상 정확한 소스)
-        Pageable pageable = PageRequest.of(0, limit, Sort.by("timestamp").descending());
-
-        Page<Message> messagePage =
-                messageRepository.findByRoomIdAndIsDeletedAndTimestampBefore(
-                        roomId,
-                        false,
-                        before == null ? LocalDateTime.now() : before,
-                        pageable
-                );
-
-        List<Message> messages = messagePage.getContent();
-
-        // 캐시 저장도 first-page만
-        if (before == null) {
-            try {
-                redis.opsForValue().set(cacheKey, messages, Duration.ofSeconds(CACHE_SECONDS));
-            } catch (Exception e) {
-                log.warn("Redis cache set failed, skip caching. key={}", cacheKey, e);
-            }
+        // MongoDB keyset 조회: limit + 1개를 읽어 다음 페이지 존재 여부를 판단 (count 쿼리 없음)
+        Limit fetchLimit = Limit.of(limit + 1);
+        List<Message> fetched = cursor == null
+                ? messageRepository.findLatestByRoomId(roomId, fetchLimit)
+                : messageRepository.findByRoomIdBeforeCursor(
+                        roomId, cursor.timestamp(), cursor.id(), fetchLimit);
+
+        boolean hasMore = fetched.size() > limit;
+        List<Message> messages = hasMore ? fetched.subList(0, limit) : fetched;
+
+        // 캐시 seed도 first-page만
+        if (cursor == null) {
+            recentMessageCache.seed(roomId, cacheVersion, messages);
         }
 
         asyncUpdateReadStatus(messages, userId);
 
+        return toResponse(roomId, messages, hasMore, userId);
+    }
+
+    private FetchMessagesResponse toResponse(
+            String roomId, List<Message> newestFirst, boolean hasMore, String userId) {
+        String nextCursor = hasMore && !newestFirst.isEmpty()
+                ? MessageCursor.of(newestFirst.getLast()).encode()
+                : null;
+
+        // 읽은 사용자/리액션한 사용자 목록 대신 수와 "내가 읽었는지/눌렀는지"만 보낸다
+        Map<String, Long> watermarks = messageReadStatusService.watermarks(roomId);
+        long myWatermark = watermarks.getOrDefault(userId, 0L);
+        Map<String, Map<String, Integer>> cachedCounts = reactionCountCache.counts(
+                newestFirst.stream().map(Message::getId).toList());
+
+        List<MessageResponse> responses = newestFirst.stream()
+                .map(message -> summarize(message, userId, watermarks, myWatermark, cachedCounts))
+                .toList();
+
         return FetchMessagesResponse.builder()
-                .messages(messages.stream().map(messageService::toResponse).toList())
-                .hasMore(messagePage.hasNext())
+                .messages(responses)
+                .hasMore(hasMore)
+                .nextCursor(nextCursor)
                 .build();
     }
 
-    //first-page 전용 캐시 키
-    private String buildCacheKey(String roomId) {
-        return "cache:messages:room:" + roomId + ":first-page";
+    private MessageResponse summarize(
+            Message message,
+            String userId,
+            Map<String, Long> watermarks,
+            long myWatermark,
+            Map<String, Map<String, Integer>> cachedCounts
+    ) {
+        MessageResponse response = messageService.toResponse(message);
+
+        Map<String, Set<String>> reactions = message.getReactions() != null ? message.getReactions() : Map.of();
+        Map<String, Integer> counts = cachedCounts.get(message.getId());
+        if (counts == null) {
+            counts = new LinkedHashMap<>();
+            for (Map.Entry<String, Set<String>> entry : reactions.entrySet()) {
+                if (!entry.getValue().isEmpty()) counts.put(entry.getKey(), entry.getValue().size());
+            }
+        }
+        Set<String> mine = new LinkedHashSet<>();
+        reactions.forEach((reaction, users) -> {
+            if (users.contains(userId)) mine.add(reaction);
+        });
+
+        long timestamp = response.getTimestamp();
+        int readCount = (int) watermarks.values().stream().filter(readUpTo -> readUpTo >= timestamp).count();
+
+        response.setReactions(null);
+        response.setReaders(null);
+        response.setReactionCounts(counts);
+        response.setMyReactions(mine);
+        response.setReadCount(readCount);
+        response.setReadByMe(myWatermark >= timestamp);
+        return response;
     }
 
     @Async
     public CompletableFuture<Void> asyncUpdateReadStatus(List<Message> messages, String userId) {
         try {
-            List<String> ids = messages.stream().map(Message::getId).toList();
-            messageReadStatusService.updateReadStatus(ids, userId);
+            messageReadStatusService.markRead(messages, userId);
         } catch (Exception e) {
             log.error("async updateReadStatus failed", e);
         }
@@ -5,10 +5,11 @@ import com.corundumstudio.socketio.SocketIOServer;
 import com.corundumstudio.socketio.annotation.OnEvent;
 import com.ktb.chatapp.dto.MessageReactionRequest;
 import com.ktb.chatapp.dto.MessageReactionResponse;
-import com.ktb.chatapp.model.Message;
-import com.ktb.chatapp.repository.MessageRepository;
+import com.ktb.chatapp.service.message.MessageReactionService;
+import com.ktb.chatapp.service.message.ReactionUpdate;
 import com.ktb.chatapp.websocket.socketio.SocketUser;
 import java.util.Map;
+import java.util.Optional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
@@ -27,7 +28,7 @@ import static com.ktb.chatapp.websocket.socketio.SocketIOEvents.*;
 public class MessageReactionHandler {
     
     private final SocketIOServer socketIOServer;
-    private final MessageRepository messageRepository;
+    private final MessageReactionService messageReactionService;
     
     @OnEvent(MESSAGE_REACTION)
     public void handleMessageReaction(SocketIOClient client, MessageReactionRequest data) {
@@ -38,34 +39,43 @@ public class MessageReactionHandler {
                 return;
             }
 
-            Message message = messageRepository.findById(data.getMessageId()).orElse(null);
-            if (message == null) {
-                client.sendEvent(ERROR, Map.of("message", "메시지를 찾을 수 없습니다."));
+            String type = data.getType();
+            if (!"add".equals(type) && !"remove".equals(type)) {
+                client.sendEvent(ERROR, Map.of("message", "지원하지 않는 리액션 타입입니다."));
                 return;
             }
 
-            switch (data.getType()) {
-                case "add" -> message.addReaction(data.getReaction(), userId);
-                case "remove" -> message.removeReaction(data.getReaction(), userId);
-                case null, default -> {
-                    client.sendEvent(ERROR, Map.of("message", "지원하지 않는 리액션 타입입니다."));
-                    return;
-                }
+            // reactions.<리액션> 필드만 원자적으로 갱신한다 (메시지 전체를 읽고 저장하지 않는다)
+            Optional<ReactionUpdate> result = "add".equals(type)
+                ? messageReactionService.addReaction(data.getMessageId(), data.getReaction(), userId)
+                : messageReactionService.removeReaction(data.getMessageId(), data.getReaction(), userId);
+            if (result.isEmpty()) {
+                client.sendEvent(ERROR, Map.of("message", "메시지를 찾을 수 없습니다."));
+                return;
             }
 
-            log.debug("Message reaction processed - type: {}, reaction: {}, messageId: {}, userId: {}",
-                data.getType(), data.getReaction(), message.getId(), userId);
-
-            messageRepository.save(message);
+            ReactionUpdate update = result.get();
+            log.debug("Message reaction processed - type: {}, reaction: {}, messageId: {}, userId: {}, changed: {}",
+                data.getType(), data.getReaction(), update.messageId(), userId, update.changed());
 
             MessageReactionResponse response = new MessageReactionResponse(
-                message.getId(),
-                message.getReactions()
+                update.messageId(),
+                update.reactions(),
+                update.counts(),
+                update.version()
             );
 
-            socketIOServer.getRoomOperations(message.getRoomId())
+            // 이미 반영된 요청이면 요청한 클라이언트만 현재 상태로 맞춘다
+            if (!update.changed()) {
+                client.sendEvent(MESSAGE_REACTION_UPDATE, response);
+                return;
+            }
+
+            socketIOServer.getRoomOperations(update.roomId())
                 .sendEvent(MESSAGE_REACTION_UPDATE, response);
 
+        } catch (IllegalArgumentException e) {
+            client.sendEvent(ERROR, Map.of("message", e.getMessage()));
         } catch (Exception e) {
             log.error("Error handling messageReaction", e);
             client.sendEvent(ERROR, Map.of(
@@ -6,13 +6,11 @@ import com.corundumstudio.socketio.annotation.OnEvent;
 import com.ktb.chatapp.dto.MarkAsReadRequest;
 import com.ktb.chatapp.dto.MessagesReadResponse;
 import com.ktb.chatapp.model.Message;
-import com.ktb.chatapp.model.Room;
-import com.ktb.chatapp.model.User;
 import com.ktb.chatapp.repository.MessageRepository;
-import com.ktb.chatapp.repository.RoomRepository;
-import com.ktb.chatapp.repository.UserRepository;
 import com.ktb.chatapp.service.MessageReadStatusService;
+import com.ktb.chatapp.service.room.RoomMembershipService;
 import com.ktb.chatapp.websocket.socketio.SocketUser;
+import java.util.List;
 import java.util.Map;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -34,8 +32,7 @@ public class MessageReadHandler {
     private final SocketIOServer socketIOServer;
     private final MessageReadStatusService messageReadStatusService;
     private final MessageRepository messageRepository;
-    private final RoomRepository roomRepository;
-    private final UserRepository userRepository;
+    private final RoomMembershipService roomMembershipService;
     
     @OnEvent(MARK_MESSAGES_AS_READ)
     public void handleMarkAsRead(SocketIOClient client, MarkAsReadRequest data) {
@@ -50,27 +47,37 @@ public class MessageReadHandler {
                 return;
             }
             
-            String roomId = messageRepository.findById(data.getMessageIds().getFirst())
-                    .map(Message::getRoomId).orElse(null);
-            
-            if (roomId == null || roomId.isBlank()) {
-                client.sendEvent(ERROR, Map.of("message", "Invalid room"));
-                return;
-            }
+            // 방을 보내 온 경우 권한부터 메모리에서 확인하고, 그 방 메시지의 timestamp만 읽는다
+            String roomId = data.getRoomId();
+            List<Message> targets;
+            if (roomId != null && !roomId.isBlank()) {
+                if (!roomMembershipService.isMember(roomId, userId)) {
+                    client.sendEvent(ERROR, Map.of("message", "Room access denied"));
+                    return;
+                }
+                targets = messageRepository.findReadPositionsByRoomIdAndIdIn(roomId, data.getMessageIds());
+            } else {
+                targets = messageRepository.findReadPositionsByIdIn(data.getMessageIds());
+                roomId = targets.isEmpty() ? null : targets.getFirst().getRoomId();
 
-            User user = userRepository.findById(userId).orElse(null);
-            if (user == null) {
-                client.sendEvent(ERROR, Map.of("message", "User not found"));
-                return;
-            }
+                if (roomId == null || roomId.isBlank()) {
+                    client.sendEvent(ERROR, Map.of("message", "Invalid room"));
+                    return;
+                }
 
-            Room room = roomRepository.findById(roomId).orElse(null);
-            if (room == null || !room.getParticipantIds().contains(userId)) {
-                client.sendEvent(ERROR, Map.of("message", "Room access denied"));
-                return;
+                if (!roomMembershipService.isMember(roomId, userId)) {
+                    client.sendEvent(ERROR, Map.of("message", "Room access denied"));
+                    return;
+                }
             }
-            
-            messageReadStatusService.updateReadStatus(data.getMessageIds(), userId);
+            String readRoomId = roomId;
+
+            // 같은 방 메시지 중 가장 최신 것까지 읽음 위치를 올린다
+            targets.stream()
+                    .filter(message -> readRoomId.equals(message.getRoomId()) && message.getTimestamp() != null)
+                    .mapToLong(Message::toTimestampMillis)
+                    .max()
+                    .ifPresent(readUpTo -> messageReadStatusService.markRead(readRoomId, userId, readUpTo));
 
             MessagesReadResponse response = new MessagesReadResponse(userId, data.getMessageIds());
 
@@ -0,0 +1,74 @@
+package com.ktb.chatapp.websocket.socketio.handler;
+
+import com.corundumstudio.socketio.SocketIOClient;
+import com.corundumstudio.socketio.annotation.OnEvent;
+import com.ktb.chatapp.dto.FetchMessageReadersRequest;
+import com.ktb.chatapp.dto.MessageReadersResponse;
+import com.ktb.chatapp.model.Message;
+import com.ktb.chatapp.repository.MessageRepository;
+import com.ktb.chatapp.service.MessageReadStatusService;
+import com.ktb.chatapp.service.room.RoomMembershipService;
+import com.ktb.chatapp.websocket.socketio.SocketUser;
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import static com.ktb.chatapp.websocket.socketio.SocketIOEvents.*;
+
+/**
+ * 메시지 읽은 사용자 목록 조회 핸들러
+ * 메시지 목록에는 읽은 사용자 수만 보내고, 전체 목록은 메시지 하나 단위로 요청받아 보낸다
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "socketio.enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+public class MessageReadersHandler {
+
+    private final MessageReadStatusService messageReadStatusService;
+    private final MessageRepository messageRepository;
+    private final RoomMembershipService roomMembershipService;
+
+    @OnEvent(FETCH_MESSAGE_READERS)
+    public void handleFetchReaders(SocketIOClient client, FetchMessageReadersRequest data) {
+        try {
+            SocketUser user = client.get("user");
+            if (user == null) {
+                client.sendEvent(ERROR, Map.of("message", "Unauthorized"));
+                return;
+            }
+
+            if (data == null || data.getMessageId() == null || data.getMessageId().isBlank()) {
+                return;
+            }
+
+            // 메시지 전체 대신 방과 timestamp만 읽는다
+            List<Message> found = messageRepository.findReadPositionsByIdIn(List.of(data.getMessageId()));
+            if (found.isEmpty() || found.getFirst().getTimestamp() == null) {
+                client.sendEvent(ERROR, Map.of("message", "메시지를 찾을 수 없습니다."));
+                return;
+            }
+            Message message = found.getFirst();
+
+            if (!roomMembershipService.isMember(message.getRoomId(), user.id())) {
+                client.sendEvent(ERROR, Map.of("message", "Room access denied"));
+                return;
+            }
+
+            List<Message.MessageReader> readers = messageReadStatusService
+                    .readers(message.getRoomId(), List.of(message))
+                    .getOrDefault(message.getId(), List.of());
+
+            client.sendEvent(MESSAGE_READERS, new MessageReadersResponse(message.getId(), readers));
+
+        } catch (Exception e) {
+            log.error("Error handling fetchMessageReaders", e);
+            client.sendEvent(ERROR, Map.of(
+                    "message", "읽은 사용자 목록을 불러오는 중 오류가 발생했습니다."
+            ));
+        }
+    }
+}
@@ -3,24 +3,25 @@ package com.ktb.chatapp.websocket.socketio.handler;
 import com.corundumstudio.socketio.SocketIOClient;
 import com.corundumstudio.socketio.SocketIOServer;
 import com.corundumstudio.socketio.annotation.OnEvent;
+import com.ktb.chatapp.dto.ActiveStreamResponse;
 import com.ktb.chatapp.dto.FetchMessagesRequest;
 import com.ktb.chatapp.dto.FetchMessagesResponse;
 import com.ktb.chatapp.dto.JoinRoomRequest;
 import com.ktb.chatapp.dto.JoinRoomSuccessResponse;
 import com.ktb.chatapp.dto.UserResponse;
 import com.ktb.chatapp.model.Message;
-import com.ktb.chatapp.model.MessageType;
 import com.ktb.chatapp.model.Room;
-import com.ktb.chatapp.model.User;
-import com.ktb.chatapp.repository.MessageRepository;
 import com.ktb.chatapp.repository.RoomRepository;
-import com.ktb.chatapp.repository.UserRepository;
 import com.ktb.chatapp.service.MessageService;
 import com.ktb.chatapp.service.SessionService;
 import com.ktb.chatapp.service.RoomPasswordService;
 import com.ktb.chatapp.websocket.socketio.SocketUser;
 import com.ktb.chatapp.websocket.socketio.UserRooms;
 import com.ktb.chatapp.websocket.socketio.ChatDataStore;
+import com.ktb.chatapp.websocket.socketio.ParticipantBroadcaster;
+import com.ktb.chatapp.websocket.socketio.RoomActorExecutor;
+import com.ktb.chatapp.websocket.socketio.ai.AiActiveStreamRegistry;
+import com.ktb.chatapp.websocket.socketio.ai.AiStreamProtocol;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -28,9 +29,7 @@ import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
 
 import java.time.Duration;
-import java.time.LocalDateTime;
 import java.util.*;
-import java.util.stream.Collectors;
 
 import static com.ktb.chatapp.websocket.socketio.SocketIOEvents.*;
 
@@ -41,15 +40,16 @@ import static com.ktb.chatapp.websocket.socketio.SocketIOEvents.*;
 public class RoomJoinHandler {
 
     private final SocketIOServer socketIOServer;
-    private final MessageRepository messageRepository;
     private final RoomRepository roomRepository;
-    private final UserRepository userRepository;
     private final UserRooms userRooms;
     private final MessageLoader messageLoader;
     private final MessageService messageService;
     private final SessionService sessionService;
     private final ChatDataStore chatDataStore;
     private final RoomPasswordService roomPasswordService;
+    private final AiActiveStreamRegistry aiActiveStreamRegistry;
+    private final RoomActorExecutor roomActors;
+    private final ParticipantBroadcaster participantBroadcaster;
 
     @OnEvent(JOIN_ROOM)
     public void handleJoinRoom(SocketIOClient client, JoinRoomRequest request) {
@@ -96,58 +96,62 @@ public class RoomJoinHandler {
                 chatDataStore.set(authKey, true);
             }
 
-            if (userRooms.isInRoom(userId, roomId)) {
-                client.joinRoom(roomId);
-                client.sendEvent(JOIN_ROOM_SUCCESS, Map.of("roomId", roomId));
-                return;
-            }
+            // 참여 상태 변경과 브로드캐스트는 같은 방의 퇴장/메시지와 섞이지 않게 방 메일박스에서 처리한다
+            roomActors.run(roomId, JOIN_ROOM, () -> join(client, room, userId, userName));
+
+        } catch (Exception e) {
+            log.error("JOIN_ROOM 처리 중 오류", e);
+            client.sendEvent(JOIN_ROOM_ERROR, Map.of("message",
+                    e.getMessage() != null ? e.getMessage() : "채팅방 입장 오류"));
+        }
+    }
 
-            userRooms.add(userId, roomId);
+    private void join(SocketIOClient client, Room room, String userId, String userName) {
+        String roomId = room.getId();
 
-            // 실제 소켓 join
+        if (userRooms.isInRoom(userId, roomId)) {
             client.joinRoom(roomId);
+            AiStreamProtocol.joinStreamRoom(client, roomId);
+            // 재접속한 클라이언트도 진행 중인 AI 응답을 이어 받는다
+            client.sendEvent(JOIN_ROOM_SUCCESS, Map.of(
+                    "roomId", roomId,
+                    "activeStreams", aiActiveStreamRegistry.activeStreams(roomId)));
+            return;
+        }
 
-            Message joinMessage = Message.builder()
-                    .roomId(roomId)
-                    .type(MessageType.system)
-                    .content(userName + "님이 입장하였습니다.")
-                    .timestamp(LocalDateTime.now())
-                    .metadata(new HashMap<>())
-                    .build();
+        userRooms.add(userId, roomId);
 
-            joinMessage = messageRepository.save(joinMessage);
+        // 실제 소켓 join
+        client.joinRoom(roomId);
+        AiStreamProtocol.joinStreamRoom(client, roomId);
 
-            FetchMessagesRequest fetchRequest = new FetchMessagesRequest(roomId, 30, null);
-            FetchMessagesResponse fetched = messageLoader.loadMessages(fetchRequest, userId);
+        // 스트림 룸 입장 후, 메시지 조회 전에 읽어야 빠지는 청크나 응답이 없다
+        List<ActiveStreamResponse> activeStreams = aiActiveStreamRegistry.activeStreams(roomId);
 
-            List<UserResponse> participants = userRepository.findByIdIn(room.getParticipantIds())
-                    .stream()
-                    .map(UserResponse::from)
-                    .collect(Collectors.toList());
+        Message joinMessage = messageService.saveSystemMessage(roomId, userName + "님이 입장하였습니다.");
 
-            JoinRoomSuccessResponse response = JoinRoomSuccessResponse.builder()
-                    .roomId(roomId)
-                    .participants(participants)
-                    .messages(fetched.getMessages())
-                    .hasMore(fetched.isHasMore())
-                    .activeStreams(Collections.emptyList())
-                    .build();
+        FetchMessagesRequest fetchRequest = new FetchMessagesRequest(roomId, 30, null);
+        FetchMessagesResponse fetched = messageLoader.loadMessages(fetchRequest, userId);
 
-            client.sendEvent(JOIN_ROOM_SUCCESS, response);
+        List<UserResponse> participants = participantBroadcaster.participants(roomId);
 
-            socketIOServer.getRoomOperations(roomId)
-                    .sendEvent(MESSAGE, messageService.toResponse(joinMessage));
+        JoinRoomSuccessResponse response = JoinRoomSuccessResponse.builder()
+                .roomId(roomId)
+                .participants(participants)
+                .messages(fetched.getMessages())
+                .hasMore(fetched.isHasMore())
+                .nextCursor(fetched.getNextCursor())
+                .activeStreams(activeStreams)
+                .build();
 
-            socketIOServer.getRoomOperations(roomId)
-                    .sendEvent(PARTICIPANTS_UPDATE, participants);
+        client.sendEvent(JOIN_ROOM_SUCCESS, response);
 
-            log.info("User {} joined room {}, messages={}, more={}",
-                    userName, roomId, fetched.getMessages().size(), fetched.isHasMore());
+        socketIOServer.getRoomOperations(roomId)
+                .sendEvent(MESSAGE, messageService.toResponse(joinMessage));
 
-        } catch (Exception e) {
-            log.error("JOIN_ROOM 처리 중 오류", e);
-            client.sendEvent(JOIN_ROOM_ERROR, Map.of("message",
-                    e.getMessage() != null ? e.getMessage() : "채팅방 입장 오류"));
-        }
+        participantBroadcaster.joined(roomId, userId, userName);
+
+        log.info("User {} joined room {}, messages={}, more={}",
+                userName, roomId, fetched.getMessages().size(), fetched.isHasMore());
     }
-}
\ No newline at end of file
+}
@@ -4,27 +4,23 @@ import com.corundumstudio.socketio.SocketIOClient;
 import com.corundumstudio.socketio.SocketIOServer;
 import com.corundumstudio.socketio.annotation.OnEvent;
 import com.ktb.chatapp.dto.MessageResponse;
-import com.ktb.chatapp.dto.UserResponse;
 import com.ktb.chatapp.model.Message;
-import com.ktb.chatapp.model.MessageType;
-import com.ktb.chatapp.model.Room;
-import com.ktb.chatapp.model.User;
-import com.ktb.chatapp.repository.MessageRepository;
-import com.ktb.chatapp.repository.RoomRepository;
-import com.ktb.chatapp.repository.UserRepository;
 import com.ktb.chatapp.service.MessageService;
 import com.ktb.chatapp.service.SessionService;
+import com.ktb.chatapp.service.room.RoomMembershipService;
+import com.ktb.chatapp.websocket.socketio.ParticipantBroadcaster;
+import com.ktb.chatapp.websocket.socketio.RoomActorExecutor;
 import com.ktb.chatapp.websocket.socketio.SocketUser;
 import com.ktb.chatapp.websocket.socketio.UserRooms;
+import com.ktb.chatapp.websocket.socketio.ai.AiStreamGovernor;
+import com.ktb.chatapp.websocket.socketio.ai.AiStreamProtocol;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
 
-import java.time.LocalDateTime;
 import java.util.*;
-import java.util.stream.Collectors;
 
 import static com.ktb.chatapp.websocket.socketio.SocketIOEvents.*;
 
@@ -35,12 +31,13 @@ import static com.ktb.chatapp.websocket.socketio.SocketIOEvents.*;
 public class RoomLeaveHandler {
 
     private final SocketIOServer socketIOServer;
-    private final MessageRepository messageRepository;
-    private final RoomRepository roomRepository;
-    private final UserRepository userRepository;
+    private final RoomMembershipService roomMembershipService;
     private final UserRooms userRooms;
     private final SessionService sessionService;
     private final MessageService messageService;
+    private final AiStreamGovernor aiStreamGovernor;
+    private final RoomActorExecutor roomActors;
+    private final ParticipantBroadcaster participantBroadcaster;
 
     @OnEvent(LEAVE_ROOM)
     public void handleLeaveRoom(SocketIOClient client, String roomId) {
@@ -61,45 +58,54 @@ public class RoomLeaveHandler {
                 return;
             }
 
-            // RedisA에 기록된 참여 여부 확인
-            if (!userRooms.isInRoom(userId, roomId)) {
-                log.debug("User {} is not in room {}", userId, roomId);
-                return;
-            }
+            // 참여 여부 확인부터 브로드캐스트까지 같은 방의 입장/메시지와 섞이지 않게 방 메일박스에서 처리한다
+            roomActors.run(roomId, LEAVE_ROOM, () -> leave(client, userId, userName, roomId));
 
-            // MongoDB Room 조회 — 참가자 목록 읽기용으로만 사용
-            Room room = roomRepository.findById(roomId).orElse(null);
-            if (room == null) {
-                log.warn("Room {} does not exist", roomId);
-                return;
-            }
+        } catch (Exception e) {
+            log.error("Error handling leaveRoom", e);
+            client.sendEvent(ERROR, Map.of("message", "채팅방 퇴장 중 오류가 발생했습니다."));
+        }
+    }
 
-            // DB에서 참가자 제거 → 부하테스트 병목 제거
-            // room.getParticipantIds().remove(userId);
-            // roomRepository.save(room);
+    private void leave(SocketIOClient client, String userId, String userName, String roomId) {
+        // RedisA에 기록된 참여 여부 확인
+        if (!userRooms.isInRoom(userId, roomId)) {
+            log.debug("User {} is not in room {}", userId, roomId);
+            return;
+        }
 
-            // RedisA 기반 참여자 제거
-            userRooms.remove(userId, roomId);
+        // 참가자 목록은 Room 문서 대신 참가자 캐시에서 읽는다
+        Set<String> participantIds = roomMembershipService.members(roomId);
+        if (participantIds.isEmpty()) {
+            log.warn("Room {} does not exist", roomId);
+            return;
+        }
 
-            // 소켓에서 제거
-            client.leaveRoom(roomId);
+        // DB에서 참가자 제거 → 부하테스트 병목 제거
+        // room.getParticipantIds().remove(userId);
+        // roomRepository.save(room);
 
-            log.info("User {} left room {}", userName, room.getName());
+        // RedisA 기반 참여자 제거
+        userRooms.remove(userId, roomId);
 
-            // 시스템 메시지 전송
-            sendSystemMessage(roomId, userName + "님이 퇴장하였습니다.");
+        // 소켓에서 제거
+        client.leaveRoom(roomId);
+        AiStreamProtocol.leaveStreamRoom(client, roomId);
 
-            // 참여자 목록 업데이트 (read-only DB + RedisA 조합)
-            broadcastParticipantList(room);
+        log.info("User {} left room {}", userName, roomId);
 
-            // 프론트 이벤트
-            socketIOServer.getRoomOperations(roomId)
-                    .sendEvent(USER_LEFT, Map.of("userId", userId, "userName", userName));
+        // 마지막 참여자가 나갔으면 진행 중인 AI 응답을 멈춘다
+        aiStreamGovernor.onParticipantLeft(roomId, participantIds);
 
-        } catch (Exception e) {
-            log.error("Error handling leaveRoom", e);
-            client.sendEvent(ERROR, Map.of("message", "채팅방 퇴장 중 오류가 발생했습니다."));
-        }
+        // 시스템 메시지 전송
+        sendSystemMessage(roomId, userName + "님이 퇴장하였습니다.");
+
+        // 퇴장 변경분은 바로, 전체 참여자 목록은 방마다 주기적으로 한 번
+        participantBroadcaster.left(roomId, userId, userName);
+
+        // 프론트 이벤트
+        socketIOServer.getRoomOperations(roomId)
+                .sendEvent(USER_LEFT, Map.of("userId", userId, "userName", userName));
     }
 
     /**
@@ -107,15 +113,7 @@ public class RoomLeaveHandler {
      */
     private void sendSystemMessage(String roomId, String content) {
         try {
-            Message msg = Message.builder()
-                    .roomId(roomId)
-                    .type(MessageType.system)
-                    .timestamp(LocalDateTime.now())
-                    .content(content)
-                    .metadata(Map.of())
-                    .build();
-
-            Message saved = messageRepository.save(msg);
+            Message saved = messageService.saveSystemMessage(roomId, content);
 
             MessageResponse response = messageService.toResponse(saved);
 
@@ -125,30 +123,4 @@ public class RoomLeaveHandler {
             log.error("Error sending system message", e);
         }
     }
-
-    /**
-     * 참가자 목록 한 번에 브로드캐스트
-     * MongoDB는 읽기만 하고, 참여자 상태는 RedisA(UserRooms)가 관리
-     */
-    private void broadcastParticipantList(Room room) {
-
-        Set<String> ids = room.getParticipantIds(); // 원본 구조 유지: "정적" 참가자 목록
-
-        // 실제 참여 여부는 RedisA에서 보장됨
-        if (ids.isEmpty()) {
-            socketIOServer.getRoomOperations(room.getId())
-                    .sendEvent(PARTICIPANTS_UPDATE, List.of());
-            return;
-        }
-
-        List<User> users = userRepository.findByIdIn(ids);
-
-        List<UserResponse> participants =
-                users.stream()
-                        .map(UserResponse::from)
-                        .collect(Collectors.toList());
-
-        socketIOServer.getRoomOperations(room.getId())
-                .sendEvent(PARTICIPANTS_UPDATE, participants);
-    }
-}
\ No newline at end of file
+}
@@ -1,10 +1,13 @@
 package com.ktb.chatapp.websocket.socketio.handler;
 
 import com.ktb.chatapp.model.AiType;
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 
 @Data
@@ -21,8 +24,14 @@ public class StreamingSession {
     private long timestamp;
     @Builder.Default
     private long lastUpdate = System.currentTimeMillis();
+    // 누적 응답 (append-only). 문자열 복사는 스냅샷/완료 시에만 일어난다
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
     @Builder.Default
-    private String content = "";
+    private StringBuilder content = new StringBuilder();
+    // 마지막으로 추가된 청크의 순번 (1부터 시작)
+    @Setter(AccessLevel.NONE)
+    private long sequence;
 
     public AiType aiTypeEnum() {
         if (aiType == null) return null;
@@ -38,9 +47,21 @@ public class StreamingSession {
         return aiTypeEnum;
     }
 
-    public void appendContent(String contentChunk) {
-        content += contentChunk;
+    /**
+     * 청크를 누적하고 해당 청크의 순번을 반환한다.
+     */
+    public long appendContent(String contentChunk) {
+        content.append(contentChunk);
         lastUpdate = System.currentTimeMillis();
+        return ++sequence;
+    }
+
+    public String getContent() {
+        return content.toString();
+    }
+
+    public int contentLength() {
+        return content.length();
     }
     
     public long generationTimeMillis() {
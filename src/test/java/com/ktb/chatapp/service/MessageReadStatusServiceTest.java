@@ -0,0 +1,171 @@
+package com.ktb.chatapp.service;
+
+import com.ktb.chatapp.model.Message;
+import com.ktb.chatapp.model.RoomReadWatermark;
+import com.ktb.chatapp.repository.MessageRepository;
+import com.ktb.chatapp.repository.RoomReadWatermarkRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DisplayName("MessageReadStatusService 테스트")
+class MessageReadStatusServiceTest {
+
+    private static final String ROOM_KEY = "readstatus:room:room-1";
+
+    private final StringRedisTemplate redis = mock(StringRedisTemplate.class);
+    @SuppressWarnings("unchecked")
+    private final HashOperations<String, Object, Object> hashOps = mock(HashOperations.class);
+    private final MessageRepository messageRepository = mock(MessageRepository.class);
+    private final RoomReadWatermarkRepository watermarkRepository = mock(RoomReadWatermarkRepository.class);
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    @SuppressWarnings("unchecked")
+    private final ZSetOperations<String, String> zSetOps = mock(ZSetOperations.class);
+    private final BulkOperations bulk = mock(BulkOperations.class);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private MessageReadStatusService service;
+
+    @BeforeEach
+    void setUp() {
+        when(redis.<Object, Object>opsForHash()).thenReturn(hashOps);
+        when(redis.opsForZSet()).thenReturn(zSetOps);
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, RoomReadWatermark.class)).thenReturn(bulk);
+        service = new MessageReadStatusService(mongoTemplate, redis, messageRepository,
+                watermarkRepository, registry, 60_000, 5_000, 2);
+    }
+
+    private static Message message(String id, long epochMillis) {
+        return Message.builder()
+                .id(id)
+                .roomId("room-1")
+                .timestamp(LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault()))
+                .build();
+    }
+
+    @Test
+    @DisplayName("페이지를 읽으면 메시지마다가 아니라 방의 가장 최신 메시지까지 한 번만 올린다")
+    @SuppressWarnings("unchecked")
+    void markRead_page_advancesOncePerRoom() {
+        service.markRead(List.of(message("m1", 1_000), message("m3", 3_000), message("m2", 2_000)), "user-1");
+
+        verify(redis).execute(any(RedisScript.class),
+                eq(List.of(ROOM_KEY, "readstatus:watermark:pending")),
+                eq("user-1"), eq("3000"), eq("60"), eq("room-1|user-1"), any(String.class));
+    }
+
+    @Test
+    @DisplayName("메시지별 읽은 사용자는 watermark가 메시지 시각 이상인 사용자다")
+    void readers_derivedFromWatermarks() {
+        when(hashOps.entries(ROOM_KEY)).thenReturn(Map.of(
+                "$seeded", "1",
+                "user-1", "3000",
+                "user-2", "1500"));
+
+        Map<String, List<Message.MessageReader>> readers =
+                service.readers("room-1", List.of(message("m1", 1_000), message("m2", 2_000)));
+
+        assertThat(readers.get("m1")).extracting(Message.MessageReader::getUserId)
+                .containsExactlyInAnyOrder("user-1", "user-2");
+        assertThat(readers.get("m2")).extracting(Message.MessageReader::getUserId)
+                .containsExactly("user-1");
+        verify(watermarkRepository, never()).findByRoomId(any());
+    }
+
+    @Test
+    @DisplayName("seed되지 않은 방은 MongoDB watermark로 채운 뒤 계산한다")
+    @SuppressWarnings("unchecked")
+    void watermarks_notSeeded_seedsFromMongo() {
+        when(hashOps.entries(ROOM_KEY))
+                .thenReturn(Map.of("user-1", "3000"))
+                .thenReturn(Map.of("$seeded", "1", "user-1", "3000", "user-2", "2000"));
+        when(watermarkRepository.findByRoomId("room-1")).thenReturn(List.of(
+                RoomReadWatermark.builder().roomId("room-1").userId("user-2").lastReadAt(2_000).build()));
+
+        assertThat(service.watermarks("room-1")).containsEntry("user-1", 3_000L).containsEntry("user-2", 2_000L);
+        verify(redis).execute(any(RedisScript.class), eq(List.of(ROOM_KEY)), eq("60"), eq("user-2"), eq("2000"));
+    }
+
+    @Test
+    @DisplayName("안 읽은 메시지 수는 watermark 바로 다음 시각부터 센다")
+    void unreadCount_countsAfterWatermark() {
+        when(hashOps.entries(ROOM_KEY)).thenReturn(Map.of("$seeded", "1", "user-1", "3000"));
+        LocalDateTime after = LocalDateTime.ofInstant(Instant.ofEpochMilli(3_001), ZoneId.systemDefault());
+        when(messageRepository.countRecentMessagesByRoomId("room-1", after)).thenReturn(7L);
+
+        assertThat(service.unreadCount("room-1", "user-1")).isEqualTo(7);
+    }
+
+    @Test
+    @DisplayName("flush는 pending이 빌 때까지 batch마다 파이프라인 한 번, bulkWrite 한 번으로 반영한다")
+    @SuppressWarnings("unchecked")
+    void flush_drainsInBatches() {
+        long now = System.currentTimeMillis();
+        when(zSetOps.popMin("readstatus:watermark:pending", 2))
+                .thenReturn(tuples(now - 3_000, "room-1|user-1", "room-1|user-2"))
+                .thenReturn(tuples(now, "room-2|user-1"));
+        when(redis.executePipelined(any(RedisCallback.class)))
+                .thenReturn(List.of("3000", "2000"))
+                .thenReturn(Collections.singletonList(null));
+
+        assertThat(service.flush()).isEqualTo(3);
+
+        verify(redis, times(2)).executePipelined(any(RedisCallback.class));
+        // 두 번째 batch는 Redis 값이 만료돼 반영할 것이 없다
+        verify(bulk, times(2)).upsert(any(Query.class), any(Update.class));
+        verify(bulk, times(1)).execute();
+        assertThat(registry.counter("read.watermark.flushed").count()).isEqualTo(2);
+        assertThat(registry.summary("read.watermark.flush.batch.size").count()).isEqualTo(2);
+        assertThat(registry.timer("read.watermark.flush.lag").max(TimeUnit.MILLISECONDS)).isGreaterThanOrEqualTo(3_000);
+    }
+
+    @Test
+    @DisplayName("bulkWrite가 실패하면 꺼낸 항목을 처음 바뀐 시각 그대로 pending에 되돌린다")
+    @SuppressWarnings("unchecked")
+    void flushBatch_failure_restoresPending() {
+        Set<ZSetOperations.TypedTuple<String>> popped = tuples(1_000, "room-1|user-1");
+        when(zSetOps.popMin("readstatus:watermark:pending", 2)).thenReturn(popped);
+        when(redis.executePipelined(any(RedisCallback.class))).thenReturn(List.of("3000"));
+        when(bulk.execute()).thenThrow(new IllegalStateException("mongo down"));
+
+        assertThatThrownBy(() -> service.flushBatch()).isInstanceOf(IllegalStateException.class);
+
+        verify(zSetOps).add("readstatus:watermark:pending", popped);
+    }
+
+    private static Set<ZSetOperations.TypedTuple<String>> tuples(double score, String... members) {
+        Set<ZSetOperations.TypedTuple<String>> tuples = new LinkedHashSet<>();
+        for (String member : members) {
+            tuples.add(ZSetOperations.TypedTuple.of(member, score));
+        }
+        return tuples;
+    }
+}
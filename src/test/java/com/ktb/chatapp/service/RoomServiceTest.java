@@ -0,0 +1,188 @@
+package com.ktb.chatapp.service;
+
+import com.ktb.chatapp.dto.RoomResponse;
+import com.ktb.chatapp.dto.RoomsResponse;
+import com.ktb.chatapp.event.RoomUpdatedEvent;
+import com.ktb.chatapp.model.Room;
+import com.ktb.chatapp.model.User;
+import com.ktb.chatapp.repository.MessageRepository;
+import com.ktb.chatapp.repository.MessageRepository.RoomMessageCount;
+import com.ktb.chatapp.repository.RoomRepository;
+import com.ktb.chatapp.repository.UserRepository;
+import com.ktb.chatapp.service.room.RoomActivityCounter;
+import com.ktb.chatapp.service.room.RoomListCache;
+import com.ktb.chatapp.service.room.RoomMembershipService;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RoomService 목록 조회 테스트")
+class RoomServiceTest {
+
+    private static final int PARTICIPANTS_PER_ROOM = 10;
+
+    @Mock
+    private RoomRepository roomRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private MessageRepository messageRepository;
+
+    @Mock
+    private RoomListCache roomListCache;
+
+    @Mock
+    private RoomActivityCounter roomActivityCounter;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private RoomMembershipService roomMembershipService;
+
+    @InjectMocks
+    private RoomService roomService;
+
+    private final List<User> users = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < 500; i++) {
+            User user = new User();
+            user.setId("user-" + i);
+            user.setName("user" + i);
+            user.setEmail("user" + i + "@example.com");
+            users.add(user);
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10, 50})
+    @DisplayName("카운터 조회 실패 시에도 페이지 크기와 무관하게 사용자 조회 1회, 메시지 수 집계 1회만 실행된다")
+    void getAllRoomsWithPagination_QueryCountIsConstant(int pageSize) {
+        List<Room> rooms = rooms(pageSize);
+        when(roomRepository.findAll(any(Pageable.class)))
+                .thenAnswer(inv -> new PageImpl<>(rooms, inv.getArgument(0), rooms.size()));
+        when(userRepository.findByIdIn(any())).thenAnswer(inv -> {
+            Collection<String> ids = inv.getArgument(0);
+            return users.stream().filter(user -> ids.contains(user.getId())).toList();
+        });
+        when(messageRepository.countRecentMessagesByRoomIds(any(), any(LocalDateTime.class)))
+                .thenReturn(List.of(new RoomMessageCount("room-0", 7)));
+
+        com.ktb.chatapp.dto.PageRequest request = new com.ktb.chatapp.dto.PageRequest();
+        request.setPageSize(pageSize);
+        RoomsResponse response = roomService.getAllRoomsWithPagination(request, "user0@example.com");
+
+        assertThat(response.isSuccess()).isTrue();
+        assertThat(response.getData()).hasSize(pageSize);
+
+        RoomResponse first = response.getData().get(0);
+        assertThat(first.getCreator().getId()).isEqualTo("user-0");
+        assertThat(first.getParticipants()).hasSize(PARTICIPANTS_PER_ROOM);
+        assertThat(first.getRecentMessageCount()).isEqualTo(7);
+        response.getData().stream().skip(1)
+                .forEach(room -> assertThat(room.getRecentMessageCount()).isZero());
+
+        verify(roomRepository, times(1)).findAll(any(Pageable.class));
+        verify(userRepository, times(1)).findByIdIn(any());
+        verify(userRepository, never()).findById(anyString());
+        verify(messageRepository, times(1)).countRecentMessagesByRoomIds(any(), any(LocalDateTime.class));
+        verify(messageRepository, never()).countRecentMessagesByRoomId(anyString(), any());
+        verifyNoMoreInteractions(userRepository, messageRepository);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 50})
+    @DisplayName("최근 메시지 수는 Redis 카운터에서 한 번에 읽고 MongoDB 집계는 실행하지 않는다")
+    void getAllRoomsWithPagination_UsesActivityCounters(int pageSize) {
+        List<Room> rooms = rooms(pageSize);
+        when(roomRepository.findAll(any(Pageable.class)))
+                .thenAnswer(inv -> new PageImpl<>(rooms, inv.getArgument(0), rooms.size()));
+        when(userRepository.findByIdIn(any())).thenReturn(users);
+        when(roomActivityCounter.recentCounts(any())).thenReturn(Optional.of(Map.of("room-0", 4L)));
+
+        com.ktb.chatapp.dto.PageRequest request = new com.ktb.chatapp.dto.PageRequest();
+        request.setPageSize(pageSize);
+        RoomsResponse response = roomService.getAllRoomsWithPagination(request, "user0@example.com");
+
+        assertThat(response.getData()).hasSize(pageSize);
+        assertThat(response.getData().get(0).getRecentMessageCount()).isEqualTo(4);
+        verify(roomActivityCounter, times(1)).recentCounts(any());
+        verifyNoInteractions(messageRepository);
+    }
+
+    @Test
+    @DisplayName("이미 참가한 방에 다시 입장하면 저장도 방 변경 이벤트도 없다")
+    void joinRoom_alreadyParticipant_publishesNothing() {
+        Room room = rooms(1).get(0);
+        User participant = users.get(0);
+        when(roomRepository.findById("room-0")).thenReturn(Optional.of(room));
+        when(userRepository.findByEmail(participant.getEmail())).thenReturn(Optional.of(participant));
+
+        assertThat(roomService.joinRoom("room-0", null, participant.getEmail())).isSameAs(room);
+
+        verify(roomRepository, never()).save(any());
+        verifyNoInteractions(eventPublisher, roomMembershipService);
+    }
+
+    @Test
+    @DisplayName("새 참가자가 입장하면 방 변경 이벤트를 한 번 발행한다")
+    void joinRoom_newParticipant_publishesRoomUpdated() {
+        Room room = rooms(1).get(0);
+        User newcomer = users.get(PARTICIPANTS_PER_ROOM);
+        when(roomRepository.findById("room-0")).thenReturn(Optional.of(room));
+        when(roomRepository.save(room)).thenReturn(room);
+        when(userRepository.findByEmail(newcomer.getEmail())).thenReturn(Optional.of(newcomer));
+        when(userRepository.findByIdIn(any())).thenReturn(users);
+
+        roomService.joinRoom("room-0", null, newcomer.getEmail());
+
+        assertThat(room.getParticipantIds()).contains(newcomer.getId());
+        verify(roomMembershipService).addMember("room-0", newcomer.getId());
+        verify(eventPublisher).publishEvent(any(RoomUpdatedEvent.class));
+    }
+
+    private List<Room> rooms(int count) {
+        List<Room> rooms = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Set<String> participantIds = new HashSet<>();
+            for (int p = 0; p < PARTICIPANTS_PER_ROOM; p++) {
+                participantIds.add(users.get((i * PARTICIPANTS_PER_ROOM + p) % users.size()).getId());
+            }
+            rooms.add(Room.builder()
+                    .id("room-" + i)
+                    .name("room " + i)
+                    .creator(users.get(i * PARTICIPANTS_PER_ROOM % users.size()).getId())
+                    .createdAt(LocalDateTime.now())
+                    .participantIds(participantIds)
+                    .build());
+        }
+        return rooms;
+    }
+}
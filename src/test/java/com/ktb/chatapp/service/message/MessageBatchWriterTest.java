@@ -0,0 +1,167 @@
+package com.ktb.chatapp.service.message;
+
+import com.ktb.chatapp.model.Message;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+
+@DisplayName("MessageBatchWriter 테스트")
+class MessageBatchWriterTest {
+
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final List<List<Message>> flushedBatches = new CopyOnWriteArrayList<>();
+    private MessageBatchWriter writer;
+
+    private MessageBatchWriter newWriter(String durability, int batchSize) {
+        doAnswer(invocation -> {
+            Collection<Message> batch = invocation.getArgument(0);
+            flushedBatches.add(new ArrayList<>(batch));
+            return batch;
+        }).when(mongoTemplate).insert(anyCollection(), eq(Message.class));
+
+        writer = new MessageBatchWriter(mongoTemplate, registry, durability, batchSize, 5, 10_000);
+        writer.start();
+        return writer;
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (writer != null) writer.stop();
+    }
+
+    private static Message message(String roomId, int seq) {
+        return Message.builder()
+                .id(new ObjectId().toHexString())
+                .roomId(roomId)
+                .content(String.valueOf(seq))
+                .build();
+    }
+
+    @Test
+    @DisplayName("여러 방에서 동시에 보내도 방별 저장 순서가 유지된다")
+    void write_preservesPerRoomOrder() throws Exception {
+        newWriter("broadcast-then-persist", 50);
+        int rooms = 8;
+        int perRoom = 500;
+
+        ExecutorService pool = Executors.newFixedThreadPool(rooms);
+        CountDownLatch start = new CountDownLatch(1);
+        for (int r = 0; r < rooms; r++) {
+            String roomId = "room-" + r;
+            pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < perRoom; i++) {
+                    writer.write(message(roomId, i));
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        pool.shutdown();
+        assertThat(pool.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        await().atMost(5, TimeUnit.SECONDS)
+                .until(() -> flushedBatches.stream().mapToInt(List::size).sum() == rooms * perRoom);
+
+        Map<String, Integer> lastSeq = new HashMap<>();
+        for (List<Message> batch : flushedBatches) {
+            assertThat(batch).hasSizeLessThanOrEqualTo(50);
+            for (Message m : batch) {
+                int seq = Integer.parseInt(m.getContent());
+                int previous = lastSeq.getOrDefault(m.getRoomId(), -1);
+                assertThat(seq).as("room %s", m.getRoomId()).isEqualTo(previous + 1);
+                lastSeq.put(m.getRoomId(), seq);
+            }
+        }
+        assertThat(lastSeq).hasSize(rooms).allSatisfy((room, seq) -> assertThat(seq).isEqualTo(perRoom - 1));
+        assertThat(flushedBatches.size()).isLessThan(rooms * perRoom);
+        assertThat(registry.counter("chat.messages.writebehind.persisted").count())
+                .isEqualTo(rooms * perRoom);
+    }
+
+    @Test
+    @DisplayName("ack-before-broadcast 모드에서는 배치 커밋 후에 반환된다")
+    void write_ackModeWaitsForFlush() {
+        newWriter("ack-before-broadcast", 100);
+
+        Message saved = writer.write(message("room-1", 0));
+
+        assertThat(flushedBatches).hasSize(1);
+        assertThat(flushedBatches.getFirst()).containsExactly(saved);
+        assertThat(writer.pendingCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("writeAsync는 커밋을 기다리지 않고 반환되고, 커밋되면 넣은 순서대로 완료된다")
+    void writeAsync_completesInEnqueueOrderAfterFlush() {
+        newWriter("ack-before-broadcast", 100);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            release.await();
+            Collection<Message> batch = invocation.getArgument(0);
+            flushedBatches.add(new ArrayList<>(batch));
+            return batch;
+        }).when(mongoTemplate).insert(anyCollection(), eq(Message.class));
+
+        List<String> completed = new CopyOnWriteArrayList<>();
+        List<CompletableFuture<Message>> writes = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            writes.add(writer.writeAsync(message("room-1", i))
+                    .whenComplete((saved, error) -> completed.add(saved.getContent())));
+        }
+        assertThat(writes).noneMatch(CompletableFuture::isDone);
+
+        release.countDown();
+        CompletableFuture.allOf(writes.toArray(CompletableFuture[]::new)).join();
+        assertThat(completed).containsExactlyElementsOf(
+                IntStream.range(0, 20).mapToObj(String::valueOf).toList());
+    }
+
+    @Test
+    @DisplayName("ack-before-broadcast 모드에서 저장 실패는 호출자에게 전파된다")
+    void write_ackModePropagatesFailure() {
+        writer = new MessageBatchWriter(mongoTemplate, registry, "ack-before-broadcast", 100, 5, 100);
+        doThrow(new IllegalStateException("mongo down"))
+                .when(mongoTemplate).insert(anyCollection(), eq(Message.class));
+        writer.start();
+
+        assertThatThrownBy(() -> writer.write(message("room-1", 0)))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("mongo down");
+        assertThat(registry.counter("chat.messages.writebehind.failed").count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("id가 없는 메시지는 거부된다")
+    void write_rejectsMessageWithoutId() {
+        newWriter("broadcast-then-persist", 10);
+
+        assertThatThrownBy(() -> writer.write(Message.builder().roomId("room-1").build()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,49 @@
+package com.ktb.chatapp.service.message;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.ktb.chatapp.model.Message;
+import java.time.LocalDateTime;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+
+class MessageCursorTest {
+
+    @Test
+    void encodedCursorRoundTrips() {
+        Message message = Message.builder()
+                .id(new ObjectId().toHexString())
+                .timestamp(LocalDateTime.of(2025, 1, 2, 3, 4, 5, 678_000_000))
+                .build();
+
+        MessageCursor cursor = MessageCursor.of(message);
+        MessageCursor decoded = MessageCursor.decode(cursor.encode()).orElseThrow();
+
+        assertThat(decoded).isEqualTo(cursor);
+        assertThat(decoded.timestamp()).isEqualTo(message.getTimestamp());
+        assertThat(decoded.id().toHexString()).isEqualTo(message.getId());
+    }
+
+    @Test
+    void encodedCursorIsUrlSafe() {
+        String encoded = new MessageCursor(Long.MAX_VALUE, new ObjectId()).encode();
+
+        assertThat(encoded).matches("[A-Za-z0-9_-]+");
+    }
+
+    @Test
+    void invalidCursorDecodesToEmpty() {
+        assertThat(MessageCursor.decode(null)).isEmpty();
+        assertThat(MessageCursor.decode("")).isEmpty();
+        assertThat(MessageCursor.decode("not-a-cursor")).isEmpty();
+        assertThat(MessageCursor.decode("MTIzOmFiYw")).isEmpty(); // "123:abc"
+    }
+
+    @Test
+    void legacyBeforeExcludesMessagesAtSameTimestamp() {
+        MessageCursor cursor = MessageCursor.before(1_000L);
+
+        assertThat(cursor.id().toHexString()).isEqualTo("000000000000000000000000");
+        assertThat(cursor.timestampMillis()).isEqualTo(1_000L);
+    }
+}
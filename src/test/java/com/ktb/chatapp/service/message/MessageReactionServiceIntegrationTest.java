@@ -0,0 +1,190 @@
+package com.ktb.chatapp.service.message;
+
+import com.ktb.chatapp.config.MongoTestContainer;
+import com.ktb.chatapp.model.Message;
+import com.ktb.chatapp.model.MessageType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+@DataMongoTest
+@Import(MongoTestContainer.class)
+@DisplayName("MessageReactionService 통합 테스트 (MongoDB)")
+class MessageReactionServiceIntegrationTest {
+
+    private static final String REACTION = "👍";
+    private static final String OTHER_REACTION = "🎉";
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    private MessageReactionService service;
+    private String messageId;
+
+    @BeforeEach
+    void setUp() {
+        service = new MessageReactionService(mongoTemplate, mock(ReactionCountCache.class),
+                mock(RecentMessageCache.class), new SimpleMeterRegistry());
+
+        Message message = mongoTemplate.insert(Message.builder()
+                .roomId("room-1")
+                .content("hello")
+                .type(MessageType.text)
+                .build());
+        messageId = message.getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        mongoTemplate.dropCollection(Message.class);
+    }
+
+    @Test
+    @DisplayName("문서의 _id는 ObjectId이고, 문자열 ID로 조건부 갱신이 그 문서에 적용된다")
+    void stringId_matchesObjectIdDocument() {
+        assertThat(raw().get("_id")).isEqualTo(new ObjectId(messageId));
+
+        ReactionUpdate update = service.addReaction(messageId, REACTION, "user-1").orElseThrow();
+
+        assertThat(update.changed()).isTrue();
+        assertThat(update.roomId()).isEqualTo("room-1");
+        assertThat(update.reactions()).containsEntry(REACTION, Set.of("user-1"));
+        assertThat(reactionUsers(REACTION)).containsExactly("user-1");
+        assertThat(service.addReaction(new ObjectId().toHexString(), REACTION, "user-1")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("여러 사용자가 한 메시지에 동시에 리액션해도 유실 없이 반영되고 버전이 변경마다 하나씩 오른다")
+    void parallelReactors_noLostUpdates() throws InterruptedException {
+        int users = 200;
+        Set<Long> versions = ConcurrentHashMap.newKeySet();
+        AtomicBoolean duplicateChanged = new AtomicBoolean();
+        CountDownLatch start = new CountDownLatch(1);
+
+        try (ExecutorService reactors = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < users; i++) {
+                String userId = "user-" + i;
+                boolean leaves = i % 2 == 0;
+                reactors.execute(() -> {
+                    try {
+                        start.await();
+                        service.addReaction(messageId, REACTION, userId)
+                                .filter(ReactionUpdate::changed)
+                                .ifPresent(update -> versions.add(update.version()));
+                        // 같은 요청을 다시 보내면 $ne 조건에 걸려 변경도 버전 증가도 없다
+                        if (service.addReaction(messageId, REACTION, userId).orElseThrow().changed()) {
+                            duplicateChanged.set(true);
+                        }
+                        if (leaves) {
+                            service.removeReaction(messageId, REACTION, userId)
+                                    .filter(ReactionUpdate::changed)
+                                    .ifPresent(update -> versions.add(update.version()));
+                            // 이미 빠진 사용자의 제거 요청도 조건에 걸린다
+                            if (service.removeReaction(messageId, REACTION, userId).orElseThrow().changed()) {
+                                duplicateChanged.set(true);
+                            }
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+            }
+            start.countDown();
+            reactors.shutdown();
+            assertThat(reactors.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+        }
+
+        int changes = users + users / 2;
+        assertThat(duplicateChanged).isFalse();
+        assertThat(versions).hasSize(changes);
+        assertThat(raw().get("reactionVersion", Number.class).longValue()).isEqualTo(changes);
+        assertThat(reactionUsers(REACTION)).hasSize(users / 2).allMatch(userId ->
+                Integer.parseInt(userId.substring("user-".length())) % 2 == 1);
+    }
+
+    @Test
+    @DisplayName("마지막 사용자가 빠지면 빈 배열을 남기지 않고 리액션 키를 지운다")
+    void removeLastUser_unsetsEmptyReaction() {
+        service.addReaction(messageId, REACTION, "user-1");
+        service.addReaction(messageId, OTHER_REACTION, "user-2");
+
+        ReactionUpdate update = service.removeReaction(messageId, REACTION, "user-1").orElseThrow();
+
+        assertThat(update.changed()).isTrue();
+        assertThat(update.reactions()).containsOnlyKeys(OTHER_REACTION);
+        Document reactions = raw().get("reactions", Document.class);
+        assertThat(reactions).doesNotContainKey(REACTION);
+        assertThat(reactions.getList(OTHER_REACTION, String.class)).containsExactly("user-2");
+        assertThat(raw().get("reactionVersion", Number.class).longValue()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("빈 리액션 정리는 그 사이 다시 추가된 사용자를 지우지 않는다")
+    void unsetEmpty_racingAdd_keepsNewUser() throws InterruptedException {
+        int rounds = 50;
+        for (int round = 0; round < rounds; round++) {
+            String leaver = "leaver-" + round;
+            String joiner = "joiner-" + round;
+            service.addReaction(messageId, REACTION, leaver);
+            CountDownLatch start = new CountDownLatch(1);
+
+            try (ExecutorService reactors = Executors.newVirtualThreadPerTaskExecutor()) {
+                reactors.execute(() -> {
+                    awaitQuietly(start);
+                    service.removeReaction(messageId, REACTION, leaver);
+                });
+                reactors.execute(() -> {
+                    awaitQuietly(start);
+                    service.addReaction(messageId, REACTION, joiner);
+                });
+                start.countDown();
+                reactors.shutdown();
+                assertThat(reactors.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+            }
+
+            assertThat(reactionUsers(REACTION)).containsExactly(joiner);
+            service.removeReaction(messageId, REACTION, joiner);
+            assertThat(raw().get("reactions", Document.class)).doesNotContainKey(REACTION);
+        }
+    }
+
+    private Document raw() {
+        return mongoTemplate.getCollection("messages")
+                .find(new Document("_id", new ObjectId(messageId)))
+                .first();
+    }
+
+    private List<String> reactionUsers(String reaction) {
+        Document reactions = raw().get("reactions", Document.class);
+        return reactions != null && reactions.containsKey(reaction)
+                ? reactions.getList(reaction, String.class)
+                : List.of();
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.ktb.chatapp.service.message;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+@DisplayName("MessageReactionService 테스트")
+class MessageReactionServiceTest {
+
+    private static final String MESSAGE_ID = "65a000000000000000000001";
+    private static final String REACTION = "👍";
+
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private final ReactionCountCache countCache = mock(ReactionCountCache.class);
+    private final RecentMessageCache recentMessageCache = mock(RecentMessageCache.class);
+    private final FakeMessage message = new FakeMessage();
+    private MessageReactionService service;
+
+    @BeforeEach
+    void setUp() {
+        // Mongo의 문서 단위 원자적 findAndModify를 메모리에서 흉내 낸다 (조건 검사 + 갱신을 한 번에)
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class),
+                eq(Document.class), eq("messages")))
+                .thenAnswer(inv -> message.findAndModify(inv.getArgument(0), inv.getArgument(1)));
+        when(mongoTemplate.findOne(any(Query.class), eq(Document.class), eq("messages")))
+                .thenAnswer(inv -> message.snapshot());
+        service = new MessageReactionService(mongoTemplate, countCache, recentMessageCache,
+                new SimpleMeterRegistry());
+    }
+
+    @Test
+    @DisplayName("변경 결과는 버전과 함께 리액션 수 캐시에 넘긴다")
+    void change_putsCountCacheWithVersion() {
+        service.addReaction(MESSAGE_ID, REACTION, "user-1");
+        service.addReaction(MESSAGE_ID, REACTION, "user-2");
+        service.addReaction(MESSAGE_ID, REACTION, "user-2");
+
+        ArgumentCaptor<ReactionUpdate> cached = ArgumentCaptor.forClass(ReactionUpdate.class);
+        verify(countCache, times(2)).put(cached.capture());
+        assertThat(cached.getValue().version()).isEqualTo(2);
+        assertThat(cached.getValue().counts()).containsEntry(REACTION, 2);
+    }
+
+    @Test
+    @DisplayName("마지막 사용자가 빠지면 리액션 키를 응답에서 빼고 빈 배열을 정리한다")
+    void removeLastUser_dropsReaction() {
+        service.addReaction(MESSAGE_ID, REACTION, "user-1");
+
+        ReactionUpdate update = service.removeReaction(MESSAGE_ID, REACTION, "user-1").orElseThrow();
+
+        assertThat(update.changed()).isTrue();
+        assertThat(update.reactions()).isEmpty();
+        assertThat(update.roomId()).isEqualTo("room-1");
+        verify(mongoTemplate).updateFirst(any(Query.class), any(Update.class), eq("messages"));
+    }
+
+    @Test
+    @DisplayName("리액션이 바뀔 때만 최신 메시지 캐시의 그 메시지 리액션을 새 버전으로 바꾼다")
+    void change_updatesRecentMessageCache() {
+        service.addReaction(MESSAGE_ID, REACTION, "user-1");
+        service.addReaction(MESSAGE_ID, REACTION, "user-1");
+
+        verify(recentMessageCache, times(1)).updateReactions(
+                "room-1", MESSAGE_ID, 1L, Map.of(REACTION, Set.of("user-1")));
+        verifyNoMoreInteractions(recentMessageCache);
+    }
+
+    @Test
+    @DisplayName("메시지가 없으면 empty")
+    void missingMessage_empty() {
+        when(mongoTemplate.findOne(any(Query.class), eq(Document.class), eq("messages"))).thenReturn(null);
+
+        assertThat(service.removeReaction(MESSAGE_ID, REACTION, "nobody")).isEqualTo(Optional.empty());
+    }
+
+    @Test
+    @DisplayName("필드 경로로 해석될 수 있는 리액션은 거부한다")
+    void invalidReaction_rejected() {
+        assertThatThrownBy(() -> service.addReaction(MESSAGE_ID, "a.b", "user-1"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.addReaction(MESSAGE_ID, "$set", "user-1"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    /**
+     * reactions.<리액션> 배열 하나와 reactionVersion만 가진 메시지 문서
+     */
+    private static final class FakeMessage {
+
+        private final Set<String> users = new LinkedHashSet<>();
+        private long version;
+
+        synchronized Document findAndModify(Query query, Update update) {
+            Object condition = query.getQueryObject().get("reactions." + REACTION);
+            Document changes = update.getUpdateObject();
+
+            if (condition instanceof Document notEqual) {
+                if (users.contains((String) notEqual.get("$ne"))) return null;
+                users.add((String) changes.get("$addToSet", Document.class).get("reactions." + REACTION));
+            } else {
+                if (!users.contains((String) condition)) return null;
+                users.remove((String) changes.get("$pull", Document.class).get("reactions." + REACTION));
+            }
+            version += changes.get("$inc", Document.class).get("reactionVersion", Number.class).longValue();
+            return snapshot();
+        }
+
+        synchronized Document snapshot() {
+            return new Document("_id", MESSAGE_ID)
+                    .append("room", "room-1")
+                    .append("reactions", new Document(REACTION, new ArrayList<>(users)))
+                    .append("reactionVersion", version);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.ktb.chatapp.service.ratelimit;
+
+import com.ktb.chatapp.model.RateLimit;
+import com.ktb.chatapp.repository.RateLimitRepository;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.repository.support.MongoRepositoryFactory;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+/**
+ * RateLimiter JMH 벤치마크 (Mongo find+save vs Redis Lua 토큰 버킷).
+ *
+ * 로컬 MongoDB/Redis가 필요하다. 접속 정보는 BENCH_MONGO_URI, BENCH_REDIS_HOST, BENCH_REDIS_PORT로 바꿀 수 있다.
+ * 실행: mvn test-compile 후 main 실행
+ * (surefire 대상이 아니므로 mvn test에서는 실행되지 않는다)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+public class RateLimiterBenchmark {
+
+    // 한도에 걸리지 않는 쓰기 경로(허용)만 측정한다
+    private static final int MAX_REQUESTS = 1_000_000;
+    private static final Duration WINDOW = Duration.ofMinutes(1);
+
+    /**
+     * clients=1: 모든 스레드가 같은 키를 갱신 (핫 키 경합), clients=1000: 키 분산
+     */
+    @Param({"1", "1000"})
+    private int clients;
+
+    private MongoClient mongoClient;
+    private MongoTemplate mongoTemplate;
+    private LettuceConnectionFactory redisConnectionFactory;
+    private RateLimiter mongoRateLimiter;
+    private RateLimiter redisRateLimiter;
+    private final AtomicInteger sequence = new AtomicInteger();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        mongoClient = MongoClients.create(
+                System.getenv().getOrDefault("BENCH_MONGO_URI", "mongodb://localhost:27017"));
+        mongoTemplate = new MongoTemplate(mongoClient, "ratelimit_bench");
+        mongoTemplate.dropCollection(RateLimit.class);
+        RateLimitRepository repository =
+                new MongoRepositoryFactory(mongoTemplate).getRepository(RateLimitRepository.class);
+        mongoRateLimiter = new MongoRateLimiter(new RateLimitMongoStore(repository));
+
+        redisConnectionFactory = new LettuceConnectionFactory(new RedisStandaloneConfiguration(
+                System.getenv().getOrDefault("BENCH_REDIS_HOST", "localhost"),
+                Integer.parseInt(System.getenv().getOrDefault("BENCH_REDIS_PORT", "6379"))));
+        redisConnectionFactory.afterPropertiesSet();
+        StringRedisTemplate redisTemplate = new StringRedisTemplate(redisConnectionFactory);
+        redisRateLimiter = new RedisRateLimiter(redisTemplate);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        mongoTemplate.dropCollection(RateLimit.class);
+        mongoClient.close();
+        redisConnectionFactory.destroy();
+    }
+
+    @Benchmark
+    public boolean mongoFindAndSave() {
+        return mongoRateLimiter.tryAcquire(nextClientId(), MAX_REQUESTS, WINDOW).allowed();
+    }
+
+    @Benchmark
+    public boolean redisTokenBucket() {
+        return redisRateLimiter.tryAcquire(nextClientId(), MAX_REQUESTS, WINDOW).allowed();
+    }
+
+    private String nextClientId() {
+        return "bench:" + Math.floorMod(sequence.getAndIncrement(), clients);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(RateLimiterBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+}
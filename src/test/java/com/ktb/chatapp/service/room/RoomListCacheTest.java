@@ -0,0 +1,151 @@
+package com.ktb.chatapp.service.room;
+
+import com.ktb.chatapp.dto.PageMetadata;
+import com.ktb.chatapp.dto.RoomResponse;
+import com.ktb.chatapp.dto.RoomsResponse;
+import com.ktb.chatapp.dto.UserResponse;
+import com.ktb.chatapp.event.RoomUpdatedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class RoomListCacheTest {
+
+    private final Map<String, String> redisValues = new HashMap<>();
+    private final Map<String, Set<String>> redisSets = new HashMap<>();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private StringRedisTemplate redis;
+    private RoomListCache cache;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        redis = mock(StringRedisTemplate.class);
+        ValueOperations<String, String> ops = mock(ValueOperations.class);
+        when(redis.opsForValue()).thenReturn(ops);
+        when(ops.get(anyString())).thenAnswer(inv -> redisValues.get(inv.<String>getArgument(0)));
+        doAnswer(inv -> redisValues.put(inv.getArgument(0), inv.getArgument(1)))
+                .when(ops).set(anyString(), anyString(), any(Duration.class));
+        when(ops.increment("cache:rooms:gen")).thenReturn(1L, 2L, 3L);
+        // 방별 엔트리 키 Set 등록(인자 있음)과 그 Set의 엔트리 삭제(인자 없음) 스크립트를 흉내 낸다
+        when(redis.execute(any(RedisScript.class), anyList(), any(Object[].class))).thenAnswer(inv -> {
+            List<String> keys = inv.getArgument(1);
+            Object[] args = inv.getRawArguments().length > 2 ? (Object[]) inv.getRawArguments()[2] : new Object[0];
+            if (args.length > 0) {
+                keys.forEach(key -> redisSets.computeIfAbsent(key, k -> new HashSet<>()).add((String) args[0]));
+                return (long) keys.size();
+            }
+            Set<String> entries = redisSets.remove(keys.get(0));
+            if (entries == null) return 0L;
+            entries.forEach(redisValues::remove);
+            return (long) entries.size();
+        });
+
+        cache = new RoomListCache(redis, mock(RedisConnectionFactory.class),
+                Jackson2ObjectMapperBuilder.json().build(), registry, true, 10_000, 1_000, 10);
+    }
+
+    @Test
+    void servesFromLocalThenRedisAndPersonalizesCreatorFlag() {
+        String key = cache.key(0, 10, "createdAt", "desc", " Room ");
+        cache.put(key, response());
+
+        RoomsResponse local = cache.get(key, "owner@example.com").orElseThrow();
+        assertThat(local.getData()).hasSize(1);
+        assertThat(local.getData().get(0).getName()).isEqualTo("room");
+        assertThat(local.getData().get(0).getCreatedAtDateTime()).isNotNull();
+        assertThat(registry.counter("room.list.cache.hit", "tier", "local").count()).isEqualTo(1);
+
+        // 다른 노드: L1이 비어 있으면 Redis JSON에서 복원
+        RoomListCache otherNode = new RoomListCache(redis, mock(RedisConnectionFactory.class),
+                Jackson2ObjectMapperBuilder.json().build(), registry, true, 10_000, 1_000, 10);
+        RoomsResponse fromRedis = otherNode.get(
+                otherNode.key(0, 10, "createdAt", "desc", "room"), "guest@example.com").orElseThrow();
+        assertThat(fromRedis.getData().get(0).getParticipants()).hasSize(1);
+        assertThat(fromRedis.getMetadata().getTotal()).isEqualTo(1);
+        assertThat(registry.counter("room.list.cache.hit", "tier", "redis").count()).isEqualTo(1);
+    }
+
+    @Test
+    void invalidationMovesToNewGeneration() {
+        String before = cache.key(0, 10, "createdAt", "desc", null);
+        cache.put(before, response());
+
+        cache.invalidateAll();
+
+        String after = cache.key(0, 10, "createdAt", "desc", null);
+        assertThat(after).isNotEqualTo(before);
+        assertThat(cache.get(after, "owner@example.com")).isEmpty();
+        assertThat(registry.counter("room.list.cache.invalidation").count()).isEqualTo(1);
+        assertThat(registry.counter("room.list.cache.miss").count()).isEqualTo(1);
+        verify(redis).convertAndSend(RoomListCache.INVALIDATION_CHANNEL, "1");
+    }
+
+    @Test
+    void roomUpdateEvictsOnlyEntriesContainingThatRoom() {
+        String withRoom = cache.key(0, 10, "createdAt", "desc", null);
+        String otherPage = cache.key(1, 10, "createdAt", "desc", null);
+        cache.put(withRoom, response("r1"));
+        cache.put(otherPage, response("r2"));
+
+        cache.onRoomUpdated(new RoomUpdatedEvent(this, "r1", null));
+
+        // 세대는 그대로이고 r1이 들어 있던 엔트리만 L1/Redis에서 사라진다
+        assertThat(cache.key(0, 10, "createdAt", "desc", null)).isEqualTo(withRoom);
+        assertThat(cache.get(withRoom, "owner@example.com")).isEmpty();
+        assertThat(cache.get(otherPage, "owner@example.com")).isPresent();
+        assertThat(redisValues).containsOnlyKeys(otherPage);
+        assertThat(registry.counter("room.list.cache.invalidation").count()).isZero();
+        verify(redis).convertAndSend(RoomListCache.ROOM_EVICTION_CHANNEL, "r1");
+        verify(redis, never()).convertAndSend(eq(RoomListCache.INVALIDATION_CHANNEL), anyString());
+    }
+
+    @Test
+    void failedResponsesAreNotCached() {
+        String key = cache.key(0, 10, "createdAt", "desc", null);
+        cache.put(key, RoomsResponse.builder().success(false).data(List.of()).build());
+
+        assertThat(cache.get(key, "owner@example.com")).isEmpty();
+    }
+
+    private RoomsResponse response() {
+        return response("r1");
+    }
+
+    private RoomsResponse response(String roomId) {
+        UserResponse owner = UserResponse.builder()
+                .id("u1").name("owner").email("owner@example.com").profileImage("").build();
+        RoomResponse room = RoomResponse.builder()
+                .id(roomId)
+                .name("room")
+                .creator(owner)
+                .participants(List.of(owner))
+                .createdAtDateTime(LocalDateTime.now())
+                .recentMessageCount(3)
+                .build();
+        return RoomsResponse.builder()
+                .success(true)
+                .data(List.of(room))
+                .metadata(PageMetadata.builder().total(1).page(0).pageSize(10).totalPages(1).currentCount(1).build())
+                .build();
+    }
+}
@@ -0,0 +1,118 @@
+package com.ktb.chatapp.service.room;
+
+import com.ktb.chatapp.model.Room;
+import com.ktb.chatapp.repository.RoomRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.redis.core.SetOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class RoomMembershipServiceTest {
+
+    private static final String KEY = "room:members:room-1";
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final RoomRepository roomRepository = mock(RoomRepository.class);
+    private final StringRedisTemplate redis = mock(StringRedisTemplate.class);
+    @SuppressWarnings("unchecked")
+    private final SetOperations<String, String> setOps = mock(SetOperations.class);
+    private RoomMembershipService service;
+
+    @BeforeEach
+    void setUp() {
+        when(redis.opsForSet()).thenReturn(setOps);
+        service = new RoomMembershipService(roomRepository, redis, registry, 60_000, 60_000, 10);
+    }
+
+    private double lookups(String source) {
+        return registry.counter("room.membership.lookup", "source", source).count();
+    }
+
+    @Test
+    void seedsFromMongoOnceThenAnswersFromMemory() {
+        when(setOps.members(KEY)).thenReturn(Set.of());
+        Room room = new Room();
+        room.setParticipantIds(new HashSet<>(Set.of("user-1", "user-2")));
+        when(roomRepository.findParticipantIdsById("room-1")).thenReturn(Optional.of(room));
+
+        assertThat(service.isMember("room-1", "user-1")).isTrue();
+        verify(redis).execute(any(RedisScript.class), eq(List.of(KEY)), any(Object[].class));
+
+        for (int i = 0; i < 100; i++) {
+            assertThat(service.isMember("room-1", i % 2 == 0 ? "user-1" : "user-2")).isTrue();
+        }
+        assertThat(lookups("local")).isEqualTo(100);
+        verify(setOps, times(1)).members(KEY);
+        verify(roomRepository, times(1)).findParticipantIdsById("room-1");
+        verify(roomRepository, never()).isParticipant(anyString(), anyString());
+    }
+
+    @Test
+    void notInCacheButInMongo_isAcceptedAndAdded() {
+        // 다른 노드에서 막 입장해 이 노드의 스냅샷과 Redis Set에 아직 없다
+        when(setOps.members(KEY)).thenReturn(Set.of("$seeded", "user-1"));
+        when(roomRepository.isParticipant("room-1", "user-9")).thenReturn(true);
+
+        assertThat(service.isMember("room-1", "user-9")).isTrue();
+        assertThat(service.isMember("room-1", "user-9")).isTrue();
+
+        assertThat(lookups("mongo")).isEqualTo(1);
+        assertThat(lookups("local")).isEqualTo(1);
+        verify(redis).execute(any(RedisScript.class), eq(List.of(KEY)), eq("60"), eq("user-9"));
+    }
+
+    @Test
+    void nonMember_rejected() {
+        when(setOps.members(KEY)).thenReturn(Set.of("$seeded", "user-1"));
+
+        assertThat(service.isMember("room-1", "intruder")).isFalse();
+        assertThat(service.isMember(null, "user-1")).isFalse();
+    }
+
+    @Test
+    void partialSet_isReseededFromMongoWithoutDroppingJoiner() {
+        // seed가 MongoDB를 읽은 뒤 입장한 user-9만 Set에 있고 seed 표시가 없다
+        when(setOps.members(KEY)).thenReturn(Set.of("user-9"));
+        Room room = new Room();
+        room.setParticipantIds(new HashSet<>(Set.of("user-1", "user-2")));
+        when(roomRepository.findParticipantIdsById("room-1")).thenReturn(Optional.of(room));
+
+        assertThat(service.members("room-1")).containsExactlyInAnyOrder("user-1", "user-2", "user-9");
+
+        ArgumentCaptor<Object[]> args = ArgumentCaptor.forClass(Object[].class);
+        verify(redis).execute(any(RedisScript.class), eq(List.of(KEY)), args.capture());
+        assertThat(args.getValue()).containsExactlyInAnyOrder("60", "user-1", "user-2");
+    }
+
+    @Test
+    void seededSet_isUsedAsIsWithoutMarker() {
+        when(setOps.members(KEY)).thenReturn(Set.of("$seeded", "user-1", "user-2"));
+
+        assertThat(service.members("room-1")).containsExactlyInAnyOrder("user-1", "user-2");
+
+        verify(roomRepository, never()).findParticipantIdsById(anyString());
+        verify(redis, never()).execute(any(RedisScript.class), anyList(), any(Object[].class));
+    }
+
+    @Test
+    void redisUnavailable_fallsBackToMongo() {
+        when(setOps.members(KEY)).thenThrow(new IllegalStateException("redis down"));
+        when(roomRepository.isParticipant("room-1", "user-1")).thenReturn(true);
+
+        assertThat(service.isMember("room-1", "user-1")).isTrue();
+    }
+}
@@ -0,0 +1,85 @@
+package com.ktb.chatapp.service.session;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class SessionActivityTrackerTest {
+
+    private static final long SLACK = 30_000;
+    private static final long FLUSH_INTERVAL = 5_000;
+
+    private SessionStore sessionStore;
+    private SessionActivityTracker tracker;
+    private long now;
+
+    @BeforeEach
+    void setUp() {
+        sessionStore = mock(SessionStore.class);
+        tracker = new SessionActivityTracker(sessionStore, new SimpleMeterRegistry(),
+                SLACK, FLUSH_INTERVAL, 1_800_000);
+        now = System.currentTimeMillis();
+    }
+
+    @Test
+    void touchesWithinSlackAreNotPersisted() {
+        tracker.touch("u1", now, now + 1_000);
+        tracker.touch("u1", now, now + 10_000);
+
+        assertThat(tracker.flush()).isZero();
+        verify(sessionStore, never()).updateLastActivity(anyMap(), anyLong());
+        assertThat(tracker.lastSeen("u1")).isEqualTo(now + 10_000);
+    }
+
+    @Test
+    void staleSessionsAreFlushedInOneBulkUpdate() {
+        tracker.touch("u1", now - SLACK, now);
+        tracker.touch("u2", now - SLACK - 1, now + 1);
+        tracker.touch("u3", now, now + 1);
+
+        assertThat(tracker.flush()).isEqualTo(2);
+        verify(sessionStore).updateLastActivity(
+                eq(Map.of("u1", now, "u2", now + 1)), eq(SLACK + FLUSH_INTERVAL));
+
+        // 반영된 이후에는 다시 slack 안이므로 추가 쓰기가 없다
+        tracker.touch("u1", now - SLACK, now + 2_000);
+        assertThat(tracker.flush()).isZero();
+    }
+
+    @Test
+    void unknownStoredValueIsPersistedOnFirstTouch() {
+        tracker.touch("u1", now);
+
+        assertThat(tracker.flush()).isEqualTo(1);
+        verify(sessionStore).updateLastActivity(eq(Map.of("u1", now)), anyLong());
+    }
+
+    @Test
+    void failedFlushIsRetried() {
+        doThrow(new IllegalStateException("down"))
+                .when(sessionStore).updateLastActivity(anyMap(), anyLong());
+        tracker.touch("u1", now);
+
+        assertThat(tracker.flush()).isEqualTo(1);
+        assertThat(tracker.flush()).isEqualTo(1);
+    }
+
+    @Test
+    void forgottenUserIsNotFlushed() {
+        tracker.touch("u1", now);
+        tracker.forget("u1");
+
+        assertThat(tracker.flush()).isZero();
+        assertThat(tracker.lastSeen("u1")).isZero();
+    }
+}
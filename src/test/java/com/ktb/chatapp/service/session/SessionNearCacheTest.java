@@ -0,0 +1,80 @@
+package com.ktb.chatapp.service.session;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.ktb.chatapp.model.Session;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+class SessionNearCacheTest {
+
+    private final AtomicLong clock = new AtomicLong(1_000_000L);
+
+    @Test
+    void evictsLeastRecentlyUsedEntryWhenFull() {
+        SessionNearCache cache = new SessionNearCache(2, 10_000, clock::get);
+        cache.put(session("u1"));
+        cache.put(session("u2"));
+        cache.get("u1");
+        cache.put(session("u3"));
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.get("u1")).isPresent();
+        assertThat(cache.get("u2")).isEmpty();
+        assertThat(cache.get("u3")).isPresent();
+    }
+
+    @Test
+    void entryExpiresAfterTtl() {
+        SessionNearCache cache = new SessionNearCache(10, 5_000, clock::get);
+        cache.put(session("u1"));
+
+        clock.addAndGet(5_000);
+        assertThat(cache.get("u1")).isPresent();
+
+        clock.addAndGet(1);
+        assertThat(cache.get("u1")).isEmpty();
+    }
+
+    @Test
+    void expiredSessionIsTreatedAsMiss() {
+        SessionNearCache cache = new SessionNearCache(10, 60_000, clock::get);
+        Session session = session("u1");
+        session.setExpiresAt(Instant.ofEpochMilli(clock.get() + 100));
+        cache.put(session);
+
+        clock.addAndGet(100);
+        assertThat(cache.get("u1")).isEmpty();
+    }
+
+    @Test
+    void invalidateRemovesEntry() {
+        SessionNearCache cache = new SessionNearCache(10, 10_000, clock::get);
+        cache.put(session("u1"));
+
+        cache.invalidate("u1");
+
+        assertThat(cache.get("u1")).isEmpty();
+    }
+
+    @Test
+    void returnsCopySoCallerMutationDoesNotLeak() {
+        SessionNearCache cache = new SessionNearCache(10, 10_000, clock::get);
+        cache.put(session("u1"));
+
+        cache.get("u1").orElseThrow().setSessionId("changed");
+
+        assertThat(cache.get("u1").orElseThrow().getSessionId()).isEqualTo("s-u1");
+    }
+
+    private Session session(String userId) {
+        return Session.builder()
+                .userId(userId)
+                .sessionId("s-" + userId)
+                .createdAt(clock.get())
+                .lastActivity(clock.get())
+                .expiresAt(Instant.ofEpochMilli(clock.get() + 1_800_000))
+                .build();
+    }
+}
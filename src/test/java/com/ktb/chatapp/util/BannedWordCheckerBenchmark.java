@@ -0,0 +1,144 @@
+package com.ktb.chatapp.util;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * 금칙어 검사기 JMH 벤치마크 (기존 String.contains 전수 검사 vs Aho–Corasick).
+ *
+ * 실행: mvn test-compile 후 main 실행
+ * (surefire 대상이 아니므로 mvn test에서는 실행되지 않는다)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BannedWordCheckerBenchmark {
+
+    private static final Path WORD_LIST_PATH =
+            Path.of("src/main/resources/fake_banned_words_10k.txt");
+    private static final String ALPHABET = "abcdefghijklmnopqrstuvwxyz0123456789";
+
+    @Param({"10000", "100000"})
+    private int dictionarySize;
+
+    @Param({"16", "128", "1024"})
+    private int messageLength;
+
+    private NaiveBannedWordChecker naiveChecker;
+    private BannedWordChecker automatonChecker;
+    private String message;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        Random random = new Random(7);
+        Set<String> words = loadDictionary(random, dictionarySize);
+        naiveChecker = new NaiveBannedWordChecker(words);
+        automatonChecker = new BannedWordChecker(words);
+
+        message = messageWithoutMatch(random, words, messageLength);
+    }
+
+    @Benchmark
+    public boolean naiveContains() {
+        return naiveChecker.containsBannedWord(message);
+    }
+
+    @Benchmark
+    public boolean ahoCorasick() {
+        return automatonChecker.containsBannedWord(message);
+    }
+
+    // 사전과 같은 문자(영숫자)로 만든 금칙어 없는 메시지. 자동기계는 매 위치에서 금칙어 접두사를 따라가고
+    // naive 구현은 모든 단어를 끝까지 비교해야 하는 최악의 경우다
+    private static String messageWithoutMatch(Random random, Set<String> words, int length) {
+        int maxWordLength = words.stream().mapToInt(String::length).max().orElse(0);
+        StringBuilder sb = new StringBuilder(length);
+        while (sb.length() < length) {
+            sb.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+            if (endsWithWord(sb, words, maxWordLength)) {
+                sb.setLength(sb.length() - 1);
+            }
+        }
+        return sb.toString();
+    }
+
+    private static boolean endsWithWord(StringBuilder sb, Set<String> words, int maxWordLength) {
+        for (int start = Math.max(0, sb.length() - maxWordLength); start < sb.length(); start++) {
+            if (words.contains(sb.substring(start))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Set<String> loadDictionary(Random random, int size) throws IOException {
+        Set<String> words = new HashSet<>();
+        Files.readAllLines(WORD_LIST_PATH).stream()
+                .map(String::trim)
+                .filter(word -> !word.isEmpty())
+                .limit(size)
+                .forEach(words::add);
+
+        // 파일보다 큰 사전은 같은 분포(영숫자 4~10자)의 합성 단어로 채운다
+        while (words.size() < size) {
+            int length = 4 + random.nextInt(7);
+            StringBuilder sb = new StringBuilder(length);
+            for (int i = 0; i < length; i++) {
+                sb.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+            }
+            words.add(sb.toString());
+        }
+        return words;
+    }
+
+    /**
+     * 기존 구현: 사전 전체에 대해 String.contains 반복.
+     */
+    static class NaiveBannedWordChecker {
+
+        private final Set<String> bannedWords;
+
+        NaiveBannedWordChecker(Set<String> bannedWords) {
+            this.bannedWords = Set.copyOf(bannedWords);
+        }
+
+        boolean containsBannedWord(String message) {
+            if (message == null || message.isBlank()) {
+                return false;
+            }
+            String normalizedMessage = message.toLowerCase(Locale.ROOT);
+            return bannedWords.stream().anyMatch(normalizedMessage::contains);
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(BannedWordCheckerBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+}
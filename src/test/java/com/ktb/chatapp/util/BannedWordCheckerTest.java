@@ -5,9 +5,12 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Random;
 import java.util.Set;
 import org.junit.jupiter.api.Test;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -54,4 +57,37 @@ class BannedWordCheckerTest {
         assertFalse(checker.containsBannedWord(null));
         assertFalse(checker.containsBannedWord("   "));
     }
+
+    @Test
+    void containsBannedWord_detectsOverlappingPatternsThroughFailureLinks() {
+        BannedWordChecker checker = new BannedWordChecker(Set.of("he", "she", "hers", "abcd", "bc"));
+        assertTrue(checker.containsBannedWord("ushers"));
+        assertTrue(checker.containsBannedWord("xabcx"));
+        assertTrue(checker.containsBannedWord("SHE"));
+        assertFalse(checker.containsBannedWord("abxcd"));
+    }
+
+    @Test
+    void containsBannedWord_matchesNaiveScanOnRandomMessages() {
+        BannedWordChecker checker = new BannedWordChecker(BANNED_WORDS);
+        Random random = new Random(42);
+        String alphabet = "abcdefghijklmnopqrstuvwxyz0123456789 ";
+
+        for (int i = 0; i < 2_000; i++) {
+            StringBuilder sb = new StringBuilder();
+            int length = 1 + random.nextInt(64);
+            for (int j = 0; j < length; j++) {
+                sb.append(alphabet.charAt(random.nextInt(alphabet.length())));
+            }
+            if (random.nextBoolean()) {
+                String word = LOADED_WORDS.get(random.nextInt(LOADED_WORDS.size()));
+                sb.insert(random.nextInt(sb.length() + 1), word.toUpperCase(Locale.ROOT));
+            }
+            String message = sb.toString();
+            String normalized = message.toLowerCase(Locale.ROOT);
+            boolean expected = BANNED_WORDS.stream().anyMatch(normalized::contains);
+
+            assertEquals(expected, checker.containsBannedWord(message), message);
+        }
+    }
 }
@@ -0,0 +1,114 @@
+package com.ktb.chatapp.websocket.socketio;
+
+import com.corundumstudio.socketio.BroadcastOperations;
+import com.corundumstudio.socketio.SocketIOServer;
+import com.ktb.chatapp.dto.UserResponse;
+import com.ktb.chatapp.model.User;
+import com.ktb.chatapp.repository.UserRepository;
+import com.ktb.chatapp.service.room.RoomMembershipService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import static com.ktb.chatapp.websocket.socketio.SocketIOEvents.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@DisplayName("ParticipantBroadcaster 테스트")
+class ParticipantBroadcasterTest {
+
+    private static final String ROOM_ID = "room-1";
+
+    private final SocketIOServer socketIOServer = mock(SocketIOServer.class);
+    private final BroadcastOperations roomOperations = mock(BroadcastOperations.class);
+    private final RoomMembershipService membership = mock(RoomMembershipService.class);
+    private final UserRooms userRooms = mock(UserRooms.class);
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    // 멤버십은 한 번이라도 입장한 사용자, present는 지금 방에 있는 사용자
+    private final Set<String> members = ConcurrentHashMap.newKeySet();
+    private final Set<String> present = ConcurrentHashMap.newKeySet();
+    private ParticipantBroadcaster broadcaster;
+
+    @BeforeEach
+    void setUp() {
+        when(socketIOServer.getRoomOperations(ROOM_ID)).thenReturn(roomOperations);
+        when(membership.members(ROOM_ID)).thenAnswer(inv -> Set.copyOf(members));
+        when(userRooms.presentIn(eq(ROOM_ID), anyCollection())).thenAnswer(inv -> inv.<Collection<String>>getArgument(1)
+                .stream()
+                .filter(present::contains)
+                .collect(Collectors.toSet()));
+        when(userRepository.findByIdIn(anyCollection())).thenAnswer(inv -> inv.<Collection<String>>getArgument(0)
+                .stream()
+                .map(id -> User.builder().id(id).name("name-" + id).email(id + "@example.com").build())
+                .toList());
+        broadcaster = new ParticipantBroadcaster(socketIOServer, membership, userRooms, userRepository, registry,
+                200, 60_000, 10);
+    }
+
+    @AfterEach
+    void tearDown() {
+        broadcaster.shutdown();
+    }
+
+    @Test
+    @DisplayName("입장이 몰려도 변경분은 입장마다, 전체 목록은 주기에 한 번 보내고 새 참가자만 조회한다")
+    @SuppressWarnings("unchecked")
+    void massJoin_deltasPerJoin_singleSnapshot() {
+        int joins = 100;
+        for (int i = 0; i < joins; i++) {
+            members.add("user-" + i);
+            present.add("user-" + i);
+            broadcaster.joined(ROOM_ID, "user-" + i, "name-user-" + i);
+        }
+
+        verify(roomOperations, times(joins)).sendEvent(eq(PARTICIPANT_JOINED), any(Map.class));
+        verify(roomOperations, timeout(2_000).times(1)).sendEvent(eq(PARTICIPANTS_UPDATE), any(List.class));
+
+        ArgumentCaptor<List<UserResponse>> snapshot = ArgumentCaptor.forClass(List.class);
+        verify(roomOperations).sendEvent(eq(PARTICIPANTS_UPDATE), snapshot.capture());
+        assertThat(snapshot.getValue()).hasSize(joins);
+        assertThat(registry.counter("participants.snapshot.coalesced").count()).isEqualTo(joins - 1);
+
+        // 입장마다 새 참가자 한 명씩만 조회한다 (전체 목록을 다시 읽지 않음)
+        ArgumentCaptor<Collection<String>> lookups = ArgumentCaptor.forClass(Collection.class);
+        verify(userRepository, times(joins)).findByIdIn(lookups.capture());
+        assertThat(lookups.getAllValues()).allMatch(ids -> ids.size() == 1);
+    }
+
+    @Test
+    @DisplayName("퇴장은 변경분을 바로 보내고, 다음 전체 목록에는 나간 사용자가 빠진다")
+    @SuppressWarnings("unchecked")
+    void leave_sendsDeltaAndNextSnapshotExcludesLeaver() {
+        members.addAll(List.of("user-1", "user-2"));
+        present.addAll(List.of("user-1", "user-2"));
+        broadcaster.joined(ROOM_ID, "user-2", "name-user-2");
+        verify(roomOperations, timeout(2_000).times(1)).sendEvent(eq(PARTICIPANTS_UPDATE), any(List.class));
+
+        // 퇴장해도 멤버십에는 남는다
+        present.remove("user-1");
+        broadcaster.left(ROOM_ID, "user-1", "name-user-1");
+
+        verify(roomOperations).sendEvent(PARTICIPANT_LEFT,
+                Map.of("roomId", ROOM_ID, "userId", "user-1", "userName", "name-user-1"));
+        ArgumentCaptor<List<UserResponse>> snapshots = ArgumentCaptor.forClass(List.class);
+        verify(roomOperations, timeout(2_000).times(2)).sendEvent(eq(PARTICIPANTS_UPDATE), snapshots.capture());
+        assertThat(snapshots.getAllValues().get(1))
+                .extracting(UserResponse::getId)
+                .containsExactly("user-2");
+        // 남은 참가자는 캐시된 뷰에서 가져오므로 다시 조회하지 않는다
+        verify(userRepository, times(1)).findByIdIn(anyCollection());
+    }
+}
@@ -0,0 +1,78 @@
+package com.ktb.chatapp.websocket.socketio;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("PostSendPipeline 테스트")
+class PostSendPipelineTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private PostSendPipeline pipeline;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (pipeline != null) {
+            pipeline.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("가상 스레드에서 작업을 실행한다")
+    void submit_runsOnVirtualThread() throws InterruptedException {
+        pipeline = new PostSendPipeline(registry, 2, 10);
+        CountDownLatch done = new CountDownLatch(1);
+        boolean[] virtual = new boolean[1];
+
+        pipeline.submit("task", () -> {
+            virtual[0] = Thread.currentThread().isVirtual();
+            done.countDown();
+        });
+
+        assertThat(done.await(1, TimeUnit.SECONDS)).isTrue();
+        assertThat(virtual[0]).isTrue();
+        assertThat(registry.get("post.send.submitted").tag("task", "task").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("큐가 가득 차면 거절하고 작업별 거절 카운터를 올린다")
+    void submit_queueFull_rejects() {
+        pipeline = new PostSendPipeline(registry, 1, 1);
+        CountDownLatch release = new CountDownLatch(1);
+        Runnable blocking = () -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+
+        assertThat(pipeline.submit("slow", blocking)).isTrue();
+        assertThat(pipeline.submit("slow", blocking)).isTrue();
+        assertThat(pipeline.submit("slow", blocking)).isFalse();
+
+        assertThat(registry.get("post.send.rejected").tag("task", "slow").counter().count()).isEqualTo(1);
+        release.countDown();
+    }
+
+    @Test
+    @DisplayName("작업이 실패해도 워커는 계속 동작하고 실패를 기록한다")
+    void submit_taskFails_recordsFailure() throws InterruptedException {
+        pipeline = new PostSendPipeline(registry, 1, 10);
+        CountDownLatch done = new CountDownLatch(1);
+
+        pipeline.submit("broken", () -> {
+            throw new IllegalStateException("boom");
+        });
+        pipeline.submit("next", done::countDown);
+
+        assertThat(done.await(1, TimeUnit.SECONDS)).isTrue();
+        assertThat(registry.get("post.send.failed").tag("task", "broken").counter().count()).isEqualTo(1);
+    }
+}
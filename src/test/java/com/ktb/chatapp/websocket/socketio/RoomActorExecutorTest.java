@@ -0,0 +1,197 @@
+package com.ktb.chatapp.websocket.socketio;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("RoomActorExecutor 테스트")
+class RoomActorExecutorTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final RoomActorExecutor roomActors = new RoomActorExecutor(registry);
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        roomActors.shutdown();
+    }
+
+    @Test
+    @DisplayName("방마다 많은 클라이언트가 동시에 보내도 방 상태는 잠금 없이 정확하고 방끼리는 병렬로 실행된다")
+    void run_manyClientsPerRoom_serializesPerRoom() throws InterruptedException {
+        int rooms = 20;
+        int clientsPerRoom = 50;
+        int opsPerClient = 40;
+
+        // 방 메일박스 안에서만 만지는 잠금 없는 상태
+        Map<String, List<String>> history = new HashMap<>();
+        Map<String, int[]> inFlight = new HashMap<>();
+        for (int r = 0; r < rooms; r++) {
+            history.put("room-" + r, new ArrayList<>());
+            inFlight.put("room-" + r, new int[1]);
+        }
+        AtomicBoolean overlapped = new AtomicBoolean();
+        AtomicInteger concurrentRooms = new AtomicInteger();
+        AtomicInteger maxConcurrentRooms = new AtomicInteger();
+
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch finished = new CountDownLatch(rooms * clientsPerRoom);
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int r = 0; r < rooms; r++) {
+                String roomId = "room-" + r;
+                for (int c = 0; c < clientsPerRoom; c++) {
+                    String clientId = roomId + "/client-" + c;
+                    clients.execute(() -> {
+                        try {
+                            start.await();
+                            for (int i = 0; i < opsPerClient; i++) {
+                                String op = clientId + "#" + i;
+                                roomActors.run(roomId, "message", () -> {
+                                    if (++inFlight.get(roomId)[0] > 1) overlapped.set(true);
+                                    maxConcurrentRooms.accumulateAndGet(
+                                            concurrentRooms.incrementAndGet(), Math::max);
+                                    Thread.yield();
+                                    history.get(roomId).add(op);
+                                    concurrentRooms.decrementAndGet();
+                                    inFlight.get(roomId)[0]--;
+                                });
+                            }
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        } finally {
+                            finished.countDown();
+                        }
+                    });
+                }
+            }
+            start.countDown();
+            assertThat(finished.await(30, TimeUnit.SECONDS)).isTrue();
+        }
+
+        assertThat(overlapped).isFalse();
+        for (int r = 0; r < rooms; r++) {
+            List<String> ops = history.get("room-" + r);
+            assertThat(ops).hasSize(clientsPerRoom * opsPerClient);
+            // 한 클라이언트가 보낸 작업은 보낸 순서대로 반영된다
+            for (int c = 0; c < clientsPerRoom; c++) {
+                String prefix = "room-" + r + "/client-" + c + "#";
+                assertThat(ops.stream().filter(op -> op.startsWith(prefix))
+                        .map(op -> Integer.parseInt(op.substring(prefix.length()))).toList())
+                        .isSorted();
+            }
+        }
+        if (Runtime.getRuntime().availableProcessors() > 1) {
+            assertThat(maxConcurrentRooms.get()).isGreaterThan(1);
+        }
+        assertThat(registry.get("room.actor.run.time").tag("operation", "message").timer().count())
+                .isEqualTo((long) rooms * clientsPerRoom * opsPerClient);
+        assertThat(registry.get("room.actor.mailboxes").gauge().value()).isZero();
+    }
+
+    @Test
+    @DisplayName("같은 방 작업 안에서 같은 방 작업을 요청하면 그 자리에서 실행한다")
+    void run_reentrantSameRoom_runsInline() {
+        List<String> order = new ArrayList<>();
+
+        roomActors.run("room-1", "outer", () -> {
+            order.add("outer");
+            roomActors.run("room-1", "inner", () -> order.add("inner"));
+            order.add("after");
+        });
+
+        assertThat(order).containsExactly("outer", "inner", "after");
+    }
+
+    @Test
+    @DisplayName("작업 예외는 호출자에게 전달되고 메일박스는 다음 작업을 계속 실행한다")
+    void run_failure_propagatesToCaller() {
+        assertThatThrownBy(() -> roomActors.run("room-1", "broken", () -> {
+            throw new IllegalStateException("boom");
+        })).isInstanceOf(IllegalStateException.class).hasMessage("boom");
+
+        AtomicBoolean ran = new AtomicBoolean();
+        roomActors.run("room-1", "next", () -> ran.set(true));
+        assertThat(ran).isTrue();
+    }
+
+    @Test
+    @DisplayName("큐를 비운 직후 다른 러너가 마지막 작업을 실행 중이면 메일박스를 지우지 않아 다음 작업이 겹치지 않는다")
+    void drainRace_nextTaskWaitsForRunningTask() throws InterruptedException {
+        CountDownLatch secondStarted = new CountDownLatch(1);
+        CountDownLatch releaseSecond = new CountDownLatch(1);
+        CountDownLatch thirdDone = new CountDownLatch(1);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        List<String> order = new CopyOnWriteArrayList<>();
+        AtomicBoolean fired = new AtomicBoolean();
+        AtomicReference<Thread> firstRunner = new AtomicReference<>();
+
+        // 첫 러너가 scheduled를 내린 뒤 정리 전에: 두 번째 러너가 마지막 작업을 꺼내 실행 중인 상태를 만든다
+        RoomActorExecutor racing = new RoomActorExecutor(registry) {
+            @Override
+            void onDrained() {
+                if (!fired.compareAndSet(false, true)) return;
+                firstRunner.set(Thread.currentThread());
+                tell("room-1", "second", tracked("second", running, maxRunning, order, () -> {
+                    secondStarted.countDown();
+                    awaitQuietly(releaseSecond);
+                }));
+                awaitQuietly(secondStarted);
+            }
+        };
+
+        try {
+            racing.tell("room-1", "first", tracked("first", running, maxRunning, order, () -> { }));
+            assertThat(secondStarted.await(5, TimeUnit.SECONDS)).isTrue();
+            // 첫 러너가 메일박스 정리까지 끝내고 종료할 때까지 기다린다
+            while (firstRunner.get() == null) Thread.onSpinWait();
+            firstRunner.get().join(5_000);
+
+            racing.tell("room-1", "third", tracked("third", running, maxRunning, order, thirdDone::countDown));
+            releaseSecond.countDown();
+
+            assertThat(thirdDone.await(5, TimeUnit.SECONDS)).isTrue();
+            assertThat(maxRunning.get()).isEqualTo(1);
+            assertThat(order).containsExactly("first", "second", "third");
+        } finally {
+            racing.shutdown();
+        }
+    }
+
+    static Runnable tracked(String name, AtomicInteger running, AtomicInteger maxRunning,
+                            List<String> order, Runnable body) {
+        return () -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            order.add(name);
+            try {
+                body.run();
+            } finally {
+                running.decrementAndGet();
+            }
+        };
+    }
+
+    static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
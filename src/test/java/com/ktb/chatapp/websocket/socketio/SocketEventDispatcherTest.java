@@ -0,0 +1,192 @@
+package com.ktb.chatapp.websocket.socketio;
+
+import com.corundumstudio.socketio.SocketIOClient;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.ktb.chatapp.websocket.socketio.SocketIOEvents.ERROR;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DisplayName("SocketEventDispatcher 테스트")
+class SocketEventDispatcherTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private SocketEventDispatcher dispatcher;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (dispatcher != null) {
+            dispatcher.shutdown();
+        }
+    }
+
+    private static SocketIOClient client() {
+        SocketIOClient client = mock(SocketIOClient.class);
+        when(client.getSessionId()).thenReturn(UUID.randomUUID());
+        return client;
+    }
+
+    @Test
+    @DisplayName("같은 클라이언트의 이벤트는 가상 스레드에서 도착 순서대로 하나씩 실행된다")
+    void dispatch_preservesPerClientOrder() throws InterruptedException {
+        dispatcher = new SocketEventDispatcher(registry, true, 1000);
+        SocketIOClient client = client();
+        List<Integer> executed = new CopyOnWriteArrayList<>();
+        AtomicBoolean running = new AtomicBoolean();
+        AtomicBoolean overlapped = new AtomicBoolean();
+        AtomicBoolean virtual = new AtomicBoolean(true);
+        CountDownLatch done = new CountDownLatch(200);
+
+        for (int i = 0; i < 200; i++) {
+            int seq = i;
+            dispatcher.dispatch(client, "chatMessage", () -> {
+                if (!running.compareAndSet(false, true)) overlapped.set(true);
+                if (!Thread.currentThread().isVirtual()) virtual.set(false);
+                executed.add(seq);
+                running.set(false);
+                done.countDown();
+            });
+        }
+
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(executed).isSorted().hasSize(200);
+        assertThat(overlapped).isFalse();
+        assertThat(virtual).isTrue();
+        assertThat(registry.get("socketio.handler.time").tag("event", "chatMessage").timer().count())
+                .isEqualTo(200);
+        assertThat(registry.get("socketio.dispatch.queue.wait").tag("event", "chatMessage").timer().count())
+                .isEqualTo(200);
+    }
+
+    @Test
+    @DisplayName("한 클라이언트의 느린 핸들러가 다른 클라이언트를 막지 않는다")
+    void dispatch_slowClient_doesNotBlockOthers() throws InterruptedException {
+        dispatcher = new SocketEventDispatcher(registry, true, 1000);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch otherDone = new CountDownLatch(1);
+
+        dispatcher.dispatch(client(), "joinRoom", () -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        dispatcher.dispatch(client(), "joinRoom", otherDone::countDown);
+
+        assertThat(otherDone.await(1, TimeUnit.SECONDS)).isTrue();
+        assertThat(registry.get("socketio.dispatch.pending").tag("event", "joinRoom").gauge().value())
+                .isZero();
+        release.countDown();
+    }
+
+    @Test
+    @DisplayName("대기 한도를 넘으면 이벤트를 버리고 클라이언트에 알리지만 연결 종료는 항상 받는다")
+    void dispatch_overLimit_rejectsButAcceptsDisconnect() throws InterruptedException {
+        dispatcher = new SocketEventDispatcher(registry, true, 1);
+        SocketIOClient client = client();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch disconnected = new CountDownLatch(1);
+
+        dispatcher.dispatch(client, "chatMessage", () -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        assertThat(started.await(1, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(dispatcher.dispatch(client, "chatMessage", () -> { })).isTrue();
+        assertThat(dispatcher.dispatch(client, "chatMessage", () -> { })).isFalse();
+        dispatcher.dispatchAlways(client, "disconnect", disconnected::countDown);
+
+        verify(client).sendEvent(eq(ERROR), eq(Map.of(
+                "code", "SOCKET_BUSY",
+                "message", "요청이 너무 많습니다. 잠시 후 다시 시도해주세요.")));
+        assertThat(registry.get("socketio.dispatch.rejected").tag("event", "chatMessage").counter().count())
+                .isEqualTo(1);
+
+        release.countDown();
+        assertThat(disconnected.await(1, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    @DisplayName("핸들러 예외는 기록하고 다음 이벤트를 계속 실행한다")
+    void dispatch_handlerFails_continues() throws InterruptedException {
+        dispatcher = new SocketEventDispatcher(registry, true, 10);
+        SocketIOClient client = client();
+        CountDownLatch done = new CountDownLatch(1);
+
+        dispatcher.dispatch(client, "messageReaction", () -> {
+            throw new IllegalStateException("boom");
+        });
+        dispatcher.dispatch(client, "messageReaction", done::countDown);
+
+        assertThat(done.await(1, TimeUnit.SECONDS)).isTrue();
+        assertThat(registry.get("socketio.handler.failed").tag("event", "messageReaction").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("레인을 비운 직후 다른 러너가 마지막 이벤트를 실행 중이면 레인을 지우지 않아 다음 이벤트가 겹치지 않는다")
+    void drainRace_nextEventWaitsForRunningEvent() throws InterruptedException {
+        SocketIOClient client = client();
+        CountDownLatch secondStarted = new CountDownLatch(1);
+        CountDownLatch releaseSecond = new CountDownLatch(1);
+        CountDownLatch thirdDone = new CountDownLatch(1);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        List<String> order = new CopyOnWriteArrayList<>();
+        AtomicBoolean fired = new AtomicBoolean();
+        AtomicReference<Thread> firstRunner = new AtomicReference<>();
+
+        // 첫 러너가 scheduled를 내린 뒤 정리 전에: 두 번째 러너가 마지막 이벤트를 꺼내 실행 중인 상태를 만든다
+        dispatcher = new SocketEventDispatcher(registry, true, 100) {
+            @Override
+            void onDrained() {
+                if (!fired.compareAndSet(false, true)) return;
+                firstRunner.set(Thread.currentThread());
+                dispatch(client, "second", RoomActorExecutorTest.tracked("second", running, maxRunning, order,
+                        () -> {
+                            secondStarted.countDown();
+                            RoomActorExecutorTest.awaitQuietly(releaseSecond);
+                        }));
+                RoomActorExecutorTest.awaitQuietly(secondStarted);
+            }
+        };
+
+        dispatcher.dispatch(client, "first", RoomActorExecutorTest.tracked("first", running, maxRunning, order,
+                () -> { }));
+        assertThat(secondStarted.await(5, TimeUnit.SECONDS)).isTrue();
+        // 첫 러너가 레인 정리까지 끝내고 종료할 때까지 기다린다
+        while (firstRunner.get() == null) Thread.onSpinWait();
+        firstRunner.get().join(5_000);
+
+        dispatcher.dispatch(client, "third", RoomActorExecutorTest.tracked("third", running, maxRunning, order,
+                thirdDone::countDown));
+        releaseSecond.countDown();
+
+        assertThat(thirdDone.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(maxRunning.get()).isEqualTo(1);
+        assertThat(order).containsExactly("first", "second", "third");
+    }
+}
@@ -0,0 +1,77 @@
+package com.ktb.chatapp.websocket.socketio.ai;
+
+import com.ktb.chatapp.dto.ActiveStreamResponse;
+import com.ktb.chatapp.event.AiMessageChunkEvent;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AiActiveStreamRegistry 테스트")
+class AiActiveStreamRegistryTest {
+
+    @Mock
+    private StringRedisTemplate redis;
+
+    private AiActiveStreamRegistry registry() {
+        return new AiActiveStreamRegistry(redis, 60_000);
+    }
+
+    @Test
+    @DisplayName("진행 중 스트림을 내용과 마지막 sequence로 돌려준다")
+    @SuppressWarnings("unchecked")
+    void activeStreams_mapsPartialContentAndSequence() {
+        when(redis.execute(any(RedisScript.class), eq(List.of("ai:streams:room:room-1")), anyString()))
+                .thenReturn(List.of("wayneAI-1", "wayneAI", "1700000000000", "7", "부분 응답"));
+
+        List<ActiveStreamResponse> streams = registry().activeStreams("room-1");
+
+        assertThat(streams).singleElement().satisfies(stream -> {
+            assertThat(stream.getId()).isEqualTo("wayneAI-1");
+            assertThat(stream.getAiType()).isEqualTo("wayneAI");
+            assertThat(stream.getContent()).isEqualTo("부분 응답");
+            assertThat(stream.getSequence()).isEqualTo(7);
+            assertThat(stream.getTimestamp()).isEqualTo("2023-11-14T22:13:20Z");
+            assertThat(stream.isStreaming()).isTrue();
+        });
+    }
+
+    @Test
+    @DisplayName("Redis 조회에 실패하면 빈 목록으로 입장을 계속한다")
+    @SuppressWarnings("unchecked")
+    void activeStreams_redisFailure_empty() {
+        when(redis.execute(any(RedisScript.class), anyList(), anyString()))
+                .thenThrow(new IllegalStateException("down"));
+
+        assertThat(registry().activeStreams("room-1")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("스냅샷 청크는 누적 내용을 통째로 교체한다")
+    @SuppressWarnings("unchecked")
+    void onChunk_snapshot_replacesContent() {
+        registry().onChunk(new AiMessageChunkEvent(this, "room-1", "wayneAI-1",
+                32, "d", "abcd", true, false));
+        registry().onChunk(new AiMessageChunkEvent(this, "room-1", "wayneAI-1",
+                33, "e", null, false, false));
+
+        List<String> keys = List.of("ai:stream:wayneAI-1", "ai:stream:wayneAI-1:content", "ai:streams:room:room-1");
+        verify(redis).execute(any(RedisScript.class), eq(keys), eq("abcd"), eq("32"), eq("60000"), eq("1"));
+        verify(redis).execute(any(RedisScript.class), eq(keys), eq("e"), eq("33"), eq("60000"), eq("0"));
+    }
+}
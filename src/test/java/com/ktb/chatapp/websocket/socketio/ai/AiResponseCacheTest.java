@@ -0,0 +1,114 @@
+package com.ktb.chatapp.websocket.socketio.ai;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ktb.chatapp.model.AiType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AiResponseCache 테스트")
+class AiResponseCacheTest {
+
+    @Mock
+    private StringRedisTemplate redis;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private SimpleMeterRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+    }
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+            "'  자바의   특징은? '|자바의 특징은?",
+            "'What IS\tJava'|what is java",
+            "'ＡＢＣ 질문'|abc 질문"
+    })
+    @DisplayName("공백, 대소문자, 전각 문자 차이를 무시하고 정규화한다")
+    void normalize_ignoresCosmeticDifferences(String query, String expected) {
+        assertThat(AiResponseCache.normalize(query)).isEqualTo(expected);
+    }
+
+    @Test
+    @DisplayName("같은 의미의 질문은 같은 키로 저장/조회된다")
+    @SuppressWarnings("unchecked")
+    void get_equivalentQuery_usesSameKey() {
+        AiResponseCache cache = cache(true);
+        when(redis.execute(any(RedisScript.class), anyList(), anyString(), anyString(), anyString(), anyString()))
+                .thenReturn(0L);
+
+        cache.put(AiType.WAYNE_AI, "자바란?", "답변", 1200);
+        cache.get(AiType.WAYNE_AI, "  자바란? ");
+
+        ArgumentCaptor<List<String>> keys = ArgumentCaptor.forClass(List.class);
+        verify(redis).execute(any(RedisScript.class), keys.capture(),
+                anyString(), anyString(), anyString(), anyString());
+        verify(redis).execute(any(RedisScript.class), keys.capture(), anyString());
+        assertThat(keys.getAllValues().get(1).get(0)).isEqualTo(keys.getAllValues().get(0).get(0));
+        assertThat(keys.getAllValues().get(0).get(0)).startsWith("ai:response:wayne_ai:");
+    }
+
+    @Test
+    @DisplayName("적중하면 본문을 반환하고 생략된 생성 시간을 기록한다")
+    @SuppressWarnings("unchecked")
+    void get_hit_recordsSavedLatency() throws Exception {
+        AiResponseCache cache = cache(true);
+        String json = objectMapper.writeValueAsString(new AiResponseCache.CachedAnswer("캐시된 답변", 1500));
+        when(redis.execute(any(RedisScript.class), anyList(), anyString())).thenReturn(json);
+
+        assertThat(cache.get(AiType.CONSULTING_AI, "질문")).contains("캐시된 답변");
+        assertThat(registry.get("ai.response.cache.hit").counter().count()).isEqualTo(1);
+        assertThat(registry.get("ai.response.cache.saved.latency").timer().totalTime(TimeUnit.MILLISECONDS))
+                .isEqualTo(1500);
+    }
+
+    @Test
+    @DisplayName("Redis 조회 실패는 miss로 처리한다")
+    @SuppressWarnings("unchecked")
+    void get_redisFailure_miss() {
+        AiResponseCache cache = cache(true);
+        when(redis.execute(any(RedisScript.class), anyList(), anyString()))
+                .thenThrow(new IllegalStateException("down"));
+
+        assertThat(cache.get(AiType.WAYNE_AI, "질문")).isEmpty();
+        assertThat(registry.get("ai.response.cache.miss").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("비활성화되어 있으면 Redis를 사용하지 않는다")
+    void disabled_skipsRedis() {
+        AiResponseCache cache = cache(false);
+
+        cache.put(AiType.WAYNE_AI, "질문", "답변", 100);
+
+        assertThat(cache.get(AiType.WAYNE_AI, "질문")).isEmpty();
+        verifyNoInteractions(redis);
+    }
+
+    private AiResponseCache cache(boolean enabled) {
+        return new AiResponseCache(redis, objectMapper, registry, enabled, 60_000, 100, 1000);
+    }
+}
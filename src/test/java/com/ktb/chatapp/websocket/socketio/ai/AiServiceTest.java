@@ -0,0 +1,51 @@
+package com.ktb.chatapp.websocket.socketio.ai;
+
+import com.ktb.chatapp.event.AiMessageCompleteEvent;
+import com.ktb.chatapp.event.AiMessageErrorEvent;
+import com.ktb.chatapp.event.AiMessageSavedEvent;
+import com.ktb.chatapp.model.AiType;
+import com.ktb.chatapp.service.MessageService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.context.ApplicationEventPublisher;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@DisplayName("AiService 테스트")
+class AiServiceTest {
+
+    private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+    private final MessageService messageService = mock(MessageService.class);
+    private final AiService aiService = new AiService(
+            ChatClient.builder(mock(ChatModel.class)),
+            eventPublisher,
+            messageService,
+            mock(AiStreamGovernor.class),
+            new AiResponseCache(null, null, new SimpleMeterRegistry(), false, 0, 0, 0),
+            new SimpleMeterRegistry(),
+            32, true, 20, 256);
+
+    @Test
+    @DisplayName("AI 응답 저장에 실패하면 오류 이벤트를 발행해 진행 중 스트림이 정리되게 한다")
+    void saveFailure_publishesErrorEvent() {
+        when(messageService.saveAiMessage(any(), any(), any(), any(), any()))
+                .thenThrow(new IllegalStateException("mongo down"));
+
+        aiService.onAiMessageCompleteEvent(new AiMessageCompleteEvent(
+                this, "room-1", "wayneAI-1", "답변", AiType.WAYNE_AI,
+                System.currentTimeMillis(), "질문", 10));
+
+        ArgumentCaptor<AiMessageErrorEvent> error = ArgumentCaptor.forClass(AiMessageErrorEvent.class);
+        verify(eventPublisher).publishEvent(error.capture());
+        assertThat(error.getValue().getRoomId()).isEqualTo("room-1");
+        assertThat(error.getValue().getMessageId()).isEqualTo("wayneAI-1");
+        assertThat(error.getValue().getErrorCode()).isEqualTo(AiService.SAVE_FAILED);
+        verify(eventPublisher, never()).publishEvent(any(AiMessageSavedEvent.class));
+    }
+}
@@ -0,0 +1,157 @@
+package com.ktb.chatapp.websocket.socketio.ai;
+
+import com.ktb.chatapp.websocket.socketio.UserRooms;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AiStreamGovernor 테스트")
+class AiStreamGovernorTest {
+
+    @Mock
+    private UserRooms userRooms;
+
+    private SimpleMeterRegistry registry;
+    // 시작된 순서대로 "roomId#n"
+    private List<String> started;
+    private Map<String, Runnable> finishers;
+    private Map<String, AtomicBoolean> cancelled;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        started = new ArrayList<>();
+        finishers = new HashMap<>();
+        cancelled = new HashMap<>();
+    }
+
+    @Test
+    @DisplayName("전체 한도를 넘는 요청은 대기했다가 자리가 나면 시작한다")
+    void submit_overGlobalLimit_queuesUntilFinished() {
+        AiStreamGovernor governor = governor(2, 2, 10);
+
+        submit(governor, "a", 1);
+        submit(governor, "b", 1);
+        submit(governor, "c", 1);
+
+        assertThat(started).containsExactly("a#1", "b#1");
+        assertThat(governor.queuedCount()).isEqualTo(1);
+
+        finishers.get("a#1").run();
+
+        assertThat(started).containsExactly("a#1", "b#1", "c#1");
+        assertThat(governor.activeCount()).isEqualTo(2);
+        assertThat(governor.queuedCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("한 방의 요청 폭주가 있어도 다른 방의 대기 요청이 번갈아 시작된다")
+    void submit_burstInOneRoom_roundRobinAcrossRooms() {
+        AiStreamGovernor governor = governor(1, 1, 10);
+
+        submit(governor, "busy", 1);
+        submit(governor, "busy", 2);
+        submit(governor, "busy", 3);
+        submit(governor, "quiet", 1);
+
+        finishers.get("busy#1").run();
+        finishers.get("busy#2").run();
+        finishers.get("quiet#1").run();
+
+        assertThat(started).containsExactly("busy#1", "busy#2", "quiet#1", "busy#3");
+    }
+
+    @Test
+    @DisplayName("방별 한도에 걸린 방은 건너뛰고 다른 방 요청을 시작한다")
+    void submit_perRoomLimit_otherRoomsProceed() {
+        AiStreamGovernor governor = governor(10, 1, 10);
+
+        submit(governor, "a", 1);
+        submit(governor, "a", 2);
+        submit(governor, "b", 1);
+
+        assertThat(started).containsExactly("a#1", "b#1");
+        assertThat(governor.queuedCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("대기열이 가득 차면 거절하고 거절 카운터를 올린다")
+    void submit_queueFull_rejects() {
+        AiStreamGovernor governor = governor(1, 1, 1);
+        AtomicBoolean rejected = new AtomicBoolean();
+
+        submit(governor, "a", 1);
+        submit(governor, "a", 2);
+        boolean accepted = governor.submit("a", onFinish -> () -> { }, () -> rejected.set(true));
+
+        assertThat(accepted).isFalse();
+        assertThat(rejected).isTrue();
+        assertThat(registry.get("ai.stream.rejected").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("마지막 참여자가 나가면 진행 중 스트림을 취소하고 대기 요청을 버린다")
+    void onParticipantLeft_roomEmpty_cancelsStreams() {
+        AiStreamGovernor governor = governor(1, 1, 10);
+        submit(governor, "a", 1);
+        submit(governor, "a", 2);
+        submit(governor, "b", 1);
+        when(userRooms.isInRoom(anyString(), eq("a"))).thenReturn(false);
+
+        governor.onParticipantLeft("a", Set.of("u1", "u2"));
+
+        assertThat(cancelled.get("a#1")).isTrue();
+        assertThat(started).containsExactly("a#1", "b#1");
+        assertThat(governor.hasStreams("a")).isFalse();
+        assertThat(registry.get("ai.stream.cancelled").counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("참여자가 남아 있으면 스트림을 유지한다")
+    void onParticipantLeft_roomOccupied_keepsStreams() {
+        AiStreamGovernor governor = governor(1, 1, 10);
+        submit(governor, "a", 1);
+        when(userRooms.isInRoom("u1", "a")).thenReturn(true);
+
+        governor.onParticipantLeft("a", Set.of("u1"));
+
+        assertThat(cancelled.get("a#1")).isFalse();
+        assertThat(governor.activeCount()).isEqualTo(1);
+    }
+
+    private AiStreamGovernor governor(int maxConcurrent, int maxPerRoom, int maxQueued) {
+        return new AiStreamGovernor(userRooms, registry, maxConcurrent, maxPerRoom, maxQueued);
+    }
+
+    // 취소되면 실제 스트림처럼 onFinish를 호출한다
+    private void submit(AiStreamGovernor governor, String roomId, int n) {
+        String name = roomId + "#" + n;
+        AtomicBoolean cancelFlag = new AtomicBoolean();
+        cancelled.put(name, cancelFlag);
+        governor.submit(roomId, onFinish -> {
+            started.add(name);
+            finishers.put(name, onFinish);
+            return () -> {
+                cancelFlag.set(true);
+                onFinish.run();
+            };
+        }, () -> { });
+    }
+}
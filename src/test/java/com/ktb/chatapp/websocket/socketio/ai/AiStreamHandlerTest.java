@@ -0,0 +1,104 @@
+package com.ktb.chatapp.websocket.socketio.ai;
+
+import com.ktb.chatapp.event.AiMessageChunkEvent;
+import com.ktb.chatapp.event.AiMessageCompleteEvent;
+import com.ktb.chatapp.event.AiMessageErrorEvent;
+import com.ktb.chatapp.websocket.socketio.handler.StreamingSession;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Subscription;
+import org.springframework.context.ApplicationEventPublisher;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+@DisplayName("AiStreamHandler delta 청크 테스트")
+class AiStreamHandlerTest {
+
+    private final List<Object> events = new ArrayList<>();
+    private final ApplicationEventPublisher publisher = events::add;
+
+    @Test
+    @DisplayName("청크는 delta와 순번만 담고 N번째마다 전체 내용 스냅샷을 포함한다")
+    void chunksCarryDeltaAndPeriodicSnapshot() {
+        AiStreamHandler handler = new AiStreamHandler(session(), publisher, 3, false);
+
+        for (String chunk : List.of("a", "b", "c", "d", "e", "f", "g")) {
+            handler.onNext(ChunkData.from(chunk));
+        }
+
+        List<AiMessageChunkEvent> chunks = chunkEvents();
+        assertThat(chunks).extracting(AiMessageChunkEvent::getSequence)
+                .containsExactly(1L, 2L, 3L, 4L, 5L, 6L, 7L);
+        assertThat(chunks).extracting(AiMessageChunkEvent::getDelta)
+                .containsExactly("a", "b", "c", "d", "e", "f", "g");
+        assertThat(chunks).filteredOn(AiMessageChunkEvent::isSnapshot)
+                .extracting(AiMessageChunkEvent::getFullContent)
+                .containsExactly("abc", "abcdef");
+        assertThat(chunks).filteredOn(event -> !event.isSnapshot())
+                .allSatisfy(event -> assertThat(event.getFullContent()).isNull());
+    }
+
+    @Test
+    @DisplayName("호환 모드에서는 매 청크에 누적 전체 내용을 함께 보낸다")
+    void legacyCompatIncludesFullContentOnEveryChunk() {
+        AiStreamHandler handler = new AiStreamHandler(session(), publisher, 0, true);
+
+        handler.onNext(ChunkData.from("Hello"));
+        handler.onNext(ChunkData.from(", "));
+        handler.onNext(ChunkData.from("world"));
+
+        assertThat(chunkEvents()).extracting(AiMessageChunkEvent::getFullContent)
+                .containsExactly("Hello", "Hello, ", "Hello, world");
+        assertThat(chunkEvents()).noneMatch(AiMessageChunkEvent::isSnapshot);
+    }
+
+    @Test
+    @DisplayName("완료 이벤트에는 누적된 전체 응답이 담긴다")
+    void completionCarriesAccumulatedContent() {
+        AiStreamHandler handler = new AiStreamHandler(session(), publisher, 32, false);
+
+        handler.onNext(ChunkData.from("foo"));
+        handler.onNext(ChunkData.from("bar"));
+        handler.onComplete();
+
+        assertThat(events).filteredOn(AiMessageCompleteEvent.class::isInstance)
+                .singleElement()
+                .extracting(event -> ((AiMessageCompleteEvent) event).getContent())
+                .isEqualTo("foobar");
+    }
+
+    @Test
+    @DisplayName("취소되면 취소 코드가 담긴 오류 이벤트로 스트림 종료를 알린다")
+    void cancelPublishesCancelledError() {
+        AiStreamHandler handler = new AiStreamHandler(session(), publisher, 32, false);
+        handler.onSubscribe(mock(Subscription.class));
+
+        handler.cancel();
+
+        assertThat(events).filteredOn(AiMessageErrorEvent.class::isInstance)
+                .singleElement()
+                .extracting(event -> ((AiMessageErrorEvent) event).getErrorCode())
+                .isEqualTo(AiStreamHandler.STREAM_CANCELLED);
+    }
+
+    private List<AiMessageChunkEvent> chunkEvents() {
+        return events.stream()
+                .filter(AiMessageChunkEvent.class::isInstance)
+                .map(AiMessageChunkEvent.class::cast)
+                .toList();
+    }
+
+    private StreamingSession session() {
+        return StreamingSession.builder()
+                .messageId("wayneAI-1")
+                .roomId("room-1")
+                .userId("user-1")
+                .aiType("wayneAI")
+                .query("hi")
+                .timestamp(System.currentTimeMillis())
+                .build();
+    }
+}
@@ -0,0 +1,111 @@
+package com.ktb.chatapp.websocket.socketio.ai;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("ChunkCoalescer 테스트")
+class ChunkCoalescerTest {
+
+    private static final Duration LONG_WINDOW = Duration.ofSeconds(10);
+
+    private SimpleMeterRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    @DisplayName("버퍼가 maxChars에 도달하면 window를 기다리지 않고 내보낸다")
+    void coalesce_maxCharsReached_emitsImmediately() {
+        ChunkCoalescer coalescer = new ChunkCoalescer(LONG_WINDOW, 4, registry);
+
+        List<ChunkData> chunks = coalescer.coalesce(Flux.just("ab", "cd", "ef"))
+                .collectList()
+                .block(Duration.ofSeconds(1));
+
+        assertThat(chunks).extracting(ChunkData::currentChunk).containsExactly("abcd", "ef");
+    }
+
+    @Test
+    @DisplayName("window가 지나면 그때까지 모인 토큰을 한 청크로 내보낸다")
+    void coalesce_windowElapsed_emitsBufferedTokens() {
+        ChunkCoalescer coalescer = new ChunkCoalescer(Duration.ofMillis(30), 0, registry);
+        Flux<String> tokens = Flux.just("안", "녕")
+                .concatWith(Flux.just("하세요").delaySubscription(Duration.ofMillis(300)));
+
+        List<ChunkData> chunks = coalescer.coalesce(tokens)
+                .collectList()
+                .block(Duration.ofSeconds(2));
+
+        assertThat(chunks).extracting(ChunkData::currentChunk).containsExactly("안녕", "하세요");
+    }
+
+    @Test
+    @DisplayName("codeBlock 상태가 바뀌는 토큰 앞에서 청크를 끊는다")
+    void coalesce_codeBlockToggle_splitsChunks() {
+        ChunkCoalescer coalescer = new ChunkCoalescer(LONG_WINDOW, 0, registry);
+
+        List<ChunkData> chunks = coalescer.coalesce(
+                        Flux.just("예시입니다.\n", "```java", "\nint a = 1;", "\n", "```", "\n끝"))
+                .collectList()
+                .block(Duration.ofSeconds(1));
+
+        assertThat(chunks).containsExactly(
+                new ChunkData("예시입니다.\n", false),
+                new ChunkData("```java\nint a = 1;\n", true),
+                new ChunkData("```\n끝", false));
+    }
+
+    @Test
+    @DisplayName("오류가 나도 그 전에 받은 토큰은 먼저 내보낸다")
+    void coalesce_upstreamError_flushesBeforeError() {
+        ChunkCoalescer coalescer = new ChunkCoalescer(LONG_WINDOW, 0, registry);
+        Flux<String> tokens = Flux.just("부분", " 응답")
+                .concatWith(Flux.error(new IllegalStateException("boom")));
+
+        List<String> received = new ArrayList<>();
+        assertThatThrownBy(() -> coalescer.coalesce(tokens)
+                .doOnNext(chunk -> received.add(chunk.currentChunk()))
+                .blockLast(Duration.ofSeconds(1)))
+                .hasMessageContaining("boom");
+        assertThat(received).containsExactly("부분 응답");
+    }
+
+    @Test
+    @DisplayName("window가 0이면 토큰마다 내보낸다")
+    void coalesce_zeroWindow_passesThrough() {
+        ChunkCoalescer coalescer = new ChunkCoalescer(Duration.ZERO, 0, registry);
+
+        List<ChunkData> chunks = coalescer.coalesce(Flux.just("a", "```", "b"))
+                .collectList()
+                .block(Duration.ofSeconds(1));
+
+        assertThat(chunks).containsExactly(
+                new ChunkData("a", false),
+                new ChunkData("```", true),
+                new ChunkData("b", true));
+    }
+
+    @Test
+    @DisplayName("응답별 수신 토큰 수와 내보낸 청크 수를 기록한다")
+    void coalesce_recordsPerResponseMetrics() {
+        ChunkCoalescer coalescer = new ChunkCoalescer(LONG_WINDOW, 4, registry);
+
+        coalescer.coalesce(Flux.just("ab", "cd", "ef")).blockLast(Duration.ofSeconds(1));
+
+        assertThat(registry.get("ai.stream.tokens.received").summary().totalAmount()).isEqualTo(3);
+        assertThat(registry.get("ai.stream.chunks.emitted").summary().totalAmount()).isEqualTo(2);
+        assertThat(registry.get("ai.stream.chunk.latency").timer().count()).isEqualTo(2);
+    }
+}
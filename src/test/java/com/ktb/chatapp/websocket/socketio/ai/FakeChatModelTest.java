@@ -0,0 +1,96 @@
+package com.ktb.chatapp.websocket.socketio.ai;
+
+import com.ktb.chatapp.service.MessageService;
+import com.ktb.chatapp.websocket.socketio.handler.StreamingSession;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+@DisplayName("FakeChatModel 테스트")
+class FakeChatModelTest {
+
+    @Test
+    @DisplayName("같은 프롬프트에는 같은 토큰열을 만든다")
+    void tokens_samePrompt_deterministic() {
+        FakeChatModel model = FakeChatModel.builder().responseTokens(50).build();
+
+        assertThat(model.tokens(new Prompt("질문")))
+                .hasSize(50 + 9)
+                .isEqualTo(model.tokens(new Prompt("질문")));
+    }
+
+    @Test
+    @DisplayName("ChatClient 스트림으로 코드 블록이 포함된 응답을 받는다")
+    void stream_throughChatClient_includesCodeBlock() {
+        FakeChatModel model = FakeChatModel.builder()
+                .tokensPerSecond(0)
+                .firstTokenDelayMillis(0)
+                .responseTokens(20)
+                .build();
+
+        List<String> chunks = ChatClient.builder(model).build()
+                .prompt().user("코드 예시").stream().content()
+                .collectList()
+                .block(Duration.ofSeconds(5));
+
+        assertThat(chunks).hasSize(20 + 9);
+        assertThat(String.join("", chunks)).contains("```java\n").contains("return total;");
+    }
+
+    @Test
+    @DisplayName("실패율 1이면 중간에 오류로 끝난다")
+    void stream_failureInjected_errors() {
+        FakeChatModel model = FakeChatModel.builder()
+                .tokensPerSecond(0)
+                .firstTokenDelayMillis(0)
+                .failureRate(1.0)
+                .build();
+
+        assertThatThrownBy(() -> model.stream(new Prompt("질문")).blockLast(Duration.ofSeconds(5)))
+                .hasMessageContaining("Injected fake AI failure");
+    }
+
+    @Test
+    @DisplayName("AiService 스트리밍 경로를 OpenAI 없이 실행할 수 있다")
+    void aiService_streamResponse_withFakeModel() {
+        FakeChatModel model = FakeChatModel.builder()
+                .tokensPerSecond(1000)
+                .firstTokenDelayMillis(0)
+                .responseTokens(100)
+                .build();
+        AiResponseCache disabledCache = new AiResponseCache(
+                null, null, new SimpleMeterRegistry(), false, 0, 0, 0);
+        AiService aiService = new AiService(
+                ChatClient.builder(model),
+                mock(ApplicationEventPublisher.class),
+                mock(MessageService.class),
+                mock(AiStreamGovernor.class),
+                disabledCache,
+                new SimpleMeterRegistry(),
+                32, true, 20, 256);
+        StreamingSession session = StreamingSession.builder()
+                .messageId("wayneAI-1")
+                .roomId("room")
+                .aiType("wayneAI")
+                .query("질문")
+                .timestamp(System.currentTimeMillis())
+                .build();
+
+        List<ChunkData> chunks = aiService.streamResponse(session)
+                .collectList()
+                .block(Duration.ofSeconds(5));
+
+        assertThat(chunks).isNotEmpty().hasSizeLessThan(100 + 9);
+        assertThat(chunks).anyMatch(ChunkData::codeBlock);
+    }
+}
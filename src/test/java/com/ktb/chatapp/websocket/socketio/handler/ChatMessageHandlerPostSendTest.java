@@ -0,0 +1,206 @@
+package com.ktb.chatapp.websocket.socketio.handler;
+
+import com.corundumstudio.socketio.BroadcastOperations;
+import com.corundumstudio.socketio.SocketIOClient;
+import com.corundumstudio.socketio.SocketIOServer;
+import com.ktb.chatapp.dto.ChatMessageRequest;
+import com.ktb.chatapp.dto.MessageResponse;
+import com.ktb.chatapp.model.Message;
+import com.ktb.chatapp.service.MessageService;
+import com.ktb.chatapp.service.RateLimitCheckResult;
+import com.ktb.chatapp.service.RateLimitService;
+import com.ktb.chatapp.service.SessionService;
+import com.ktb.chatapp.service.SessionValidationResult;
+import com.ktb.chatapp.util.BannedWordChecker;
+import com.ktb.chatapp.websocket.socketio.PostSendPipeline;
+import com.ktb.chatapp.websocket.socketio.RoomActorExecutor;
+import com.ktb.chatapp.websocket.socketio.SocketUser;
+import com.ktb.chatapp.websocket.socketio.ai.AiService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+import static com.ktb.chatapp.websocket.socketio.SocketIOEvents.MESSAGE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ChatMessageHandler 후처리 파이프라인 테스트")
+class ChatMessageHandlerPostSendTest {
+
+    @Mock private SessionService sessionService;
+    @Mock private RateLimitService rateLimitService;
+    @Mock private AiService aiService;
+    @Mock private MessageService messageService;
+    @Mock private BannedWordChecker bannedWordChecker;
+    @Mock private SocketIOServer socketIOServer;
+    @Mock private SocketIOClient client;
+    @Mock private BroadcastOperations roomOperations;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private PostSendPipeline pipeline;
+    private RoomActorExecutor roomActors;
+    private ChatMessageHandler handler;
+
+    @BeforeEach
+    void setUp() {
+        pipeline = new PostSendPipeline(registry, 2, 100);
+        roomActors = new RoomActorExecutor(registry);
+        handler = new ChatMessageHandler(sessionService, rateLimitService, aiService, messageService,
+                bannedWordChecker, socketIOServer, pipeline, roomActors, registry);
+
+        SocketUser user = new SocketUser("user-1", "tester", "session-1", "socket-1");
+        when(client.get("user")).thenReturn(user);
+        when(sessionService.validateSession("user-1", "session-1"))
+                .thenReturn(SessionValidationResult.valid(null));
+        when(rateLimitService.checkRateLimit(eq("user-1"), anyInt(), any()))
+                .thenReturn(RateLimitCheckResult.allowed(10000, 9999, 60,
+                        System.currentTimeMillis() / 1000 + 60, 60));
+        Message saved = Message.builder().id("m1").roomId("room-1").build();
+        // 저장 순서를 직접 다루는 테스트는 다시 설정한다
+        lenient().when(messageService.saveMessageAsync(eq("text"), eq("room-1"), eq("user-1"), any(), any(), any(), any()))
+                .thenReturn(CompletableFuture.completedFuture(saved));
+        lenient().when(messageService.toResponse(saved)).thenReturn(MessageResponse.builder().id("m1").build());
+        lenient().when(socketIOServer.getRoomOperations("room-1")).thenReturn(roomOperations);
+    }
+
+    private ChatMessageRequest textMessage(String content) {
+        return ChatMessageRequest.builder()
+                .room("room-1")
+                .type("text")
+                .content(content)
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        pipeline.shutdown();
+        roomActors.shutdown();
+    }
+
+    @Test
+    @DisplayName("소켓 스레드는 브로드캐스트 후 바로 반환되고 부수 작업은 나중에 실행된다")
+    void handleChatMessage_returnsBeforeSideEffectsRun() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch activityStarted = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            activityStarted.countDown();
+            release.await();
+            return null;
+        }).when(sessionService).updateLastActivity("user-1");
+        doAnswer(invocation -> {
+            release.await();
+            return null;
+        }).when(aiService).handleAIMentions(eq("room-1"), eq("user-1"), any());
+
+        ChatMessageRequest request = ChatMessageRequest.builder()
+                .room("room-1")
+                .type("text")
+                .content("@wayneAI 안녕")
+                .build();
+
+        handler.handleChatMessage(client, request);
+
+        // 부수 작업이 막혀 있어도 핸들러는 이미 반환했고 메시지는 브로드캐스트됐다
+        verify(roomOperations).sendEvent(eq(MESSAGE), any(MessageResponse.class));
+        assertThat(activityStarted.await(1, TimeUnit.SECONDS)).isTrue();
+        assertThat(release.getCount()).isEqualTo(1);
+
+        release.countDown();
+        verify(aiService, timeout(1000)).handleAIMentions(eq("room-1"), eq("user-1"), any());
+    }
+
+    @Test
+    @DisplayName("AI 멘션이 없으면 AI 작업을 제출하지 않는다")
+    void handleChatMessage_noMention_skipsAiTask() {
+        ChatMessageRequest request = ChatMessageRequest.builder()
+                .room("room-1")
+                .type("text")
+                .content("그냥 메시지")
+                .build();
+
+        handler.handleChatMessage(client, request);
+
+        verify(sessionService, timeout(1000)).updateLastActivity("user-1");
+        verify(aiService, never()).handleAIMentions(anyString(), anyString(), any());
+    }
+
+    @Test
+    @DisplayName("저장하지 않은 메시지도 처리 시간과 결과 수에 잡힌다")
+    void handleChatMessage_notSaved_recordsMetrics() {
+        when(messageService.saveMessageAsync(eq("text"), eq("room-1"), eq("user-1"), any(), any(), any(), any()))
+                .thenReturn(CompletableFuture.completedFuture(null));
+
+        handler.handleChatMessage(client, textMessage("   "));
+
+        assertThat(registry.timer("socketio.messages.time").count()).isEqualTo(1);
+        assertThat(registry.counter("socketio.messages.skipped").count()).isEqualTo(1);
+        assertThat(registry.counter("socketio.messages.success").count()).isZero();
+        verify(roomOperations, never()).sendEvent(eq(MESSAGE), any(MessageResponse.class));
+        verify(sessionService, never()).updateLastActivity(anyString());
+    }
+
+    @Test
+    @DisplayName("메일박스는 저장 완료를 기다리지 않고, 브로드캐스트는 저장이 끝난 순서(보낸 순서)대로 나간다")
+    void handleChatMessage_doesNotBlockMailboxOnWrite() throws InterruptedException {
+        // 저장기처럼 enqueue 순서대로 완료되는 쓰기를 흉내 낸다
+        List<CompletableFuture<Message>> writes = new CopyOnWriteArrayList<>();
+        when(messageService.saveMessageAsync(eq("text"), eq("room-1"), eq("user-1"), any(), any(), any(), any()))
+                .thenAnswer(invocation -> {
+                    CompletableFuture<Message> write = new CompletableFuture<>();
+                    writes.add(write);
+                    return write.thenApplyAsync(message -> message, invocation.<Executor>getArgument(6));
+                });
+        List<Message> messages = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Message message = Message.builder().id("m" + i).roomId("room-1").build();
+            messages.add(message);
+            when(messageService.toResponse(message)).thenReturn(MessageResponse.builder().id("m" + i).build());
+        }
+
+        for (int i = 0; i < 3; i++) {
+            handler.handleChatMessage(client, textMessage("메시지 " + i));
+        }
+
+        // 아직 아무것도 저장되지 않았지만 세 요청 모두 메일박스를 통과했다
+        assertThat(writes).hasSize(3);
+        verify(roomOperations, never()).sendEvent(eq(MESSAGE), any(MessageResponse.class));
+
+        // 같은 방의 다른 작업도 저장을 기다리지 않고 실행된다
+        CountDownLatch otherTask = new CountDownLatch(1);
+        roomActors.tell("room-1", "other", otherTask::countDown);
+        assertThat(otherTask.await(1, TimeUnit.SECONDS)).isTrue();
+
+        for (int i = 0; i < 3; i++) {
+            writes.get(i).complete(messages.get(i));
+        }
+
+        ArgumentCaptor<MessageResponse> broadcast = ArgumentCaptor.forClass(MessageResponse.class);
+        verify(roomOperations, timeout(1000).times(3)).sendEvent(eq(MESSAGE), broadcast.capture());
+        assertThat(broadcast.getAllValues()).extracting(MessageResponse::getId).containsExactly("m0", "m1", "m2");
+        verify(sessionService, timeout(1000).times(3)).updateLastActivity("user-1");
+    }
+}
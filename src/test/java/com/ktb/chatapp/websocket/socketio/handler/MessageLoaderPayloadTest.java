@@ -0,0 +1,158 @@
+package com.ktb.chatapp.websocket.socketio.handler;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.ktb.chatapp.dto.FetchMessagesRequest;
+import com.ktb.chatapp.dto.FetchMessagesResponse;
+import com.ktb.chatapp.dto.MessageResponse;
+import com.ktb.chatapp.model.Message;
+import com.ktb.chatapp.model.MessageType;
+import com.ktb.chatapp.repository.MessageRepository;
+import com.ktb.chatapp.service.MessageReadStatusService;
+import com.ktb.chatapp.service.MessageService;
+import com.ktb.chatapp.service.message.MessageBatchWriter;
+import com.ktb.chatapp.service.message.ReactionCountCache;
+import com.ktb.chatapp.service.message.RecentMessageCache;
+import com.ktb.chatapp.service.room.RoomActivityCounter;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DisplayName("MessageLoader 응답 크기 테스트")
+class MessageLoaderPayloadTest {
+
+    private static final String ROOM_ID = "room-1";
+    private static final String USER_ID = "user-0";
+    private static final int PARTICIPANTS = 200;
+    private static final long BASE_MILLIS = 1_700_000_000_000L;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private final MessageRepository messageRepository = mock(MessageRepository.class);
+    private final MessageReadStatusService readStatusService = mock(MessageReadStatusService.class);
+    private final RecentMessageCache recentMessageCache = mock(RecentMessageCache.class);
+    private final ReactionCountCache reactionCountCache = mock(ReactionCountCache.class);
+    private final MessageService messageService = new MessageService(
+            mock(MessageBatchWriter.class), recentMessageCache, mock(RoomActivityCounter.class));
+
+    private MessageLoader messageLoader;
+    private List<Message> messages;
+    private Map<String, Long> watermarks;
+
+    @BeforeEach
+    void setUp() {
+        messages = IntStream.range(0, RecentMessageCache.CAPACITY)
+                .mapToObj(i -> message(RecentMessageCache.CAPACITY - i))
+                .toList();
+        // user-i는 i번째 메시지까지 읽었다
+        watermarks = new HashMap<>();
+        for (int i = 0; i < PARTICIPANTS; i++) {
+            watermarks.put("user-" + i, BASE_MILLIS + i * 1_000L);
+        }
+
+        when(recentMessageCache.latest(ROOM_ID)).thenReturn(Optional.empty());
+        when(recentMessageCache.version(ROOM_ID)).thenReturn("");
+        when(messageRepository.findLatestByRoomId(eq(ROOM_ID), any())).thenReturn(messages);
+        when(readStatusService.watermarks(ROOM_ID)).thenReturn(watermarks);
+        when(reactionCountCache.counts(anyList())).thenReturn(Map.of());
+
+        messageLoader = new MessageLoader(messageRepository, messageService, readStatusService,
+                recentMessageCache, reactionCountCache);
+    }
+
+    private static Message message(int index) {
+        Map<String, Set<String>> reactions = new HashMap<>();
+        for (String reaction : List.of("👍", "❤️", "😂", "🎉", "👀")) {
+            Set<String> users = new HashSet<>();
+            for (int u = 0; u < PARTICIPANTS; u += 5) {
+                users.add("user-" + (u + index % 5));
+            }
+            reactions.put(reaction, users);
+        }
+
+        Map<String, Object> metadata = new HashMap<>();
+        metadata.put("sender", Map.of("_id", "user-1", "name", "보낸 사람", "email", "sender@example.com"));
+
+        return Message.builder()
+                .id("65a0000000000000000000%02d".formatted(index))
+                .roomId(ROOM_ID)
+                .senderId("user-1")
+                .type(MessageType.text)
+                .content("메시지 본문 " + index)
+                .timestamp(LocalDateTime.ofInstant(Instant.ofEpochMilli(BASE_MILLIS + index * 1_000L),
+                        ZoneId.systemDefault()))
+                .reactions(reactions)
+                .metadata(metadata)
+                .build();
+    }
+
+    // 요약 전 응답: 메시지마다 읽은 사용자 목록과 리액션별 사용자 목록을 그대로 보낸다
+    private FetchMessagesResponse fullResponse() {
+        List<MessageResponse> responses = new ArrayList<>();
+        for (Message message : messages) {
+            MessageResponse response = messageService.toResponse(message);
+            List<Message.MessageReader> readers = new ArrayList<>();
+            watermarks.forEach((userId, readUpTo) -> {
+                if (readUpTo >= response.getTimestamp()) {
+                    readers.add(new Message.MessageReader(userId,
+                            LocalDateTime.ofInstant(Instant.ofEpochMilli(readUpTo), ZoneId.systemDefault())));
+                }
+            });
+            response.setReaders(readers);
+            responses.add(response);
+        }
+        return FetchMessagesResponse.builder().messages(responses).hasMore(false).build();
+    }
+
+    @Test
+    @DisplayName("목록 응답은 읽은 사용자/리액션 사용자 목록 대신 요약만 보내 크기가 크게 줄어든다")
+    void summarizedPayload_isMuchSmaller() throws Exception {
+        int before = objectMapper.writeValueAsBytes(fullResponse()).length;
+
+        FetchMessagesResponse slim = messageLoader.loadMessages(new FetchMessagesRequest(ROOM_ID, 30, null), USER_ID);
+        int after = objectMapper.writeValueAsBytes(slim).length;
+
+        assertThat(slim.getMessages()).hasSize(RecentMessageCache.CAPACITY);
+        assertThat(after * 5).as("before=%d bytes, after=%d bytes", before, after).isLessThan(before);
+    }
+
+    @Test
+    @DisplayName("요약에는 읽은 사용자 수, 내가 읽었는지, 리액션별 수, 내가 누른 리액션이 들어간다")
+    void summary_countsAndMine() {
+        FetchMessagesResponse slim = messageLoader.loadMessages(new FetchMessagesRequest(ROOM_ID, 30, null), USER_ID);
+
+        // 최신 메시지(30번째)는 watermark가 30번째 이상인 user-30 ~ user-199가 읽었다
+        MessageResponse newest = slim.getMessages().getFirst();
+        assertThat(newest.getReaders()).isNull();
+        assertThat(newest.getReactions()).isNull();
+        assertThat(newest.getReadCount()).isEqualTo(PARTICIPANTS - RecentMessageCache.CAPACITY);
+        assertThat(newest.getReadByMe()).isFalse();
+        assertThat(newest.getReactionCounts()).hasSize(5).containsEntry("👍", PARTICIPANTS / 5);
+        // 30 % 5 == 0 이므로 user-0이 모든 리액션을 눌렀다
+        assertThat(newest.getMyReactions()).hasSize(5);
+
+        // 리액션 수 캐시에 값이 있으면 그 값을 쓴다
+        when(reactionCountCache.counts(anyList()))
+                .thenReturn(Map.of(newest.getId(), Map.of("👍", 7)));
+        MessageResponse cached = messageLoader.loadMessages(
+                new FetchMessagesRequest(ROOM_ID, 30, null), USER_ID).getMessages().getFirst();
+        assertThat(cached.getReactionCounts()).containsExactly(Map.entry("👍", 7));
+    }
+}